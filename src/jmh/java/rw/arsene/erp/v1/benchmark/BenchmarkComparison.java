@@ -0,0 +1,69 @@
+package rw.arsene.erp.v1.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero when any benchmark got slower than the
+ * allowed threshold.
+ *
+ * <pre>
+ * java -cp ... rw.arsene.erp.v1.benchmark.BenchmarkComparison target/jmh-abc123.json target/jmh-def456.json 10
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, Double> baseline = read(new File(args[0]));
+        Map<String, Double> candidate = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Double> entry : candidate.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null || before == 0) {
+                System.out.printf("%-80s %12s -> %12.3f (new)%n", entry.getKey(), "-", entry.getValue());
+                continue;
+            }
+            // All benchmarks here report average time, so higher is slower
+            double change = (entry.getValue() - before) / before * 100;
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %12.3f -> %12.3f %+7.1f%%%s%n",
+                    entry.getKey(), before, entry.getValue(), change, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> read(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            scores.put(key.toString(), run.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+}
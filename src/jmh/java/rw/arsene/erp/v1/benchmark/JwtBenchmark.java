@@ -0,0 +1,48 @@
+package rw.arsene.erp.v1.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import rw.arsene.erp.v1.security.jwt.JwtUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling done by AuthTokenFilter on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    // Base64 of a 256-bit key, the minimum accepted for HS256
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJrcy1vbmx5LTAxMjM0NTY3ODk=";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        token = jwtUtils.generateTokenFromUsername("employee@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUsername("employee@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
@@ -0,0 +1,56 @@
+package rw.arsene.erp.v1.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rw.arsene.erp.v1.entity.Deduction;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.payroll.SalaryBreakdown;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-employee salary arithmetic as run by payroll generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollCalculationBenchmark {
+
+    // One salary per tax bracket
+    @Param({"50000", "120000", "850000"})
+    private String baseSalary;
+
+    private final PayrollCalculator calculator = new PayrollCalculator();
+    private BigDecimal salary;
+    private BigDecimal grossSalary;
+    private Deduction deduction;
+
+    @Setup
+    public void setUp() {
+        salary = new BigDecimal(baseSalary);
+        grossSalary = calculator.calculate(salary).getGrossSalary();
+        deduction = Deduction.builder()
+                .code("PEN")
+                .deductionName("Pension")
+                .percentage(new BigDecimal("6.00"))
+                .build();
+    }
+
+    @Benchmark
+    public SalaryBreakdown calculatePayslip() {
+        return calculator.calculate(salary);
+    }
+
+    @Benchmark
+    public BigDecimal calculateIncomeTax() {
+        return calculator.calculateIncomeTax(grossSalary);
+    }
+
+    @Benchmark
+    public BigDecimal calculateDeduction() {
+        return deduction.calculateDeduction(salary);
+    }
+}
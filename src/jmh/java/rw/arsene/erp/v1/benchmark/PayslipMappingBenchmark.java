@@ -0,0 +1,101 @@
+package rw.arsene.erp.v1.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.mapper.PayslipMapper;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.payroll.SalaryBreakdown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and JSON serialization of a payslip listing page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayslipMappingBenchmark {
+
+    @Param({"20", "50"})
+    private int pageSize;
+
+    // The department/position overload does not touch the repositories
+    private final PayslipMapper mapper = new PayslipMapper(null, null);
+    private ObjectMapper objectMapper;
+    private Payslip payslip;
+    // Controllers return Page<PayslipDTO> as-is, so serialize the same shape
+    private Page<PayslipDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        PayrollCalculator calculator = new PayrollCalculator();
+        List<PayslipDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Payslip slip = payslip(i, calculator.calculate(BigDecimal.valueOf(150_000L + i * 1_000L)));
+            content.add(mapper.toDTO(slip, "Finance", "Accountant"));
+        }
+        payslip = payslip(0, calculator.calculate(new BigDecimal("250000")));
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+    }
+
+    @Benchmark
+    public PayslipDTO mapPayslip() {
+        return mapper.toDTO(payslip, "Finance", "Accountant");
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static Payslip payslip(long id, SalaryBreakdown salary) {
+        Employee employee = Employee.builder()
+                .id(id)
+                .code(String.format("EMP%05d", id))
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("employee" + id + "@example.com")
+                .build();
+
+        return Payslip.builder()
+                .id(id)
+                .employee(employee)
+                .baseSalary(salary.getBaseSalary())
+                .houseAmount(salary.getHouseAmount())
+                .transportAmount(salary.getTransportAmount())
+                .grossSalary(salary.getGrossSalary())
+                .employeeTaxed(salary.getEmployeeTaxed())
+                .pensionAmount(salary.getPensionAmount())
+                .medicalInsurance(salary.getMedicalInsurance())
+                .otherTaxed(salary.getOtherTaxed())
+                .totalDeductions(salary.getTotalDeductions())
+                .netSalary(salary.getNetSalary())
+                .month(6)
+                .year(2025)
+                .status(PayslipStatus.APPROVED)
+                .createdAt(LocalDateTime.of(2025, 6, 28, 9, 0))
+                .approvedAt(LocalDateTime.of(2025, 6, 30, 17, 0))
+                .build();
+    }
+}
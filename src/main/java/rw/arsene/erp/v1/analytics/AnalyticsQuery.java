@@ -0,0 +1,19 @@
+package rw.arsene.erp.v1.analytics;
+
+import rw.arsene.erp.v1.enums.AnalyticsDimension;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Group-by and filters for {@link PayslipCube#query}. Periods are inclusive and given as
+ * {@code year * 12 + month - 1}; empty filter sets match everything.
+ */
+public record AnalyticsQuery(List<AnalyticsDimension> groupBy, int fromPeriod, int toPeriod,
+                             Set<String> departments, Set<String> positions, Set<PayslipStatus> statuses) {
+
+    public static int period(int year, int month) {
+        return year * 12 + month - 1;
+    }
+}
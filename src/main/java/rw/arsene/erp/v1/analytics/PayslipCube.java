@@ -0,0 +1,300 @@
+package rw.arsene.erp.v1.analytics;
+
+import rw.arsene.erp.v1.enums.AnalyticsDimension;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Column store of payslip facts for analytics. Every attribute lives in its own primitive array:
+ * the period as {@code year * 12 + month - 1}, department and position as dictionary ids, the
+ * status as its ordinal and each amount in cents. A query is a tight loop over those arrays,
+ * split into chunks that are filtered and aggregated in parallel and then merged.
+ *
+ * <p>Facts are upserted and removed by payslip id. Removed rows are marked dead; once they make
+ * up a quarter of the rows the live ones are slid down over them. Thread safe: queries share a
+ * read lock, updates take the write lock.
+ */
+public class PayslipCube {
+
+    public static final int GROSS = 0;
+    public static final int NET = 1;
+    public static final int DEDUCTIONS = 2;
+    public static final int TAX = 3;
+    public static final int PENSION = 4;
+    public static final int MEDICAL = 5;
+    public static final int OTHER = 6;
+    public static final int MEASURES = 7;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+    private static final PayslipStatus[] STATUSES = PayslipStatus.values();
+
+    private final Dictionary departments = new Dictionary();
+    private final Dictionary positions = new Dictionary();
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int rows;
+    private int dead;
+    private long[] payslipIds;
+    private boolean[] live;
+    private int[] periods;
+    private int[] departmentIds;
+    private int[] positionIds;
+    private byte[] statuses;
+    private final long[][] cents = new long[MEASURES][];
+
+    public PayslipCube() {
+        allocate(1024);
+    }
+
+    public void put(PayslipFact fact) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(fact.payslipId());
+            if (row == null) {
+                if (rows == periods.length) {
+                    allocate(rows * 2);
+                }
+                row = rows++;
+                rowsById.put(fact.payslipId(), row);
+            }
+            payslipIds[row] = fact.payslipId();
+            live[row] = true;
+            periods[row] = AnalyticsQuery.period(fact.year(), fact.month());
+            departmentIds[row] = departments.id(fact.department());
+            positionIds[row] = positions.id(fact.position());
+            statuses[row] = (byte) fact.status().ordinal();
+            cents[GROSS][row] = toCents(fact.grossSalary());
+            cents[NET][row] = toCents(fact.netSalary());
+            cents[DEDUCTIONS][row] = toCents(fact.totalDeductions());
+            cents[TAX][row] = toCents(fact.employeeTaxed());
+            cents[PENSION][row] = toCents(fact.pensionAmount());
+            cents[MEDICAL][row] = toCents(fact.medicalInsurance());
+            cents[OTHER][row] = toCents(fact.otherTaxed());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long payslipId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(payslipId);
+            if (row != null) {
+                live[row] = false;
+                dead++;
+                if (dead >= MIN_DEAD_TO_COMPACT && dead * 4 >= rows) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rows in use, dead ones included
+    int rows() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Group> query(AnalyticsQuery query) {
+        lock.readLock().lock();
+        try {
+            boolean[] departmentFilter = departments.mask(query.departments());
+            boolean[] positionFilter = positions.mask(query.positions());
+            boolean[] statusFilter = statusMask(query.statuses());
+            boolean byYear = query.groupBy().contains(AnalyticsDimension.YEAR);
+            boolean byPeriod = query.groupBy().contains(AnalyticsDimension.PERIOD);
+            boolean byDepartment = query.groupBy().contains(AnalyticsDimension.DEPARTMENT);
+            boolean byPosition = query.groupBy().contains(AnalyticsDimension.POSITION);
+            boolean byStatus = query.groupBy().contains(AnalyticsDimension.STATUS);
+
+            // The worker threads only read; the calling thread holds the read lock until they finish
+            int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Map<Long, long[]> totals = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        Map<Long, long[]> partial = new HashMap<>();
+                        int end = Math.min(rows, (chunk + 1) * CHUNK_SIZE);
+                        for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+                            int period = periods[row];
+                            if (!live[row] || period < query.fromPeriod() || period > query.toPeriod()
+                                    || (departmentFilter != null && !departmentFilter[departmentIds[row]])
+                                    || (positionFilter != null && !positionFilter[positionIds[row]])
+                                    || (statusFilter != null && !statusFilter[statuses[row]])) {
+                                continue;
+                            }
+                            long key = key(byPeriod ? period : byYear ? period / 12 * 12 : 0,
+                                    byDepartment ? departmentIds[row] : 0,
+                                    byPosition ? positionIds[row] : 0,
+                                    byStatus ? statuses[row] : 0);
+                            long[] sums = partial.computeIfAbsent(key, k -> new long[MEASURES + 1]);
+                            for (int measure = 0; measure < MEASURES; measure++) {
+                                sums[measure] += cents[measure][row];
+                            }
+                            sums[MEASURES]++;
+                        }
+                        return partial;
+                    })
+                    .reduce(new HashMap<>(), PayslipCube::merge);
+
+            List<Group> groups = new ArrayList<>(totals.size());
+            totals.forEach((boxedKey, sums) -> {
+                long key = boxedKey;
+                int period = (int) (key >>> 48);
+                groups.add(new Group(
+                        byYear || byPeriod ? period / 12 : null,
+                        byPeriod ? period % 12 + 1 : null,
+                        byDepartment ? departments.value((int) (key >>> 28) & 0xFFFFF) : null,
+                        byPosition ? positions.value((int) (key >>> 8) & 0xFFFFF) : null,
+                        byStatus ? STATUSES[(int) key & 0xFF] : null,
+                        sums[MEASURES],
+                        Arrays.copyOf(sums, MEASURES)));
+            });
+            return groups;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    // period:16 | department:20 | position:20 | status:8
+    private static long key(int period, int department, int position, int status) {
+        return ((long) period << 48) | ((long) department << 28) | ((long) position << 8) | status;
+    }
+
+    private static Map<Long, long[]> merge(Map<Long, long[]> into, Map<Long, long[]> from) {
+        Map<Long, long[]> target = into.isEmpty() ? new HashMap<>() : into;
+        from.forEach((key, sums) -> target.merge(key, sums, (left, right) -> {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }));
+        return target;
+    }
+
+    private static boolean[] statusMask(Set<PayslipStatus> filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[STATUSES.length];
+        filter.forEach(status -> mask[status.ordinal()] = true);
+        return mask;
+    }
+
+    // Keeps the live rows in order; called with the write lock held
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!live[row]) {
+                continue;
+            }
+            if (row != target) {
+                payslipIds[target] = payslipIds[row];
+                live[target] = true;
+                periods[target] = periods[row];
+                departmentIds[target] = departmentIds[row];
+                positionIds[target] = positionIds[row];
+                statuses[target] = statuses[row];
+                for (int measure = 0; measure < MEASURES; measure++) {
+                    cents[measure][target] = cents[measure][row];
+                }
+                rowsById.put(payslipIds[target], target);
+            }
+            target++;
+        }
+        Arrays.fill(live, target, rows, false);
+        rows = target;
+        dead = 0;
+        if (periods.length > 4 * Math.max(rows, 1024)) {
+            allocate(2 * Math.max(rows, 1024));
+        }
+    }
+
+    private void allocate(int capacity) {
+        payslipIds = payslipIds == null ? new long[capacity] : Arrays.copyOf(payslipIds, capacity);
+        live = live == null ? new boolean[capacity] : Arrays.copyOf(live, capacity);
+        periods = periods == null ? new int[capacity] : Arrays.copyOf(periods, capacity);
+        departmentIds = departmentIds == null ? new int[capacity] : Arrays.copyOf(departmentIds, capacity);
+        positionIds = positionIds == null ? new int[capacity] : Arrays.copyOf(positionIds, capacity);
+        statuses = statuses == null ? new byte[capacity] : Arrays.copyOf(statuses, capacity);
+        for (int measure = 0; measure < MEASURES; measure++) {
+            cents[measure] = cents[measure] == null ? new long[capacity] : Arrays.copyOf(cents[measure], capacity);
+        }
+    }
+
+    /**
+     * One aggregated group; dimensions that were not grouped by are null. Sums are in cents,
+     * indexed by the measure constants.
+     */
+    public record Group(Integer year, Integer month, String department, String position, PayslipStatus status,
+                        long payslips, long[] sums) {
+    }
+
+    // Id 0 stands for a missing value (no active employment)
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+
+        int id(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        String value(int id) {
+            return id == 0 ? null : values.get(id);
+        }
+
+        boolean[] mask(Set<String> filter) {
+            if (filter == null || filter.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[values.size()];
+            for (String value : filter) {
+                Integer id = ids.get(value);
+                if (id != null) {
+                    mask[id] = true;
+                }
+            }
+            return mask;
+        }
+    }
+}
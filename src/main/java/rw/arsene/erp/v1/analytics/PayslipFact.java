@@ -0,0 +1,30 @@
+package rw.arsene.erp.v1.analytics;
+
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One payslip as the analytics cube sees it: period, the employee's department and position,
+ * status and the amounts that can be summed.
+ */
+public record PayslipFact(Long payslipId, int year, int month, String department, String position,
+                          PayslipStatus status, BigDecimal grossSalary, BigDecimal netSalary,
+                          BigDecimal totalDeductions, BigDecimal employeeTaxed, BigDecimal pensionAmount,
+                          BigDecimal medicalInsurance, BigDecimal otherTaxed) {
+
+    // Row layout of PayslipRepository.streamAnalyticsFacts and findAnalyticsFactsByIds
+    public static PayslipFact fromRow(Object[] row) {
+        return new PayslipFact((Long) row[0], (Integer) row[1], (Integer) row[2], (String) row[3], (String) row[4],
+                (PayslipStatus) row[5], (BigDecimal) row[6], (BigDecimal) row[7], (BigDecimal) row[8],
+                (BigDecimal) row[9], (BigDecimal) row[10], (BigDecimal) row[11], (BigDecimal) row[12]);
+    }
+
+    public static PayslipFact fromDTO(PayslipDTO payslip) {
+        return new PayslipFact(payslip.getId(), payslip.getYear(), payslip.getMonth(), payslip.getDepartment(),
+                payslip.getPosition(), payslip.getStatus(), payslip.getGrossSalary(), payslip.getNetSalary(),
+                payslip.getTotalDeductions(), payslip.getEmployeeTaxed(), payslip.getPensionAmount(),
+                payslip.getMedicalInsurance(), payslip.getOtherTaxed());
+    }
+}
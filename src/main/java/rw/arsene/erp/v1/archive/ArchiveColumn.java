@@ -0,0 +1,39 @@
+package rw.arsene.erp.v1.archive;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One column of a {@link ColumnarArchiveFile}: how to read the value from a row object and how to
+ * set it on a freshly created one when the file is read back. Enums are stored as
+ * {@link Type#STRING} through their name.
+ */
+public record ArchiveColumn<T>(String name, Type type, Function<T, ?> getter, BiConsumer<T, Object> setter) {
+
+    public enum Type {
+        LONG,
+        INT,
+        DECIMAL,
+        STRING,
+        TIMESTAMP
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, V> ArchiveColumn<T> of(String name, Type type, Function<T, V> getter, BiConsumer<T, V> setter) {
+        return new ArchiveColumn<>(name, type, getter, (row, value) -> setter.accept(row, (V) value));
+    }
+
+    public static <T, E extends Enum<E>> ArchiveColumn<T> ofEnum(String name, Class<E> enumType,
+                                                                Function<T, E> getter, BiConsumer<T, E> setter) {
+        return new ArchiveColumn<>(name, Type.STRING,
+                row -> {
+                    E value = getter.apply(row);
+                    return value != null ? value.name() : null;
+                },
+                (row, value) -> setter.accept(row, value != null ? Enum.valueOf(enumType, (String) value) : null));
+    }
+
+    String descriptor() {
+        return name + ":" + type;
+    }
+}
@@ -0,0 +1,473 @@
+package rw.arsene.erp.v1.archive;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed columnar file for cold data, read back by key without scanning the whole file.
+ *
+ * <p>Rows are sorted by a long key (e.g. the employee id) and cut into blocks. Inside a block each
+ * column is stored on its own: numbers and timestamps delta/zig-zag varint encoded, strings
+ * dictionary encoded, nulls as a bitmap. Every block is deflated independently. The text index
+ * file next to the data file ({@code <name>.idx}) lists the column layout and, per block, the
+ * key range, offset and length, so a lookup only inflates the blocks whose range holds the key.
+ * The index is written last and its presence marks the file as complete.
+ */
+public final class ColumnarArchiveFile<T> {
+
+    public static final String DATA_EXTENSION = ".col";
+    public static final String INDEX_EXTENSION = ".idx";
+
+    private static final byte[] MAGIC = "ERPCOL1\n".getBytes(StandardCharsets.US_ASCII);
+    private static final String INDEX_HEADER = "# erp columnar archive v1";
+
+    private final Path dataFile;
+    private final List<ArchiveColumn<T>> columns;
+    private final List<Block> blocks;
+    private final long rowCount;
+
+    private ColumnarArchiveFile(Path dataFile, List<ArchiveColumn<T>> columns, List<Block> blocks) {
+        this.dataFile = dataFile;
+        this.columns = columns;
+        this.blocks = blocks;
+        this.rowCount = blocks.stream().mapToLong(Block::rows).sum();
+    }
+
+    /**
+     * Writes {@code rows}, which must already be sorted by {@code key}, replacing any existing file.
+     */
+    public static <T> ColumnarArchiveFile<T> write(Path dataFile, List<T> rows, ToLongFunction<T> key,
+                                                   List<ArchiveColumn<T>> columns, int blockRows) throws IOException {
+        try (Writer<T> writer = writer(dataFile, key, columns, blockRows)) {
+            for (T row : rows) {
+                writer.add(row);
+            }
+            return writer.finish();
+        }
+    }
+
+    /**
+     * Starts a file whose rows are added one at a time, sorted by {@code key}; only the block being
+     * filled is held in memory. The file replaces any existing one when the writer finishes.
+     */
+    public static <T> Writer<T> writer(Path dataFile, ToLongFunction<T> key, List<ArchiveColumn<T>> columns,
+                                       int blockRows) throws IOException {
+        return new Writer<>(dataFile, key, columns, blockRows);
+    }
+
+    /**
+     * Opens a complete archive file through its index; the stored column layout must match.
+     */
+    public static <T> ColumnarArchiveFile<T> open(Path dataFile, List<ArchiveColumn<T>> columns) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(indexFile(dataFile), StandardCharsets.UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a columnar archive index: " + indexFile(dataFile));
+            }
+            String layout = reader.readLine();
+            String expected = "columns " + columns.stream().map(ArchiveColumn::descriptor).collect(Collectors.joining(","));
+            if (!expected.equals(layout)) {
+                throw new IOException("Column layout of " + dataFile + " does not match: " + layout);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("block ")) {
+                    String[] parts = line.split(" ");
+                    blocks.add(new Block(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                            Long.parseLong(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5])));
+                }
+            }
+        }
+        return new ColumnarArchiveFile<>(dataFile, columns, blocks);
+    }
+
+    public static boolean exists(Path dataFile) {
+        return Files.isRegularFile(dataFile) && Files.isRegularFile(indexFile(dataFile));
+    }
+
+    public static void delete(Path dataFile) throws IOException {
+        Files.deleteIfExists(indexFile(dataFile));
+        Files.deleteIfExists(dataFile);
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public boolean mayContain(long key) {
+        return blocks.stream().anyMatch(block -> block.contains(key));
+    }
+
+    public List<T> find(long key, ToLongFunction<T> keyOf, Supplier<T> factory) throws IOException {
+        List<T> matches = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            for (Block block : blocks) {
+                if (block.contains(key)) {
+                    for (T row : readBlock(channel, block, factory)) {
+                        if (keyOf.applyAsLong(row) == key) {
+                            matches.add(row);
+                        }
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Reads the rows back in file order, one block at a time.
+     */
+    public Cursor<T> cursor(Supplier<T> factory) throws IOException {
+        return new Cursor<>(this, factory);
+    }
+
+    public List<T> readAll(Supplier<T> factory) throws IOException {
+        List<T> rows = new ArrayList<>((int) rowCount);
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            for (Block block : blocks) {
+                rows.addAll(readBlock(channel, block, factory));
+            }
+        }
+        return rows;
+    }
+
+    private List<T> readBlock(FileChannel channel, Block block, Supplier<T> factory) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(block.length());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, block.offset() + buffer.position()) < 0) {
+                throw new IOException("Truncated archive block at offset " + block.offset() + " in " + dataFile);
+            }
+        }
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(buffer.array())))) {
+            int rows = readVarInt(in);
+            List<T> result = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                result.add(factory.get());
+            }
+            for (ArchiveColumn<T> column : columns) {
+                decodeColumn(in, column, result);
+            }
+            return result;
+        }
+    }
+
+    private static <T> byte[] encodeBlock(List<T> rows, List<ArchiveColumn<T>> columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            writeVarInt(out, rows.size());
+            for (ArchiveColumn<T> column : columns) {
+                encodeColumn(out, column, rows);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> void encodeColumn(DataOutputStream out, ArchiveColumn<T> column, List<T> rows) throws IOException {
+        List<Object> values = new ArrayList<>(rows.size());
+        BitSet nulls = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object value = column.getter().apply(rows.get(i));
+            if (value == null) {
+                nulls.set(i);
+            } else {
+                values.add(value);
+            }
+        }
+        byte[] nullBitmap = nulls.toByteArray();
+        writeVarInt(out, nullBitmap.length);
+        out.write(nullBitmap);
+
+        switch (column.type()) {
+            case LONG, INT, TIMESTAMP -> {
+                long previous = 0;
+                for (Object value : values) {
+                    long current = toLong(column.type(), value);
+                    writeVarLong(out, current - previous);
+                    previous = current;
+                }
+            }
+            case DECIMAL -> {
+                for (Object value : values) {
+                    BigDecimal decimal = (BigDecimal) value;
+                    writeVarInt(out, decimal.scale());
+                    byte[] unscaled = decimal.unscaledValue().toByteArray();
+                    writeVarInt(out, unscaled.length);
+                    out.write(unscaled);
+                }
+            }
+            case STRING -> {
+                Map<String, Integer> dictionary = new HashMap<>();
+                List<String> entries = new ArrayList<>();
+                int[] codes = new int[values.size()];
+                for (int i = 0; i < values.size(); i++) {
+                    String value = (String) values.get(i);
+                    codes[i] = dictionary.computeIfAbsent(value, v -> {
+                        entries.add(v);
+                        return entries.size() - 1;
+                    });
+                }
+                writeVarInt(out, entries.size());
+                for (String entry : entries) {
+                    byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(out, utf8.length);
+                    out.write(utf8);
+                }
+                for (int code : codes) {
+                    writeVarInt(out, code);
+                }
+            }
+        }
+    }
+
+    private void decodeColumn(DataInputStream in, ArchiveColumn<T> column, List<T> rows) throws IOException {
+        BitSet nulls = BitSet.valueOf(in.readNBytes(readVarInt(in)));
+        switch (column.type()) {
+            case LONG, INT, TIMESTAMP -> {
+                long previous = 0;
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!nulls.get(i)) {
+                        previous += readVarLong(in);
+                        column.setter().accept(rows.get(i), fromLong(column.type(), previous));
+                    }
+                }
+            }
+            case DECIMAL -> {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!nulls.get(i)) {
+                        int scale = readVarInt(in);
+                        byte[] unscaled = in.readNBytes(readVarInt(in));
+                        column.setter().accept(rows.get(i), new BigDecimal(new BigInteger(unscaled), scale));
+                    }
+                }
+            }
+            case STRING -> {
+                String[] entries = new String[readVarInt(in)];
+                for (int i = 0; i < entries.length; i++) {
+                    entries[i] = new String(in.readNBytes(readVarInt(in)), StandardCharsets.UTF_8);
+                }
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!nulls.get(i)) {
+                        column.setter().accept(rows.get(i), entries[readVarInt(in)]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long toLong(ArchiveColumn.Type type, Object value) {
+        return switch (type) {
+            case TIMESTAMP -> {
+                LocalDateTime timestamp = (LocalDateTime) value;
+                yield timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+            }
+            case INT -> ((Integer) value).longValue();
+            default -> (Long) value;
+        };
+    }
+
+    private static Object fromLong(ArchiveColumn.Type type, long value) {
+        return switch (type) {
+            case TIMESTAMP -> LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000L),
+                    (int) Math.floorMod(value, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            case INT -> (int) value;
+            default -> value;
+        };
+    }
+
+    private static <T> void writeIndex(Path indexFile, List<ArchiveColumn<T>> columns, List<Block> blocks) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            writer.write(INDEX_HEADER);
+            writer.newLine();
+            writer.write("columns " + columns.stream().map(ArchiveColumn::descriptor).collect(Collectors.joining(",")));
+            writer.newLine();
+            writer.write("# block <first key> <last key> <offset> <length> <rows>");
+            writer.newLine();
+            for (Block block : blocks) {
+                writer.write("block " + block.firstKey() + " " + block.lastKey() + " " + block.offset() + " "
+                        + block.length() + " " + block.rows());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static Path indexFile(Path dataFile) {
+        String name = dataFile.getFileName().toString();
+        String base = name.endsWith(DATA_EXTENSION) ? name.substring(0, name.length() - DATA_EXTENSION.length()) : name;
+        return dataFile.resolveSibling(base + INDEX_EXTENSION);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private record Block(long firstKey, long lastKey, long offset, int length, int rows) {
+
+        boolean contains(long key) {
+            return key >= firstKey && key <= lastKey;
+        }
+    }
+
+    public static final class Writer<T> implements Closeable {
+
+        private final Path dataFile;
+        private final Path tempData;
+        private final Path tempIndex;
+        private final OutputStream out;
+        private final ToLongFunction<T> key;
+        private final List<ArchiveColumn<T>> columns;
+        private final int blockRows;
+        private final List<T> pending;
+        private final List<Block> blocks = new ArrayList<>();
+        private long offset = MAGIC.length;
+
+        private Writer(Path dataFile, ToLongFunction<T> key, List<ArchiveColumn<T>> columns, int blockRows)
+                throws IOException {
+            Path folder = dataFile.toAbsolutePath().getParent();
+            Files.createDirectories(folder);
+            this.dataFile = dataFile;
+            this.tempData = Files.createTempFile(folder, dataFile.getFileName().toString(), ".tmp");
+            this.tempIndex = Files.createTempFile(folder, dataFile.getFileName().toString(), ".idx.tmp");
+            this.out = Files.newOutputStream(tempData);
+            this.key = key;
+            this.columns = columns;
+            this.blockRows = blockRows;
+            this.pending = new ArrayList<>(blockRows);
+            out.write(MAGIC);
+        }
+
+        public void add(T row) throws IOException {
+            pending.add(row);
+            if (pending.size() == blockRows) {
+                flushBlock();
+            }
+        }
+
+        /**
+         * Completes the file and moves it into place.
+         */
+        public ColumnarArchiveFile<T> finish() throws IOException {
+            flushBlock();
+            out.close();
+            writeIndex(tempIndex, columns, blocks);
+
+            // Data first, index last: a reader never sees an index pointing into a partial file
+            Files.move(tempData, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tempIndex, indexFile(dataFile), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new ColumnarArchiveFile<>(dataFile, columns, blocks);
+        }
+
+        // Discards the temporary files of a writer that did not finish
+        @Override
+        public void close() throws IOException {
+            out.close();
+            Files.deleteIfExists(tempData);
+            Files.deleteIfExists(tempIndex);
+        }
+
+        private void flushBlock() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            byte[] block = encodeBlock(pending, columns);
+            out.write(block);
+            blocks.add(new Block(key.applyAsLong(pending.get(0)), key.applyAsLong(pending.get(pending.size() - 1)),
+                    offset, block.length, pending.size()));
+            offset += block.length;
+            pending.clear();
+        }
+    }
+
+    public static final class Cursor<T> implements Closeable {
+
+        private final ColumnarArchiveFile<T> file;
+        private final Supplier<T> factory;
+        private final FileChannel channel;
+        private int nextBlock;
+        private List<T> rows = List.of();
+        private int position;
+
+        private Cursor(ColumnarArchiveFile<T> file, Supplier<T> factory) throws IOException {
+            this.file = file;
+            this.factory = factory;
+            this.channel = FileChannel.open(file.dataFile, StandardOpenOption.READ);
+        }
+
+        /**
+         * The current row, or {@code null} past the last one.
+         */
+        public T peek() throws IOException {
+            while (position == rows.size() && nextBlock < file.blocks.size()) {
+                rows = file.readBlock(channel, file.blocks.get(nextBlock++), factory);
+                position = 0;
+            }
+            return position < rows.size() ? rows.get(position) : null;
+        }
+
+        public void next() {
+            position++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
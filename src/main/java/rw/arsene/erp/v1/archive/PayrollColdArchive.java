@@ -0,0 +1,371 @@
+package rw.arsene.erp.v1.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.MessageDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.MessageSentStatus;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Cold storage for closed payroll years: {@code <directory>/payslips-<year>.col} and
+ * {@code messages-<year>.col}, each with its {@code .idx} index (see {@link ColumnarArchiveFile}).
+ * Rows are keyed by employee id, so an employee's history only inflates the blocks holding
+ * that employee. Payslips are stored as the {@link PayslipDTO} seen when the year was archived,
+ * including the department and position of that time.
+ *
+ * <p>Rewriting a year replaces its files, so readers share a read lock and the replacement
+ * (the file moves and the swap of the in-memory index) takes the write lock; a reader never
+ * follows an old index into a new data file.
+ */
+@Component
+@Slf4j
+public class PayrollColdArchive {
+
+    private static final String PAYSLIPS = "payslips-";
+    private static final String MESSAGES = "messages-";
+
+    private static final Comparator<PayslipDTO> PAYSLIP_ORDER = Comparator
+            .comparing(PayslipDTO::getEmployeeId)
+            .thenComparing(PayslipDTO::getYear)
+            .thenComparing(PayslipDTO::getMonth)
+            .thenComparing(PayslipDTO::getId);
+
+    private static final Comparator<MessageDTO> MESSAGE_ORDER = Comparator
+            .comparing(MessageDTO::getEmployeeId)
+            .thenComparing(MessageDTO::getSentAt)
+            .thenComparing(MessageDTO::getId);
+
+    static final List<ArchiveColumn<PayslipDTO>> PAYSLIP_COLUMNS = List.of(
+            ArchiveColumn.of("id", ArchiveColumn.Type.LONG, PayslipDTO::getId, PayslipDTO::setId),
+            ArchiveColumn.of("employeeId", ArchiveColumn.Type.LONG, PayslipDTO::getEmployeeId, PayslipDTO::setEmployeeId),
+            ArchiveColumn.of("employeeCode", ArchiveColumn.Type.STRING, PayslipDTO::getEmployeeCode, PayslipDTO::setEmployeeCode),
+            ArchiveColumn.of("employeeName", ArchiveColumn.Type.STRING, PayslipDTO::getEmployeeName, PayslipDTO::setEmployeeName),
+            ArchiveColumn.of("employeeEmail", ArchiveColumn.Type.STRING, PayslipDTO::getEmployeeEmail, PayslipDTO::setEmployeeEmail),
+            ArchiveColumn.of("department", ArchiveColumn.Type.STRING, PayslipDTO::getDepartment, PayslipDTO::setDepartment),
+            ArchiveColumn.of("position", ArchiveColumn.Type.STRING, PayslipDTO::getPosition, PayslipDTO::setPosition),
+            amount("baseSalary", PayslipDTO::getBaseSalary, PayslipDTO::setBaseSalary),
+            amount("houseAmount", PayslipDTO::getHouseAmount, PayslipDTO::setHouseAmount),
+            amount("transportAmount", PayslipDTO::getTransportAmount, PayslipDTO::setTransportAmount),
+            amount("grossSalary", PayslipDTO::getGrossSalary, PayslipDTO::setGrossSalary),
+            amount("employeeTaxed", PayslipDTO::getEmployeeTaxed, PayslipDTO::setEmployeeTaxed),
+            amount("pensionAmount", PayslipDTO::getPensionAmount, PayslipDTO::setPensionAmount),
+            amount("medicalInsurance", PayslipDTO::getMedicalInsurance, PayslipDTO::setMedicalInsurance),
+            amount("otherTaxed", PayslipDTO::getOtherTaxed, PayslipDTO::setOtherTaxed),
+            amount("totalDeductions", PayslipDTO::getTotalDeductions, PayslipDTO::setTotalDeductions),
+            amount("netSalary", PayslipDTO::getNetSalary, PayslipDTO::setNetSalary),
+            ArchiveColumn.of("month", ArchiveColumn.Type.INT, PayslipDTO::getMonth, PayslipDTO::setMonth),
+            ArchiveColumn.of("year", ArchiveColumn.Type.INT, PayslipDTO::getYear, PayslipDTO::setYear),
+            ArchiveColumn.ofEnum("status", PayslipStatus.class, PayslipDTO::getStatus, PayslipDTO::setStatus),
+            ArchiveColumn.of("createdAt", ArchiveColumn.Type.TIMESTAMP, PayslipDTO::getCreatedAt, PayslipDTO::setCreatedAt),
+            ArchiveColumn.of("updatedAt", ArchiveColumn.Type.TIMESTAMP, PayslipDTO::getUpdatedAt, PayslipDTO::setUpdatedAt),
+            ArchiveColumn.of("approvedAt", ArchiveColumn.Type.TIMESTAMP, PayslipDTO::getApprovedAt, PayslipDTO::setApprovedAt));
+
+    static final List<ArchiveColumn<MessageDTO>> MESSAGE_COLUMNS = List.of(
+            ArchiveColumn.of("id", ArchiveColumn.Type.LONG, MessageDTO::getId, MessageDTO::setId),
+            ArchiveColumn.of("employeeId", ArchiveColumn.Type.LONG, MessageDTO::getEmployeeId, MessageDTO::setEmployeeId),
+            ArchiveColumn.of("employeeCode", ArchiveColumn.Type.STRING, MessageDTO::getEmployeeCode, MessageDTO::setEmployeeCode),
+            ArchiveColumn.of("employeeName", ArchiveColumn.Type.STRING, MessageDTO::getEmployeeName, MessageDTO::setEmployeeName),
+            ArchiveColumn.of("employeeEmail", ArchiveColumn.Type.STRING, MessageDTO::getEmployeeEmail, MessageDTO::setEmployeeEmail),
+            ArchiveColumn.of("message", ArchiveColumn.Type.STRING, MessageDTO::getMessage, MessageDTO::setMessage),
+            ArchiveColumn.of("monthYear", ArchiveColumn.Type.STRING, MessageDTO::getMonthYear, MessageDTO::setMonthYear),
+            ArchiveColumn.ofEnum("status", MessageSentStatus.class, MessageDTO::getStatus, MessageDTO::setStatus),
+            ArchiveColumn.of("sentAt", ArchiveColumn.Type.TIMESTAMP, MessageDTO::getSentAt, MessageDTO::setSentAt),
+            ArchiveColumn.of("errorMessage", ArchiveColumn.Type.STRING, MessageDTO::getErrorMessage, MessageDTO::setErrorMessage));
+
+    private final Path directory;
+    private final int blockRows;
+
+    // Newest year first, the order history is returned in
+    private final NavigableMap<Integer, ColumnarArchiveFile<PayslipDTO>> payslipFiles =
+            new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    private volatile boolean loaded;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Archived payslip ids per employee, so paging can count the archive without reading it
+    private final Map<Long, Set<Long>> payslipIdsByEmployee = new ConcurrentHashMap<>();
+
+    public PayrollColdArchive(@Value("${app.cold-archive.directory:./data/archive}") String directory,
+                              @Value("${app.cold-archive.block-rows:4096}") int blockRows) {
+        this.directory = Paths.get(directory);
+        this.blockRows = blockRows;
+    }
+
+    public boolean isArchived(int year) {
+        return payslipFiles().containsKey(year);
+    }
+
+    public List<Integer> archivedYears() {
+        return new ArrayList<>(payslipFiles().keySet());
+    }
+
+    /**
+     * Receives the rows of a year being written: payslips by employee, period and id, messages by
+     * employee, send time and id.
+     */
+    public interface YearWriter {
+
+        void addPayslip(PayslipDTO payslip) throws IOException;
+
+        void addMessage(MessageDTO message) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface YearSource {
+
+        void writeTo(YearWriter writer) throws IOException;
+    }
+
+    /**
+     * Writes a year's payslips and messages, merged with whatever that year's files already hold
+     * so an interrupted or repeated run never loses rows. Returns the payslip rows now archived.
+     */
+    public long writeYear(int year, List<PayslipDTO> payslips, List<MessageDTO> messages) throws IOException {
+        List<PayslipDTO> payslipRows = payslips.stream().sorted(PAYSLIP_ORDER).toList();
+        List<MessageDTO> messageRows = messages.stream().sorted(MESSAGE_ORDER).toList();
+        return writeYear(year, writer -> {
+            for (PayslipDTO payslip : payslipRows) {
+                writer.addPayslip(payslip);
+            }
+            for (MessageDTO message : messageRows) {
+                writer.addMessage(message);
+            }
+        });
+    }
+
+    /**
+     * Writes the rows {@code source} supplies in archive order (see {@link YearWriter}), merged
+     * with that year's files as they stream through: a supplied row replaces the archived one with
+     * its id, and only the blocks being read and written are held in memory. Returns the payslip
+     * rows now archived.
+     */
+    public synchronized long writeYear(int year, YearSource source) throws IOException {
+        NavigableMap<Integer, ColumnarArchiveFile<PayslipDTO>> files = payslipFiles();
+        ColumnarArchiveFile<PayslipDTO> written;
+        ColumnarArchiveFile<MessageDTO> writtenMessages;
+        try (MergedFile<PayslipDTO> payslips = new MergedFile<>(payslipFile(year), PAYSLIP_COLUMNS, PayslipDTO::new,
+                     PayslipDTO::getEmployeeId, PayslipDTO::getId, PAYSLIP_ORDER, blockRows);
+             MergedFile<MessageDTO> messages = new MergedFile<>(messageFile(year), MESSAGE_COLUMNS, MessageDTO::new,
+                     MessageDTO::getEmployeeId, MessageDTO::getId, MESSAGE_ORDER, blockRows)) {
+            source.writeTo(new YearWriter() {
+                @Override
+                public void addPayslip(PayslipDTO payslip) throws IOException {
+                    payslips.add(payslip);
+                }
+
+                @Override
+                public void addMessage(MessageDTO message) throws IOException {
+                    messages.add(message);
+                }
+            });
+            payslips.copyRemaining();
+            messages.copyRemaining();
+
+            lock.writeLock().lock();
+            try {
+                writtenMessages = messages.finish();
+                written = payslips.finish();
+                files.put(year, written);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        // After unlocking: a lookup being cached keeps its map entry locked while it waits for the read lock
+        payslipIdsByEmployee.clear();
+
+        log.info("Archived {} payslips and {} messages of {} to {}", written.rowCount(), writtenMessages.rowCount(),
+                year, directory);
+        return written.rowCount();
+    }
+
+    /**
+     * Archived payslips of an employee, newest period first.
+     */
+    public List<PayslipDTO> findPayslipsByEmployeeId(Long employeeId) {
+        List<PayslipDTO> payslips = new ArrayList<>();
+        // Loaded before locking, as a write holds the monitor the first load takes
+        NavigableMap<Integer, ColumnarArchiveFile<PayslipDTO>> files = payslipFiles();
+        lock.readLock().lock();
+        try {
+            for (ColumnarArchiveFile<PayslipDTO> file : files.values()) {
+                if (!file.mayContain(employeeId)) {
+                    continue;
+                }
+                List<PayslipDTO> rows = file.find(employeeId, PayslipDTO::getEmployeeId, PayslipDTO::new);
+                rows.sort(Comparator.comparing(PayslipDTO::getMonth).reversed());
+                payslips.addAll(rows);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived payslips of employee " + employeeId, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return payslips;
+    }
+
+    public Set<Long> findPayslipIdsByEmployeeId(Long employeeId) {
+        return payslipIdsByEmployee.computeIfAbsent(employeeId, id -> findPayslipsByEmployeeId(id).stream()
+                .map(PayslipDTO::getId)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public List<PayslipDTO> readPayslips(int year) {
+        NavigableMap<Integer, ColumnarArchiveFile<PayslipDTO>> files = payslipFiles();
+        lock.readLock().lock();
+        try {
+            ColumnarArchiveFile<PayslipDTO> file = files.get(year);
+            return file == null ? List.of() : file.readAll(PayslipDTO::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived payslips of " + year, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<MessageDTO> findMessagesByEmployeeId(Long employeeId, int year) {
+        Path file = messageFile(year);
+        lock.readLock().lock();
+        try {
+            if (!ColumnarArchiveFile.exists(file)) {
+                return List.of();
+            }
+            return ColumnarArchiveFile.open(file, MESSAGE_COLUMNS).find(employeeId, MessageDTO::getEmployeeId, MessageDTO::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived messages of employee " + employeeId, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Index files are small; they are read once and kept in memory
+    private NavigableMap<Integer, ColumnarArchiveFile<PayslipDTO>> payslipFiles() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    loadIndexes();
+                    loaded = true;
+                }
+            }
+        }
+        return payslipFiles;
+    }
+
+    private void loadIndexes() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PAYSLIPS + "*" + ColumnarArchiveFile.DATA_EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String year = name.substring(PAYSLIPS.length(), name.length() - ColumnarArchiveFile.DATA_EXTENSION.length());
+                if (ColumnarArchiveFile.exists(file)) {
+                    payslipFiles.put(Integer.parseInt(year), ColumnarArchiveFile.open(file, PAYSLIP_COLUMNS));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.error("Could not load the payroll archive index from {}", directory, e);
+        }
+        log.info("Payroll archive holds years {}", payslipFiles.keySet());
+    }
+
+    private Path payslipFile(int year) {
+        return directory.resolve(PAYSLIPS + year + ColumnarArchiveFile.DATA_EXTENSION);
+    }
+
+    private Path messageFile(int year) {
+        return directory.resolve(MESSAGES + year + ColumnarArchiveFile.DATA_EXTENSION);
+    }
+
+    private static ArchiveColumn<PayslipDTO> amount(String name, Function<PayslipDTO, BigDecimal> getter,
+                                                    BiConsumer<PayslipDTO, BigDecimal> setter) {
+        return ArchiveColumn.of(name, ArchiveColumn.Type.DECIMAL, getter, setter);
+    }
+
+    // Copies a year file's archived rows into its replacement, interleaved in archive order with
+    // the rows being added
+    private static final class MergedFile<T> implements Closeable {
+
+        private final ColumnarArchiveFile.Cursor<T> archived;
+        private final ColumnarArchiveFile.Writer<T> writer;
+        private final Function<T, Long> id;
+        private final Comparator<T> order;
+        private T last;
+
+        MergedFile(Path file, List<ArchiveColumn<T>> columns, Supplier<T> factory, ToLongFunction<T> key,
+                   Function<T, Long> id, Comparator<T> order, int blockRows) throws IOException {
+            this.archived = ColumnarArchiveFile.exists(file) ? ColumnarArchiveFile.open(file, columns).cursor(factory) : null;
+            this.writer = ColumnarArchiveFile.writer(file, key, columns, blockRows);
+            this.id = id;
+            this.order = order;
+        }
+
+        void add(T row) throws IOException {
+            if (last != null) {
+                int comparison = order.compare(last, row);
+                if (comparison > 0) {
+                    throw new IllegalArgumentException("Archive row " + id.apply(row) + " is out of order");
+                }
+                if (comparison == 0) {
+                    return;
+                }
+            }
+            if (archived != null) {
+                for (T next = archived.peek(); next != null && order.compare(next, row) <= 0; next = archived.peek()) {
+                    if (!id.apply(next).equals(id.apply(row))) {
+                        writer.add(next);
+                    }
+                    archived.next();
+                }
+            }
+            writer.add(row);
+            last = row;
+        }
+
+        void copyRemaining() throws IOException {
+            if (archived != null) {
+                for (T next = archived.peek(); next != null; next = archived.peek()) {
+                    writer.add(next);
+                    archived.next();
+                }
+                // Closed before the replacement is moved over the file it reads
+                archived.close();
+            }
+        }
+
+        ColumnarArchiveFile<T> finish() throws IOException {
+            return writer.finish();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (writer) {
+                if (archived != null) {
+                    archived.close();
+                }
+            }
+        }
+    }
+}
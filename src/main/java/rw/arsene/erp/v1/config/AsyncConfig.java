@@ -1,24 +1,79 @@
 package rw.arsene.erp.v1.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.enums.Workload;
 
 import java.util.concurrent.Executor;
 
 @Configuration
-@EnableAsync
+// Class proxies: the in-memory read models are @Async but also listen and schedule through
+// methods that are not on their service interfaces
+@EnableAsync(proxyTargetClass = true)
+@EnableScheduling
 public class AsyncConfig {
 
+    // With spring.threads.virtual.enabled each @Async task gets its own virtual thread; the
+    // concurrency limit keeps a burst of notifications from queueing on the batch pool
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${app.async.virtual-concurrency-limit:100}") int virtualConcurrencyLimit) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ERP-Async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.BATCH, task));
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("ERP-Async-");
+        // Background work (emails, index rebuilds) draws from the batch connection pool
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.BATCH, task));
+        executor.initialize();
+        return executor;
+    }
+
+    // Password hashing is CPU bound, so sign-ins run on their own bounded pool of platform
+    // threads (also in virtual-thread mode) instead of request threads. When the queue is full
+    // new sign-ins are rejected rather than queued.
+    @Bean(name = "authenticationExecutor")
+    public ThreadPoolTaskExecutor authenticationExecutor(
+            @Value("${app.security.auth-executor.pool-size:0}") int poolSize,
+            @Value("${app.security.auth-executor.queue-capacity:200}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ERP-Auth-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Payslip rendering is CPU bound and stays on platform threads; callers keep at most a
+    // window of documents in flight, so the queue only needs to absorb that window
+    @Bean(name = "documentExecutor")
+    public ThreadPoolTaskExecutor documentExecutor(@Value("${app.documents.worker-threads:0}") int workerThreads) {
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("ERP-Document-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,11 +21,15 @@ import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
 import rw.arsene.erp.v1.repository.RoleRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
+// Seeds an empty database. Turn it off once seeded (app.data-initializer.enabled=false) so
+// instances do not query four repositories on every start.
 @Component
+@ConditionalOnProperty(name = "app.data-initializer.enabled", havingValue = "true", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
@@ -65,9 +70,9 @@ public class DataInitializer implements CommandLineRunner {
         if (roleRepository.count() == 0) {
             logger.info("Initializing roles...");
             roleRepository.saveAll(List.of(
-                    new RoleEntity(Role.ROLE_ADMIN),
-                    new RoleEntity(Role.ROLE_MANAGER),
-                    new RoleEntity(Role.ROLE_EMPLOYEE)
+                    RoleEntity.builder().name(Role.ROLE_ADMIN).build(),
+                    RoleEntity.builder().name(Role.ROLE_MANAGER).build(),
+                    RoleEntity.builder().name(Role.ROLE_EMPLOYEE).build()
             ));
             logger.info("Roles initialized.");
         }
@@ -77,12 +82,12 @@ public class DataInitializer implements CommandLineRunner {
         if (deductionRepository.count() == 0) {
             logger.info("Initializing deductions...");
             deductionRepository.saveAll(List.of(
-                    new Deduction(null, "Employee Tax", new BigDecimal("30.00")),
-                    new Deduction(null, "Pension", new BigDecimal("6.00")),
-                    new Deduction(null, "Medical Insurance", new BigDecimal("5.00")),
-                    new Deduction(null, "Housing", new BigDecimal("14.00")),
-                    new Deduction(null, "Transport", new BigDecimal("14.00")),
-                    new Deduction(null, "Others", new BigDecimal("5.00"))
+                    deduction("DED001", "Employee Tax", "30.00"),
+                    deduction("DED002", "Pension", "6.00"),
+                    deduction("DED003", "Medical Insurance", "5.00"),
+                    deduction("DED004", "Housing", "14.00"),
+                    deduction("DED005", "Transport", "14.00"),
+                    deduction("DED006", "Others", "5.00")
             ));
             logger.info("Deductions initialized.");
         }
@@ -97,22 +102,22 @@ public class DataInitializer implements CommandLineRunner {
             RoleEntity employeeRole = roleRepository.findByName(Role.ROLE_EMPLOYEE).orElseThrow();
 
             // Admin User
-            Employee admin = new Employee(null, "Admin", "User", "admin@erp.gov.rw", passwordEncoder.encode("password"), Set.of(adminRole), "0788111111", new Date(), EmployeeStatus.ACTIVE);
+            Employee admin = employee("EMP001", "Admin", "User", "admin@erp.gov.rw", "0788111111", adminRole, EmployeeStatus.ACTIVE);
             employeeRepository.save(admin);
             createEmploymentDetails(admin, "IT", "System Admin", new BigDecimal("150000"));
 
             // Manager User
-            Employee manager = new Employee(null, "Manager", "User", "manager@erp.gov.rw", passwordEncoder.encode("password"), Set.of(managerRole), "0788222222", new Date(), EmployeeStatus.ACTIVE);
+            Employee manager = employee("EMP002", "Manager", "User", "manager@erp.gov.rw", "0788222222", managerRole, EmployeeStatus.ACTIVE);
             employeeRepository.save(manager);
             createEmploymentDetails(manager, "Finance", "Finance Manager", new BigDecimal("120000"));
 
             // Employee User 1
-            Employee emp1 = new Employee(null, "John", "Doe", "john.doe@erp.gov.rw", passwordEncoder.encode("password"), Set.of(employeeRole), "0788333333", new Date(), EmployeeStatus.ACTIVE);
+            Employee emp1 = employee("EMP003", "John", "Doe", "john.doe@erp.gov.rw", "0788333333", employeeRole, EmployeeStatus.ACTIVE);
             employeeRepository.save(emp1);
             createEmploymentDetails(emp1, "HR", "HR Officer", new BigDecimal("70000"));
 
             // Employee User 2 (Inactive)
-            Employee emp2 = new Employee(null, "Jane", "Smith", "jane.smith@erp.gov.rw", passwordEncoder.encode("password"), Set.of(employeeRole), "0788444444", new Date(), EmployeeStatus.DISABLED);
+            Employee emp2 = employee("EMP004", "Jane", "Smith", "jane.smith@erp.gov.rw", "0788444444", employeeRole, EmployeeStatus.INACTIVE);
             employeeRepository.save(emp2);
             createEmploymentDetails(emp2, "Procurement", "Procurement Officer", new BigDecimal("65000"), EmploymentStatus.INACTIVE);
 
@@ -120,12 +125,36 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
 
+    private Deduction deduction(String code, String name, String percentage) {
+        return Deduction.builder()
+                .code(code)
+                .deductionName(name)
+                .percentage(new BigDecimal(percentage))
+                .build();
+    }
+
+    private Employee employee(String code, String firstName, String lastName, String email, String mobile,
+                              RoleEntity role, EmployeeStatus status) {
+        return Employee.builder()
+                .code(code)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .password(passwordEncoder.encode("password"))
+                .roles(Set.of(role))
+                .mobile(mobile)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(status)
+                .build();
+    }
+
     private void createEmploymentDetails(Employee employee, String department, String position, BigDecimal baseSalary) {
         createEmploymentDetails(employee, department, position, baseSalary, EmploymentStatus.ACTIVE);
     }
 
     private void createEmploymentDetails(Employee employee, String department, String position, BigDecimal baseSalary, EmploymentStatus status) {
         EmploymentDetails details = new EmploymentDetails();
+        details.setCode("EMP-" + employee.getCode());
         details.setEmployee(employee);
         details.setDepartment(department);
         details.setPosition(position);
@@ -0,0 +1,72 @@
+package rw.arsene.erp.v1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import rw.arsene.erp.v1.datasource.ReadWriteRoutingDataSource;
+import rw.arsene.erp.v1.datasource.WorkloadRoutingDataSource;
+import rw.arsene.erp.v1.enums.Workload;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+
+/**
+ * One Hikari pool per workload, all pointing at {@code spring.datasource}. Each pool is tuned
+ * under {@code app.datasource.pools.<workload>.*} with the usual Hikari property names, and is
+ * picked up by the Hikari metrics binder as {@code hikaricp.connections.*{pool=ERP-<workload>}}.
+ */
+@Configuration
+public class DataSourcePoolsConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.pools.api")
+    public HikariDataSource apiDataSource(DataSourceProperties properties) {
+        return createPool(properties, Workload.API);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.pools.batch")
+    public HikariDataSource batchDataSource(DataSourceProperties properties) {
+        return createPool(properties, Workload.BATCH);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.pools.reporting")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        return createPool(properties, Workload.REPORTING);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(
+            HikariDataSource apiDataSource,
+            HikariDataSource batchDataSource,
+            HikariDataSource reportingDataSource) {
+        EnumMap<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.API, apiDataSource);
+        pools.put(Workload.BATCH, batchDataSource);
+        pools.put(Workload.REPORTING, reportingDataSource);
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    // Connections are only taken on the first statement, once the transaction's read-only flag
+    // and the thread's workload are known
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            WorkloadRoutingDataSource workloadRoutingDataSource,
+            ObjectProvider<ReadWriteRoutingDataSource> readWriteRoutingDataSource) {
+        DataSource target = readWriteRoutingDataSource.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(target != null ? target : workloadRoutingDataSource);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Workload workload) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("ERP-" + workload.name().toLowerCase());
+        return dataSource;
+    }
+}
@@ -0,0 +1,48 @@
+package rw.arsene.erp.v1.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Start-up tuning for the {@code faststart} profile. Beans that are rarely used at runtime
+ * (OpenAPI documentation, mail) are created on first use instead of at start-up; they are
+ * matched by the class, or for {@code @Bean} methods the declaring class, against
+ * {@code app.faststart.lazy-bean-prefixes}.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    // Static so it is registered before the bean definitions it rewrites are instantiated
+    @Bean
+    public static BeanFactoryPostProcessor lazyRarelyUsedBeans(Environment environment) {
+        List<String> prefixes = List.of(environment.getProperty(
+                "app.faststart.lazy-bean-prefixes", String[].class, new String[0]));
+
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (definition.getRole() == BeanDefinition.ROLE_APPLICATION && !definition.isLazyInit()) {
+                    String source = sourceClassName(definition);
+                    if (source != null && prefixes.stream().anyMatch(source::startsWith)) {
+                        definition.setLazyInit(true);
+                    }
+                }
+            }
+        };
+    }
+
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,63 @@
+package rw.arsene.erp.v1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import rw.arsene.erp.v1.datasource.ReadWriteRoutingDataSource;
+import rw.arsene.erp.v1.datasource.ReplicaLagMonitor;
+import rw.arsene.erp.v1.datasource.ReplicaTarget;
+import rw.arsene.erp.v1.datasource.WorkloadRoutingDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits reads from writes: {@code @Transactional(readOnly = true)} work goes to the replicas
+ * listed in {@code app.datasource.replica.urls}, everything else to {@code spring.datasource}
+ * through the workload pools. Each replica keeps its own Hikari pool. Enabled by the
+ * {@code replica} profile.
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // Writes and fallback reads use the workload pools from DataSourcePoolsConfig
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            WorkloadRoutingDataSource workloadRoutingDataSource,
+            @Value("${app.datasource.replica.urls}") List<String> urls,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        List<ReplicaTarget> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("ERP-" + name);
+            dataSource.setJdbcUrl(urls.get(i).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setReadOnly(true);
+            // Start even if a replica is down; the lag monitor keeps it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+
+            replicas.add(new ReplicaTarget(name, dataSource));
+            log.info("Registered read replica {} at {}", name, dataSource.getJdbcUrl());
+        }
+        return new ReadWriteRoutingDataSource(workloadRoutingDataSource, replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadWriteRoutingDataSource routingDataSource,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag-seconds:10}") double maxLagSeconds) {
+        return new ReplicaLagMonitor(routingDataSource, lagQuery, maxLagSeconds);
+    }
+}
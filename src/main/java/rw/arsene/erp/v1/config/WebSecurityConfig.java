@@ -4,19 +4,30 @@ import rw.arsene.erp.v1.security.jwt.AuthEntryPointJwt;
 import rw.arsene.erp.v1.security.jwt.AuthTokenFilter;
 import rw.arsene.erp.v1.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -32,11 +43,25 @@ public class WebSecurityConfig {
     @Autowired
     private AuthTokenFilter authTokenFilter;
 
+    @Value("${app.security.password-encoder:bcrypt}")
+    private String passwordEncoderId;
+
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.metrics.scrape-username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${app.metrics.scrape-password:}")
+    private String scrapePassword;
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes the password on successful login when the stored hash is legacy or weaker than configured
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -47,10 +72,42 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingEncoder;
+    }
+
+    // Prometheus scrapes with HTTP Basic as a user holding only the METRICS role; without a
+    // configured password every scrape is refused
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(scrapePassword)) {
+            scrapeUsers.createUser(User.withUsername(scrapeUsername)
+                    .password(passwordEncoder().encode(scrapePassword))
+                    .roles("METRICS")
+                    .build());
+        }
+
+        http.securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(scrapeUsers)
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
@@ -58,6 +115,8 @@ public class WebSecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             );
 
@@ -2,12 +2,19 @@ package rw.arsene.erp.v1.controller;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import rw.arsene.erp.v1.dto.JwtResponse;
@@ -16,7 +23,9 @@ import rw.arsene.erp.v1.dto.MessageResponse;
 import rw.arsene.erp.v1.dto.SignupRequest;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.RoleEntity;
+import rw.arsene.erp.v1.enums.ChangeType;
 import rw.arsene.erp.v1.enums.Role;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
 import rw.arsene.erp.v1.repository.RoleRepository;
 import rw.arsene.erp.v1.security.jwt.JwtUtils;
@@ -25,11 +34,15 @@ import rw.arsene.erp.v1.security.services.UserDetailsImpl;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
-@RequestMapping("/api/auth")
+@RequestMapping("/api/v1/auth")
 public class AuthController {
     @Autowired
     AuthenticationManager authenticationManager;
@@ -46,13 +59,48 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("authenticationExecutor")
+    ThreadPoolTaskExecutor authenticationExecutor;
+
+    @Value("${app.security.auth-executor.timeout-ms:5000}")
+    long authenticationTimeoutMs;
+
+    // Hashing runs on the bounded authentication executor and the request thread is released
+    // meanwhile; a full queue or a slow hash answers 503 instead of piling up requests
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        CompletableFuture<Authentication> authentication;
+        try {
+            authentication = authenticationExecutor.submitCompletable(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(tooManyAttempts());
+        }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        // Timing out completes the future, so a sign-in still queued is never run
+        return authentication
+                .orTimeout(authenticationTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, failure) -> {
+                    if (failure == null) {
+                        return signedIn(result);
+                    }
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                    if (cause instanceof TimeoutException) {
+                        return tooManyAttempts();
+                    }
+                    if (cause instanceof AuthenticationException authenticationException) {
+                        throw authenticationException;
+                    }
+                    throw new IllegalStateException("Authentication failed", cause);
+                });
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<?> signedIn(Authentication authentication) {
         String jwt = jwtUtils.generateJwtToken(authentication);
 
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -66,6 +114,13 @@ public class AuthController {
                 roles));
     }
 
+    private static ResponseEntity<?> tooManyAttempts() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Too many sign-in attempts, please try again shortly"));
+    }
+
     @PostMapping("/signup")
     // @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')") // Add role check later if needed
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
@@ -120,7 +175,8 @@ public class AuthController {
         }
 
         employee.setRoles(roles);
-        employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(savedEmployee.getId(), ChangeType.CREATED));
 
         return ResponseEntity.ok(new MessageResponse("Employee registered successfully!"));
     }
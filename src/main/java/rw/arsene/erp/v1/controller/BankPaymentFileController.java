@@ -0,0 +1,129 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.dto.BankPaymentFileDTO;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.BankPaymentFileService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/payroll/bank-files")
+@RequiredArgsConstructor
+@Tag(name = "Bank Payment Files", description = "APIs for releasing net salaries to the bank")
+public class BankPaymentFileController {
+
+    private final BankPaymentFileService bankPaymentFileService;
+
+    @PostMapping("/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Generate bank payment file", description = "Writes a transfer file for the approved payslips of a period")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Payment file generated successfully"),
+        @ApiResponse(responseCode = "400", description = "Nothing to pay or a file is awaiting acknowledgement"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<BankPaymentFileDTO> generatePaymentFile(
+            @Parameter(description = "Year") @PathVariable Integer year,
+            @Parameter(description = "Month") @PathVariable Integer month,
+            @Parameter(description = "PAIN_001 or FIXED_WIDTH") @RequestParam(defaultValue = "PAIN_001") BankFileFormat format,
+            @Parameter(description = "Requested execution date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate executionDate) {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            BankPaymentFileDTO file = bankPaymentFileService.generatePaymentFile(month, year, format, executionDate);
+            return new ResponseEntity<>(file, HttpStatus.CREATED);
+        }
+    }
+
+    @GetMapping("/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get bank payment files by period", description = "Retrieves the payment files generated for a period")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment files retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<BankPaymentFileDTO>> getPaymentFilesByPeriod(
+            @Parameter(description = "Year") @PathVariable Integer year,
+            @Parameter(description = "Month") @PathVariable Integer month) {
+        return ResponseEntity.ok(bankPaymentFileService.getPaymentFilesByPeriod(month, year));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get bank payment file", description = "Retrieves a payment file by its ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment file found"),
+        @ApiResponse(responseCode = "404", description = "Payment file not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<BankPaymentFileDTO> getPaymentFileById(
+            @Parameter(description = "Payment file ID") @PathVariable Long id) {
+        return ResponseEntity.ok(bankPaymentFileService.getPaymentFileById(id));
+    }
+
+    @GetMapping("/{id}/download")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Download bank payment file", description = "Streams the stored payment file for upload to the bank")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment file streamed successfully"),
+        @ApiResponse(responseCode = "404", description = "Payment file not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Resource> downloadPaymentFile(
+            @Parameter(description = "Payment file ID") @PathVariable Long id) {
+        BankPaymentFileDTO file = bankPaymentFileService.getPaymentFileById(id);
+        Resource content = bankPaymentFileService.getPaymentFileContent(id);
+
+        return ResponseEntity.ok()
+                .contentType(file.getFormat() == BankFileFormat.PAIN_001 ? MediaType.APPLICATION_XML : MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(content.getFilename()).build().toString())
+                .header("X-Checksum-SHA256", file.getChecksum())
+                .body(content);
+    }
+
+    @PostMapping("/{id}/acknowledge")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Acknowledge bank payment file", description = "Marks every payslip in the file as paid once the bank has accepted it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment file acknowledged"),
+        @ApiResponse(responseCode = "400", description = "File is not awaiting acknowledgement or checksum mismatch"),
+        @ApiResponse(responseCode = "404", description = "Payment file not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<BankPaymentFileDTO> acknowledgePaymentFile(
+            @Parameter(description = "Payment file ID") @PathVariable Long id,
+            @Parameter(description = "SHA-256 reported by the bank, verified when given") @RequestParam(required = false) String checksum) {
+        return ResponseEntity.ok(bankPaymentFileService.acknowledgePaymentFile(id, checksum));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Cancel bank payment file", description = "Releases the payslips of a rejected file so a new one can be generated")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment file cancelled"),
+        @ApiResponse(responseCode = "400", description = "File is not awaiting acknowledgement"),
+        @ApiResponse(responseCode = "404", description = "Payment file not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<BankPaymentFileDTO> cancelPaymentFile(
+            @Parameter(description = "Payment file ID") @PathVariable Long id) {
+        return ResponseEntity.ok(bankPaymentFileService.cancelPaymentFile(id));
+    }
+}
@@ -13,8 +13,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import rw.arsene.erp.v1.dto.DeductionDTO;
+import rw.arsene.erp.v1.metrics.QueryBudget;
 import rw.arsene.erp.v1.service.DeductionService;
+import rw.arsene.erp.v1.service.EntityVersionService;
+import rw.arsene.erp.v1.util.ConditionalRequests;
 
 import java.util.List;
 
@@ -25,6 +29,7 @@ import java.util.List;
 public class DeductionController {
     
     private final DeductionService deductionService;
+    private final EntityVersionService entityVersionService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
@@ -50,9 +55,10 @@ public class DeductionController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<DeductionDTO> getDeductionById(
-            @Parameter(description = "Deduction ID") @PathVariable Long id) {
-        DeductionDTO deduction = deductionService.getDeductionById(id);
-        return ResponseEntity.ok(deduction);
+            @Parameter(description = "Deduction ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalRequests.respond(webRequest, entityVersionService.getDeductionVersion(id),
+                () -> deductionService.getDeductionById(id));
     }
 
     @GetMapping("/code/{code}")
@@ -76,6 +82,7 @@ public class DeductionController {
         @ApiResponse(responseCode = "200", description = "Deductions retrieved successfully"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
+    @QueryBudget(2)
     public ResponseEntity<Page<DeductionDTO>> getAllDeductions(Pageable pageable) {
         Page<DeductionDTO> deductions = deductionService.getAllDeductions(pageable);
         return ResponseEntity.ok(deductions);
@@ -98,10 +105,11 @@ public class DeductionController {
     @Operation(summary = "Search deductions", description = "Searches deductions by keyword")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Keyword shorter than 3 characters"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<DeductionDTO>> searchDeductions(
-            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Search keyword, at least 3 characters") @RequestParam String keyword,
             Pageable pageable) {
         Page<DeductionDTO> deductions = deductionService.searchDeductions(keyword, pageable);
         return ResponseEntity.ok(deductions);
@@ -0,0 +1,49 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.dto.DirectoryEntryDTO;
+import rw.arsene.erp.v1.service.DirectorySearchService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/directory")
+@RequiredArgsConstructor
+@Tag(name = "Directory", description = "APIs for the HR directory typeahead")
+public class DirectoryController {
+
+    private final DirectorySearchService directorySearchService;
+
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or hasRole('MANAGER')")
+    @Operation(summary = "Directory typeahead", description = "Returns the best matching employees for a partially typed query")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<DirectoryEntryDTO>> typeahead(
+            @Parameter(description = "Partially typed name, code, email, mobile, department or position") @RequestParam String q,
+            @Parameter(description = "Maximum number of matches (at most 50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(directorySearchService.typeahead(q, limit));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild directory index", description = "Reloads the in-memory directory index from the database")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Index rebuilt"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Void> rebuild() {
+        directorySearchService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
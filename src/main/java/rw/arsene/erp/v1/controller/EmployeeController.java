@@ -13,10 +13,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import rw.arsene.erp.v1.dto.EmployeeDTO;
 import rw.arsene.erp.v1.dto.SignupRequest;
 import rw.arsene.erp.v1.enums.EmployeeStatus;
+import rw.arsene.erp.v1.metrics.QueryBudget;
 import rw.arsene.erp.v1.service.EmployeeService;
+import rw.arsene.erp.v1.service.EntityVersionService;
+import rw.arsene.erp.v1.util.ConditionalRequests;
 
 import java.util.List;
 
@@ -27,6 +31,7 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final EntityVersionService entityVersionService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
@@ -68,9 +73,10 @@ public class EmployeeController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<EmployeeDTO> getEmployeeById(
-            @Parameter(description = "Employee ID") @PathVariable Long id) {
-        EmployeeDTO employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(employee);
+            @Parameter(description = "Employee ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalRequests.respond(webRequest, entityVersionService.getEmployeeVersion(id),
+                () -> employeeService.getEmployeeById(id));
     }
     
     @GetMapping("/code/{code}")
@@ -108,6 +114,7 @@ public class EmployeeController {
         @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
+    @QueryBudget(4)
     public ResponseEntity<Page<EmployeeDTO>> getAllEmployees(Pageable pageable) {
         Page<EmployeeDTO> employees = employeeService.getAllEmployees(pageable);
         return ResponseEntity.ok(employees);
@@ -132,10 +139,11 @@ public class EmployeeController {
     @Operation(summary = "Search employees", description = "Searches employees by keyword")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Keyword shorter than 3 characters"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<EmployeeDTO>> searchEmployees(
-            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Search keyword, at least 3 characters") @RequestParam String keyword,
             Pageable pageable) {
         Page<EmployeeDTO> employees = employeeService.searchEmployees(keyword, pageable);
         return ResponseEntity.ok(employees);
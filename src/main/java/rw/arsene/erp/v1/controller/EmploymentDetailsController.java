@@ -13,9 +13,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import rw.arsene.erp.v1.dto.DictionaryEntryDTO;
 import rw.arsene.erp.v1.dto.EmploymentDetailsDTO;
 import rw.arsene.erp.v1.enums.EmploymentStatus;
+import rw.arsene.erp.v1.metrics.QueryBudget;
 import rw.arsene.erp.v1.service.EmploymentDetailsService;
+import rw.arsene.erp.v1.service.EmploymentDictionaryService;
+import rw.arsene.erp.v1.service.EntityVersionService;
+import rw.arsene.erp.v1.util.ConditionalRequests;
 
 import java.util.List;
 
@@ -26,6 +32,8 @@ import java.util.List;
 public class EmploymentDetailsController {
     
     private final EmploymentDetailsService employmentDetailsService;
+    private final EntityVersionService entityVersionService;
+    private final EmploymentDictionaryService employmentDictionaryService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
@@ -66,9 +74,10 @@ public class EmploymentDetailsController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<EmploymentDetailsDTO> getEmploymentDetailsById(
-            @Parameter(description = "Employment details ID") @PathVariable Long id) {
-        EmploymentDetailsDTO employmentDetails = employmentDetailsService.getEmploymentDetailsById(id);
-        return ResponseEntity.ok(employmentDetails);
+            @Parameter(description = "Employment details ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalRequests.respond(webRequest, entityVersionService.getEmploymentDetailsVersion(id),
+                () -> employmentDetailsService.getEmploymentDetailsById(id));
     }
     
     @GetMapping("/employee/{employeeId}/active")
@@ -92,6 +101,7 @@ public class EmploymentDetailsController {
         @ApiResponse(responseCode = "200", description = "Employment details retrieved successfully"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
+    @QueryBudget(5)
     public ResponseEntity<Page<EmploymentDetailsDTO>> getAllEmploymentDetails(Pageable pageable) {
         Page<EmploymentDetailsDTO> employmentDetails = employmentDetailsService.getAllEmploymentDetails(pageable);
         return ResponseEntity.ok(employmentDetails);
@@ -142,10 +152,11 @@ public class EmploymentDetailsController {
     @Operation(summary = "Search employment details", description = "Searches employment details by keyword")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Keyword shorter than 3 characters"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<EmploymentDetailsDTO>> searchEmploymentDetails(
-            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Search keyword, at least 3 characters") @RequestParam String keyword,
             Pageable pageable) {
         Page<EmploymentDetailsDTO> employmentDetails = employmentDetailsService.searchEmploymentDetails(keyword, pageable);
         return ResponseEntity.ok(employmentDetails);
@@ -258,4 +269,38 @@ public class EmploymentDetailsController {
         long count = employmentDetailsService.countByDepartment(department);
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping("/departments")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or hasRole('EMPLOYEE')")
+    @Operation(summary = "Get departments", description = "Lists the distinct departments with the number of employment records in each")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Departments retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<DictionaryEntryDTO>> getDepartments() {
+        return ResponseEntity.ok(employmentDictionaryService.getDepartments());
+    }
+    
+    @GetMapping("/positions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or hasRole('EMPLOYEE')")
+    @Operation(summary = "Get positions", description = "Lists the distinct positions with the number of employment records holding each")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Positions retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<DictionaryEntryDTO>> getPositions() {
+        return ResponseEntity.ok(employmentDictionaryService.getPositions());
+    }
+    
+    @GetMapping("/count/position/{position}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    @Operation(summary = "Count by position", description = "Counts employment details by position")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Count retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Long> countByPosition(
+            @Parameter(description = "Position name") @PathVariable String position) {
+        return ResponseEntity.ok(employmentDictionaryService.countByPosition(position));
+    }
 }
@@ -13,9 +13,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import rw.arsene.erp.v1.dto.MessageDTO;
-import rw.arsene.erp.v1.enums.MessageStatus;
+import rw.arsene.erp.v1.enums.MessageSentStatus;
+import rw.arsene.erp.v1.metrics.QueryBudget;
+import rw.arsene.erp.v1.service.EntityVersionService;
 import rw.arsene.erp.v1.service.MessageService;
+import rw.arsene.erp.v1.util.ConditionalRequests;
 
 @RestController
 @RequestMapping("/api/v1/messages")
@@ -24,6 +28,7 @@ import rw.arsene.erp.v1.service.MessageService;
 public class MessageController {
     
     private final MessageService messageService;
+    private final EntityVersionService entityVersionService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
@@ -34,7 +39,7 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<MessageDTO> createAndSendMessage(@Valid @RequestBody MessageDTO messageDTO) {
-        MessageDTO createdMessage = messageService.createAndSendMessage(messageDTO);
+        MessageDTO createdMessage = messageService.sendMessage(messageService.createMessage(messageDTO).getId());
         return new ResponseEntity<>(createdMessage, HttpStatus.CREATED);
     }
     
@@ -63,9 +68,10 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<MessageDTO> getMessageById(
-            @Parameter(description = "Message ID") @PathVariable Long id) {
-        MessageDTO message = messageService.getMessageById(id);
-        return ResponseEntity.ok(message);
+            @Parameter(description = "Message ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalRequests.respond(webRequest, entityVersionService.getMessageVersion(id),
+                () -> messageService.getMessageById(id));
     }
     
     @GetMapping
@@ -75,6 +81,7 @@ public class MessageController {
         @ApiResponse(responseCode = "200", description = "Messages retrieved successfully"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
+    @QueryBudget(4)
     public ResponseEntity<Page<MessageDTO>> getAllMessages(Pageable pageable) {
         Page<MessageDTO> messages = messageService.getAllMessages(pageable);
         return ResponseEntity.ok(messages);
@@ -88,7 +95,7 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<MessageDTO>> getMessagesByStatus(
-            @Parameter(description = "Message status") @PathVariable MessageStatus status,
+            @Parameter(description = "Message status") @PathVariable MessageSentStatus status,
             Pageable pageable) {
         Page<MessageDTO> messages = messageService.getMessagesByStatus(status, pageable);
         return ResponseEntity.ok(messages);
@@ -99,10 +106,11 @@ public class MessageController {
     @Operation(summary = "Search messages", description = "Searches messages by keyword")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Keyword shorter than 3 characters"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<MessageDTO>> searchMessages(
-            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Search keyword, at least 3 characters") @RequestParam String keyword,
             Pageable pageable) {
         Page<MessageDTO> messages = messageService.searchMessages(keyword, pageable);
         return ResponseEntity.ok(messages);
@@ -134,7 +142,7 @@ public class MessageController {
     })
     public ResponseEntity<MessageDTO> retryMessage(
             @Parameter(description = "Message ID") @PathVariable Long id) {
-        MessageDTO message = messageService.retryMessage(id);
+        MessageDTO message = messageService.retrySendMessage(id);
         return ResponseEntity.ok(message);
     }
     
@@ -160,7 +168,7 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Long> countByStatus(
-            @Parameter(description = "Message status") @PathVariable MessageStatus status) {
+            @Parameter(description = "Message status") @PathVariable MessageSentStatus status) {
         long count = messageService.countByStatus(status);
         return ResponseEntity.ok(count);
     }
@@ -173,7 +181,7 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<MessageDTO>> getFailedMessages(Pageable pageable) {
-        Page<MessageDTO> messages = messageService.getFailedMessages(pageable);
+        Page<MessageDTO> messages = messageService.getMessagesByStatus(MessageSentStatus.FAILED, pageable);
         return ResponseEntity.ok(messages);
     }
     
@@ -185,20 +193,7 @@ public class MessageController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public ResponseEntity<Page<MessageDTO>> getPendingMessages(Pageable pageable) {
-        Page<MessageDTO> messages = messageService.getPendingMessages(pageable);
+        Page<MessageDTO> messages = messageService.getMessagesByStatus(MessageSentStatus.PENDING, pageable);
         return ResponseEntity.ok(messages);
     }
-    
-    @PostMapping("/broadcast")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    @Operation(summary = "Broadcast message", description = "Broadcasts a message to all employees")
-    @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Broadcast message created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "403", description = "Access denied")
-    })
-    public ResponseEntity<MessageDTO> broadcastMessage(@Valid @RequestBody MessageDTO messageDTO) {
-        MessageDTO broadcastMessage = messageService.broadcastMessage(messageDTO);
-        return new ResponseEntity<>(broadcastMessage, HttpStatus.CREATED);
-    }
 }
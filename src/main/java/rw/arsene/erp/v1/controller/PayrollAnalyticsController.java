@@ -0,0 +1,61 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.analytics.AnalyticsQuery;
+import rw.arsene.erp.v1.dto.MessageResponse;
+import rw.arsene.erp.v1.dto.PayrollAnalyticsDTO;
+import rw.arsene.erp.v1.enums.AnalyticsDimension;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.service.PayrollAnalyticsService;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/analytics/payroll")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Analytics", description = "APIs for slicing payroll totals across periods")
+public class PayrollAnalyticsController {
+
+    private final PayrollAnalyticsService payrollAnalyticsService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Aggregate payroll", description = "Sums gross, net and deductions grouped by the given dimensions, served from the in-memory analytics cube")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totals computed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<PayrollAnalyticsDTO> aggregate(
+            @Parameter(description = "Dimensions to group by") @RequestParam(required = false) List<AnalyticsDimension> groupBy,
+            @Parameter(description = "First year, inclusive") @RequestParam(required = false) Integer fromYear,
+            @Parameter(description = "First month of the first year") @RequestParam(defaultValue = "1") Integer fromMonth,
+            @Parameter(description = "Last year, inclusive") @RequestParam(required = false) Integer toYear,
+            @Parameter(description = "Last month of the last year") @RequestParam(defaultValue = "12") Integer toMonth,
+            @Parameter(description = "Departments to include") @RequestParam(required = false) Set<String> department,
+            @Parameter(description = "Positions to include") @RequestParam(required = false) Set<String> position,
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) Set<PayslipStatus> status) {
+        AnalyticsQuery query = new AnalyticsQuery(
+                groupBy != null ? groupBy : List.of(),
+                fromYear != null ? AnalyticsQuery.period(fromYear, fromMonth) : 0,
+                toYear != null ? AnalyticsQuery.period(toYear, toMonth) : Integer.MAX_VALUE,
+                department, position, status);
+        return ResponseEntity.ok(payrollAnalyticsService.analyze(query));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild analytics cube", description = "Reloads every payslip fact from the database and the cold archive")
+    public ResponseEntity<MessageResponse> rebuild() {
+        payrollAnalyticsService.rebuild();
+        return ResponseEntity.ok(new MessageResponse("Payroll analytics cube rebuilt"));
+    }
+}
@@ -0,0 +1,49 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.dto.PayrollArchiveReportDTO;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.PayrollArchiveService;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/payroll/archive")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Archive", description = "APIs for moving closed payroll years to cold storage")
+public class PayrollArchiveController {
+
+    private final PayrollArchiveService payrollArchiveService;
+
+    @PostMapping("/{year}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Archive a closed year", description = "Moves the paid payslips of a closed year and their messages to the cold archive")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Year archived successfully"),
+        @ApiResponse(responseCode = "400", description = "Year is not closed"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<PayrollArchiveReportDTO> archiveYear(
+            @Parameter(description = "Year") @PathVariable Integer year) throws IOException {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            return ResponseEntity.ok(payrollArchiveService.archiveClosedYear(year));
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "List archived years", description = "Returns the payroll years held by the cold archive, newest first")
+    public ResponseEntity<List<Integer>> getArchivedYears() {
+        return ResponseEntity.ok(payrollArchiveService.getArchivedYears());
+    }
+}
@@ -1,16 +1,31 @@
 package rw.arsene.erp.v1.controller;
 
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.dto.MessageDTO;
 import rw.arsene.erp.v1.dto.MessageResponse;
+import rw.arsene.erp.v1.dto.PayrollGenerationDto;
 import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.EntityVersionService;
+import rw.arsene.erp.v1.service.MessageService;
 import rw.arsene.erp.v1.service.PayrollService;
+import rw.arsene.erp.v1.util.ConditionalRequests;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -23,13 +38,20 @@ public class PayrollController {
     @Autowired
     private PayrollService payrollService;
 
+    @Autowired
+    private EntityVersionService entityVersionService;
+
+    @Autowired
+    private MessageService messageService;
+
     // Endpoint to generate payroll for a specific month/year
     @PostMapping("/generate/{year}/{month}")
-    @PreAuthorize("hasRole(	MANAGER	)")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
     public ResponseEntity<?> generatePayroll(@PathVariable int year, @PathVariable int month) {
-        try {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
             logger.info("Received request to generate payroll for {}/{}", month, year);
-            List<PayslipDTO> generatedPayslips = payrollService.generatePayroll(month, year);
+            List<PayslipDTO> generatedPayslips = payrollService.generatePayroll(
+                    PayrollGenerationDto.builder().month(month).year(year).build());
             if (generatedPayslips.isEmpty()) {
                 return ResponseEntity.ok(new MessageResponse("Payroll generation complete. No new payslips generated (possibly already exist or no active employees)."));
             }
@@ -42,8 +64,8 @@ public class PayrollController {
 
     // Endpoint to approve a specific payslip by ID
     @PutMapping("/approve/payslip/{payslipId}")
-    @PreAuthorize("hasRole(	ADMIN	)")
-    public ResponseEntity<?> approvePayslip(@PathVariable String payslipId) {
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> approvePayslip(@PathVariable Long payslipId) {
         try {
             logger.info("Received request to approve payslip ID: {}", payslipId);
             PayslipDTO approvedPayslip = payrollService.approvePayslip(payslipId);
@@ -59,9 +81,9 @@ public class PayrollController {
 
     // Endpoint to approve all pending payslips for a specific month/year
     @PutMapping("/approve/period/{year}/{month}")
-    @PreAuthorize("hasRole(	ADMIN	)")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> approvePayrollPeriod(@PathVariable int year, @PathVariable int month) {
-        try {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
             logger.info("Received request to approve payroll for period {}/{}", month, year);
             List<PayslipDTO> approvedPayslips = payrollService.approvePayroll(month, year);
              if (approvedPayslips.isEmpty()) {
@@ -74,6 +96,67 @@ public class PayrollController {
         }
     }
 
+    // Endpoint to notify every employee paid in a specific month/year
+    @PostMapping("/notify/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Send payslip notifications", description = "Notifies every employee with a payslip in the period")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Notifications sent"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<MessageDTO>> sendPayslipNotifications(
+            @Parameter(description = "Year") @PathVariable int year,
+            @Parameter(description = "Month (1-12)") @PathVariable int month) {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            logger.info("Received request to send payslip notifications for {}/{}", month, year);
+            return ResponseEntity.ok(messageService.sendPayslipNotifications(month, year));
+        }
+    }
+
+    @GetMapping("/payslips/period/{month}/{year}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get payslips by period", description = "Retrieves a page of payslips for a specific period")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payslips retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Page<PayslipDTO>> getPayslipsByPeriod(
+            @Parameter(description = "Month (1-12)") @PathVariable Integer month,
+            @Parameter(description = "Year") @PathVariable Integer year,
+            Pageable pageable) {
+        return ResponseEntity.ok(payrollService.getPayslipsByPeriod(month, year, pageable));
+    }
+
+    @GetMapping("/payslips/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Search payslips", description = "Searches payslips by keyword")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Keyword shorter than 3 characters"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Page<PayslipDTO>> searchPayslips(
+            @Parameter(description = "Search keyword, at least 3 characters") @RequestParam String keyword,
+            Pageable pageable) {
+        return ResponseEntity.ok(payrollService.searchPayslips(keyword, pageable));
+    }
+
+    @GetMapping("/payslips/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isPayslipOwner(authentication, #id)")
+    @Operation(summary = "Get payslip by ID", description = "Retrieves a payslip, answering 304 when the client's copy is current")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payslip found"),
+        @ApiResponse(responseCode = "304", description = "Payslip not modified"),
+        @ApiResponse(responseCode = "404", description = "Payslip not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<PayslipDTO> getPayslipById(
+            @Parameter(description = "Payslip ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalRequests.respond(webRequest, entityVersionService.getPayslipVersion(id),
+                () -> payrollService.getPayslipById(id));
+    }
+
     @GetMapping("/payslips/count/period/{month}/{year}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     @Operation(summary = "Count payslips by period", description = "Counts payslips by period")
@@ -98,7 +181,7 @@ public class PayrollController {
     public ResponseEntity<BigDecimal> getTotalSalaryByPeriod(
             @Parameter(description = "Month (1-12)") @PathVariable Integer month,
             @Parameter(description = "Year") @PathVariable Integer year) {
-        BigDecimal totalSalary = payrollService.getTotalSalaryByPeriod(month, year);
+        BigDecimal totalSalary = payrollService.getTotalNetSalaryByPeriod(month, year);
         return ResponseEntity.ok(totalSalary);
     }
     
@@ -0,0 +1,55 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.enums.ExportFormat;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.PayrollExportService;
+
+@RestController
+@RequestMapping("/api/v1/payroll/export")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Export", description = "APIs for downloading the payroll register")
+public class PayrollExportController {
+
+    private static final MediaType XLSX = MediaType.parseMediaType(
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final PayrollExportService payrollExportService;
+
+    @GetMapping("/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Export payroll register", description = "Streams the payroll register of a period as CSV or XLSX")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Register streamed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<StreamingResponseBody> exportRegister(
+            @Parameter(description = "Year") @PathVariable Integer year,
+            @Parameter(description = "Month") @PathVariable Integer month,
+            @Parameter(description = "CSV or XLSX") @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        String filename = String.format("payroll-register-%d-%02d.%s", year, month, format.name().toLowerCase());
+        StreamingResponseBody body = outputStream -> {
+            try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.REPORTING)) {
+                payrollExportService.exportRegister(month, year, format, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.XLSX ? XLSX : new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,39 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.dto.PayrollSimulationDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationRequestDTO;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.PayrollSimulationService;
+
+@RestController
+@RequestMapping("/api/v1/payroll/simulations")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Simulation", description = "APIs for what-if payroll runs that persist nothing")
+public class PayrollSimulationController {
+
+    private final PayrollSimulationService payrollSimulationService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Simulate proposed rates", description = "Calculates every active employee's monthly payslip under the current and the proposed rates and tax brackets, and returns the totals, their difference and the most affected employees. Both sides use the monthly tax method; when payroll runs the cumulative method (payrollTaxMethod CUMULATIVE) the current side is an estimate and does not match the issued payslips")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Simulation completed"),
+        @ApiResponse(responseCode = "400", description = "Invalid rates or tax brackets"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<PayrollSimulationDTO> simulate(@Valid @RequestBody PayrollSimulationRequestDTO request) {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.REPORTING)) {
+            return ResponseEntity.ok(payrollSimulationService.simulate(request));
+        }
+    }
+}
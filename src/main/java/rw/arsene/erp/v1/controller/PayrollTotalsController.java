@@ -0,0 +1,61 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.arsene.erp.v1.dto.PayrollTotalsDTO;
+import rw.arsene.erp.v1.service.PayrollTotalsService;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/payroll/totals")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Totals", description = "APIs for year-to-date and multi-period payroll totals per employee")
+public class PayrollTotalsController {
+
+    private final PayrollTotalsService payrollTotalsService;
+
+    @GetMapping("/{employeeId}/ytd")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isCurrentUser(#employeeId)")
+    @Operation(summary = "Get year-to-date totals", description = "Returns an employee's payroll totals from January through the month (the current month by default)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totals retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid month"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Employee not found")
+    })
+    public ResponseEntity<PayrollTotalsDTO> getYearToDate(
+            @Parameter(description = "Employee ID") @PathVariable Long employeeId,
+            @Parameter(description = "Year") @RequestParam(required = false) Integer year,
+            @Parameter(description = "Last month included (1-12)") @RequestParam(required = false) Integer month) {
+        YearMonth now = YearMonth.now();
+        return ResponseEntity.ok(payrollTotalsService.getYearToDate(employeeId,
+                year != null ? year : now.getYear(),
+                month != null ? month : year == null ? now.getMonthValue() : 12));
+    }
+
+    @GetMapping("/{employeeId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isCurrentUser(#employeeId)")
+    @Operation(summary = "Get totals for a period range", description = "Returns an employee's payroll totals over an inclusive range of months, which may span years")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totals retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period range"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Employee not found")
+    })
+    public ResponseEntity<PayrollTotalsDTO> getTotals(
+            @Parameter(description = "Employee ID") @PathVariable Long employeeId,
+            @Parameter(description = "First year") @RequestParam Integer fromYear,
+            @Parameter(description = "First month (1-12)") @RequestParam(defaultValue = "1") Integer fromMonth,
+            @Parameter(description = "Last year") @RequestParam Integer toYear,
+            @Parameter(description = "Last month (1-12)") @RequestParam(defaultValue = "12") Integer toMonth) {
+        return ResponseEntity.ok(payrollTotalsService.getTotals(employeeId, fromYear, fromMonth, toYear, toMonth));
+    }
+}
@@ -19,8 +19,8 @@ public class PayslipController {
 
     // Get specific payslip by ID
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole(	ADMIN	) or hasRole(	MANAGER	) or @securityService.isPayslipOwner(authentication, #id)") // Requires SecurityService bean
-    public ResponseEntity<PayslipDTO> getPayslipById(@PathVariable String id) {
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isPayslipOwner(authentication, #id)") // Requires SecurityService bean
+    public ResponseEntity<PayslipDTO> getPayslipById(@PathVariable Long id) {
         return payslipService.getPayslipById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -28,7 +28,7 @@ public class PayslipController {
 
     // Get payslips for a specific employee
     @GetMapping("/employee/{employeeCode}")
-    @PreAuthorize("hasRole(	ADMIN	) or hasRole(	MANAGER	) or @securityService.isOwner(authentication, #employeeCode)") // Requires SecurityService bean
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isOwner(authentication, #employeeCode)") // Requires SecurityService bean
     public ResponseEntity<List<PayslipDTO>> getPayslipsByEmployee(@PathVariable String employeeCode) {
         List<PayslipDTO> payslips = payslipService.getPayslipsByEmployee(employeeCode);
         return ResponseEntity.ok(payslips);
@@ -36,7 +36,7 @@ public class PayslipController {
 
     // Get payslips for a specific month/year (Admin/Manager only)
     @GetMapping("/period/{year}/{month}")
-    @PreAuthorize("hasRole(	ADMIN	) or hasRole(	MANAGER	)")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
     public ResponseEntity<List<PayslipDTO>> getPayslipsByMonthYear(@PathVariable int year, @PathVariable int month) {
         List<PayslipDTO> payslips = payslipService.getPayslipsByMonthYear(month, year);
         return ResponseEntity.ok(payslips);
@@ -44,7 +44,7 @@ public class PayslipController {
 
     // Get all payslips (Admin/Manager only)
     @GetMapping
-    @PreAuthorize("hasRole(	ADMIN	) or hasRole(	MANAGER	)")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
     public ResponseEntity<List<PayslipDTO>> getAllPayslips() {
         List<PayslipDTO> payslips = payslipService.getAllPayslips();
         return ResponseEntity.ok(payslips);
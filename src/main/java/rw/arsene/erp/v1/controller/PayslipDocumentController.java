@@ -0,0 +1,98 @@
+package rw.arsene.erp.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.document.PayslipDocument;
+import rw.arsene.erp.v1.dto.DocumentBatchReportDTO;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.service.PayslipDocumentService;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/payslips/documents")
+@RequiredArgsConstructor
+@Tag(name = "Payslip Documents", description = "APIs for rendering payslip PDFs")
+public class PayslipDocumentController {
+
+    private final PayslipDocumentService payslipDocumentService;
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @securityService.isPayslipOwner(authentication, #id)")
+    @Operation(summary = "Download payslip PDF", description = "Returns a payslip as PDF, served from the document cache once approved")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payslip rendered successfully"),
+        @ApiResponse(responseCode = "304", description = "Cached copy is still current"),
+        @ApiResponse(responseCode = "404", description = "Payslip not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Resource> downloadPayslip(
+            @Parameter(description = "Payslip ID") @PathVariable Long id,
+            WebRequest webRequest) throws IOException {
+        PayslipDocument document = payslipDocumentService.getPayslipDocument(id);
+        if (document.getEtag() != null && webRequest.checkNotModified(document.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(document.getEtag()).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(document.getFileName()).build().toString());
+        if (document.getEtag() != null) {
+            response.eTag(document.getEtag());
+        }
+        return response.body(document.getContent());
+    }
+
+    @PostMapping("/period/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Render period payslips", description = "Renders every payslip of a period to the document store")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payslips rendered successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<DocumentBatchReportDTO> renderPeriod(
+            @Parameter(description = "Year") @PathVariable Integer year,
+            @Parameter(description = "Month") @PathVariable Integer month) throws IOException {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            return ResponseEntity.ok(payslipDocumentService.renderPeriodToStore(month, year));
+        }
+    }
+
+    @GetMapping("/period/{year}/{month}/zip")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Download period payslips as ZIP", description = "Streams every payslip of a period as PDFs inside a ZIP archive")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archive streamed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<StreamingResponseBody> downloadPeriod(
+            @Parameter(description = "Year") @PathVariable Integer year,
+            @Parameter(description = "Month") @PathVariable Integer month) {
+        String filename = String.format("payslips-%d-%02d.zip", year, month);
+        StreamingResponseBody body = outputStream -> {
+            try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+                payslipDocumentService.renderPeriodToZip(month, year, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
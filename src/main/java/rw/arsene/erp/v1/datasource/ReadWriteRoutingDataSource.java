@@ -0,0 +1,66 @@
+package rw.arsene.erp.v1.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to an available replica, round robin, and everything else to the
+ * primary. The lookup happens when a connection is first requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * connection is taken before the transaction is marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<ReplicaTarget> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaTarget> replicas) {
+        this.replicas = List.copyOf(replicas);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaTarget replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable()) {
+                return replica.getName();
+            }
+        }
+        // Every replica is down or lagging: serve reads from the primary
+        return PRIMARY;
+    }
+
+    public List<ReplicaTarget> getReplicas() {
+        return replicas;
+    }
+
+    // The primary pool is a bean of its own; replica pools are owned here
+    @Override
+    public void destroy() {
+        for (ReplicaTarget replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+}
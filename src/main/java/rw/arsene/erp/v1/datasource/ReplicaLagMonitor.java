@@ -0,0 +1,70 @@
+package rw.arsene.erp.v1.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Periodically measures replication lag on each replica and takes replicas out of rotation
+ * when they fall behind or stop answering. With a blank lag query (e.g. H2 stand-ins) replicas
+ * only need to accept connections.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final List<ReplicaTarget> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, String lagQuery, double maxLagSeconds) {
+        this.replicas = routingDataSource.getReplicas();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaTarget replica : replicas) {
+            check(replica);
+        }
+    }
+
+    private void check(ReplicaTarget replica) {
+        boolean wasAvailable = replica.isAvailable();
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            double lag = measureLag(connection);
+            replica.setLagSeconds(lag);
+            replica.setAvailable(lag <= maxLagSeconds);
+        } catch (SQLException e) {
+            replica.setAvailable(false);
+            if (wasAvailable) {
+                log.warn("Replica {} is unreachable, routing reads to the primary: {}", replica.getName(), e.getMessage());
+            }
+            return;
+        }
+
+        if (wasAvailable != replica.isAvailable()) {
+            if (replica.isAvailable()) {
+                log.info("Replica {} is back in rotation (lag {}s)", replica.getName(), replica.getLagSeconds());
+            } else {
+                log.warn("Replica {} lags {}s behind the primary, taking it out of rotation",
+                        replica.getName(), replica.getLagSeconds());
+            }
+        }
+    }
+
+    private double measureLag(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return connection.isValid(2) ? 0 : Double.MAX_VALUE;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package rw.arsene.erp.v1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A read replica with its own connection pool. Replicas start unavailable and only receive
+ * read-only transactions once the lag monitor has seen them within the allowed lag.
+ */
+@Getter
+public class ReplicaTarget {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    @Setter
+    private volatile boolean available;
+
+    @Setter
+    private volatile double lagSeconds = -1;
+
+    public ReplicaTarget(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+}
@@ -0,0 +1,53 @@
+package rw.arsene.erp.v1.datasource;
+
+import rw.arsene.erp.v1.enums.Workload;
+
+/**
+ * Tags the current thread with the workload whose connection pool it should use. Scopes must be
+ * opened before the transaction starts (in controllers or task wrappers), since the pool is
+ * chosen when the first statement of a transaction needs a connection.
+ *
+ * <pre>
+ * try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+ *     payrollService.generatePayroll(month, year);
+ * }
+ * </pre>
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.API;
+    }
+
+    public static Scope open(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static Runnable wrap(Workload workload, Runnable task) {
+        return () -> {
+            try (Scope ignored = open(workload)) {
+                task.run();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,26 @@
+package rw.arsene.erp.v1.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import rw.arsene.erp.v1.enums.Workload;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the connection pool of the current {@link WorkloadContext}, so month-end batches and
+ * report exports wait on their own pools instead of taking connections from API requests.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(EnumMap<Workload, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.API));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
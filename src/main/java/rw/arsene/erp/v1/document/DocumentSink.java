@@ -0,0 +1,13 @@
+package rw.arsene.erp.v1.document;
+
+import java.io.IOException;
+
+/**
+ * Receives rendered documents one at a time on the thread driving the batch, so sinks such as
+ * a ZIP stream do not need to be thread safe.
+ */
+@FunctionalInterface
+public interface DocumentSink {
+
+    void accept(RenderedDocument document) throws IOException;
+}
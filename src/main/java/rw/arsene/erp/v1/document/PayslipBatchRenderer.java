@@ -0,0 +1,87 @@
+package rw.arsene.erp.v1.document;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.DocumentBatchReportDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Fans a period snapshot out over the document worker pool. At most a fixed window of
+ * documents is rendered ahead of the sink, so memory stays bounded however large the period.
+ */
+@Component
+@Slf4j
+public class PayslipBatchRenderer {
+
+    private final PayslipPdfRenderer renderer;
+    private final ThreadPoolTaskExecutor documentExecutor;
+
+    public PayslipBatchRenderer(PayslipPdfRenderer renderer,
+                                @Qualifier("documentExecutor") ThreadPoolTaskExecutor documentExecutor) {
+        this.renderer = renderer;
+        this.documentExecutor = documentExecutor;
+    }
+
+    public DocumentBatchReportDTO render(List<PayslipDTO> snapshot, DocumentSink sink) throws IOException {
+        int window = documentExecutor.getMaxPoolSize() * 2;
+        CompletionService<RenderedDocument> completion = new ExecutorCompletionService<>(documentExecutor.getThreadPoolExecutor());
+        List<Future<RenderedDocument>> inFlight = new ArrayList<>(window);
+
+        long start = System.nanoTime();
+        long pages = 0;
+        int submitted = 0;
+        int completed = 0;
+        Iterator<PayslipDTO> pending = snapshot.iterator();
+        boolean finished = false;
+        try {
+            while (completed < snapshot.size()) {
+                while (pending.hasNext() && submitted - completed < window) {
+                    PayslipDTO payslip = pending.next();
+                    inFlight.add(completion.submit(() -> renderer.render(payslip)));
+                    submitted++;
+                }
+
+                Future<RenderedDocument> done = completion.take();
+                inFlight.remove(done);
+                RenderedDocument document = done.get();
+                sink.accept(document);
+                pages += document.getPages();
+                completed++;
+            }
+            finished = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering payslips", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render payslip", e.getCause());
+        } finally {
+            if (!finished) {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        double pagesPerSecond = pages * 1000.0 / elapsedMillis;
+        log.info("Rendered {} payslips ({} pages) in {} ms, {} pages/s",
+                completed, pages, elapsedMillis, String.format("%.1f", pagesPerSecond));
+
+        return DocumentBatchReportDTO.builder()
+                .documents(completed)
+                .pages(pages)
+                .elapsedMillis(elapsedMillis)
+                .pagesPerSecond(pagesPerSecond)
+                .workerThreads(documentExecutor.getMaxPoolSize())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package rw.arsene.erp.v1.document;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+
+/**
+ * A payslip PDF ready to be served. The ETag is only set for cached documents, whose bytes
+ * never change for a given content key.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PayslipDocument {
+
+    private final String fileName;
+    private final Resource content;
+    private final String etag;
+}
@@ -0,0 +1,135 @@
+package rw.arsene.erp.v1.document;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Content-addressed store for rendered payslips: {@code <directory>/<payslipId>/<sha256>.pdf},
+ * where the hash covers every field printed on the document plus the layout version. Those are
+ * all columns of the payslip itself: the employee code and name, department and position are the
+ * values snapshotted when it was issued, so a later rename, transfer or promotion neither changes
+ * the document nor invalidates the cached file. A changed payslip never matches a stale file;
+ * stale siblings are removed when a new version is stored or when an unpaid payslip changes.
+ */
+@Component
+@Slf4j
+public class PayslipDocumentCache {
+
+    private static final String EXTENSION = ".pdf";
+
+    private final Path directory;
+
+    public PayslipDocumentCache(@Value("${app.documents.cache-directory:./data/payslip-cache}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    public boolean isCacheable(PayslipDTO payslip) {
+        return payslip.getStatus() == PayslipStatus.APPROVED || payslip.getStatus() == PayslipStatus.PAID;
+    }
+
+    public String contentKey(PayslipDTO payslip) {
+        StringBuilder fields = new StringBuilder(256)
+                .append(PayslipPdfRenderer.LAYOUT_VERSION).append('|')
+                .append(payslip.getId()).append('|')
+                .append(payslip.getEmployeeCode()).append('|')
+                .append(payslip.getEmployeeName()).append('|')
+                .append(payslip.getDepartment()).append('|')
+                .append(payslip.getPosition()).append('|')
+                .append(payslip.getMonth()).append('|')
+                .append(payslip.getYear()).append('|')
+                .append(payslip.getStatus()).append('|');
+        for (BigDecimal amount : new BigDecimal[] {
+                payslip.getBaseSalary(), payslip.getHouseAmount(), payslip.getTransportAmount(),
+                payslip.getGrossSalary(), payslip.getEmployeeTaxed(), payslip.getPensionAmount(),
+                payslip.getMedicalInsurance(), payslip.getOtherTaxed(), payslip.getTotalDeductions(),
+                payslip.getNetSalary()}) {
+            // As printed, so a value read back from the database at another scale keeps the key
+            fields.append(amount != null ? String.format(Locale.ROOT, "%.2f", amount) : "").append('|');
+        }
+        return HexFormat.of().formatHex(sha256().digest(fields.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public Optional<Path> find(Long payslipId, String contentKey) {
+        Path path = pathFor(payslipId, contentKey);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Path store(Long payslipId, String contentKey, byte[] content) throws IOException {
+        Path folder = directory.resolve(payslipId.toString());
+        Files.createDirectories(folder);
+
+        // Write then rename so concurrent readers never see a partial file
+        Path target = pathFor(payslipId, contentKey);
+        Path temp = Files.createTempFile(folder, contentKey, ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        deleteSiblings(folder, target);
+        return target;
+    }
+
+    public void evict(Long payslipId) {
+        Path folder = directory.resolve(payslipId.toString());
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        deleteSiblings(folder, null);
+        try {
+            Files.deleteIfExists(folder);
+        } catch (IOException e) {
+            log.warn("Could not remove payslip cache folder {}: {}", folder, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayslipChanged(PayslipChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED || event.getStatus() != PayslipStatus.PAID) {
+            evict(event.getPayslipId());
+        }
+    }
+
+    private Path pathFor(Long payslipId, String contentKey) {
+        return directory.resolve(payslipId.toString()).resolve(contentKey + EXTENSION);
+    }
+
+    private void deleteSiblings(Path folder, Path keep) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(folder)) {
+            for (Path entry : entries) {
+                if (!entry.equals(keep)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean payslip cache folder {}: {}", folder, e.getMessage());
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package rw.arsene.erp.v1.document;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Renders a single payslip to PDF. Fonts and the row layout are built once and shared by all
+ * worker threads; only the per-document objects are created on each call.
+ */
+@Component
+public class PayslipPdfRenderer {
+
+    // Bump when the layout changes so cached documents are re-rendered
+    public static final int LAYOUT_VERSION = 1;
+
+    private static final float[] TWO_COLUMNS = {3f, 2f};
+    private static final int INITIAL_BUFFER = 8 * 1024;
+
+    private final Font titleFont;
+    private final Font headingFont;
+    private final Font labelFont;
+    private final Font valueFont;
+    private final Font totalFont;
+
+    private final List<LayoutRow> earnings = List.of(
+            new LayoutRow("Base Salary", PayslipDTO::getBaseSalary),
+            new LayoutRow("House Allowance", PayslipDTO::getHouseAmount),
+            new LayoutRow("Transport Allowance", PayslipDTO::getTransportAmount));
+
+    private final List<LayoutRow> deductions = List.of(
+            new LayoutRow("Employee Tax", PayslipDTO::getEmployeeTaxed),
+            new LayoutRow("Pension", PayslipDTO::getPensionAmount),
+            new LayoutRow("Medical Insurance", PayslipDTO::getMedicalInsurance),
+            new LayoutRow("Other Taxes", PayslipDTO::getOtherTaxed));
+
+    public PayslipPdfRenderer() throws IOException {
+        // Standard Type 1 fonts are not embedded, which keeps every document small
+        BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        this.titleFont = new Font(bold, 16);
+        this.headingFont = new Font(bold, 11);
+        this.labelFont = new Font(regular, 10);
+        this.valueFont = new Font(regular, 10);
+        this.totalFont = new Font(bold, 11);
+    }
+
+    public RenderedDocument render(PayslipDTO payslip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER);
+        Document document = new Document(PageSize.A4, 48, 48, 48, 48);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            document.open();
+
+            Paragraph title = new Paragraph("Payslip " + payslip.getPeriodString(), titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(16);
+            document.add(title);
+
+            PdfPTable employee = table();
+            row(employee, "Employee", payslip.getEmployeeName(), labelFont, valueFont);
+            row(employee, "Employee Code", payslip.getEmployeeCode(), labelFont, valueFont);
+            row(employee, "Department", payslip.getDepartment(), labelFont, valueFont);
+            row(employee, "Position", payslip.getPosition(), labelFont, valueFont);
+            row(employee, "Status", payslip.getStatus().name(), labelFont, valueFont);
+            document.add(employee);
+
+            document.add(section("Earnings", earnings, payslip, "Gross Salary", payslip.getGrossSalary()));
+            document.add(section("Deductions", deductions, payslip, "Total Deductions", payslip.getTotalDeductions()));
+
+            PdfPTable net = table();
+            row(net, "Net Salary", amount(payslip.getNetSalary()), totalFont, totalFont);
+            document.add(net);
+
+            int pages = writer.getPageNumber();
+            document.close();
+            return new RenderedDocument(payslip.getId(), fileName(payslip), out.toByteArray(), pages);
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Failed to render payslip " + payslip.getId(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    public String fileName(PayslipDTO payslip) {
+        return String.format("payslip-%s-%d-%02d.pdf", payslip.getEmployeeCode(), payslip.getYear(), payslip.getMonth());
+    }
+
+    private PdfPTable section(String heading, List<LayoutRow> rows, PayslipDTO payslip, String totalLabel, BigDecimal total) {
+        PdfPTable table = table();
+        PdfPCell header = new PdfPCell(new Phrase(heading, headingFont));
+        header.setColspan(2);
+        header.setBorder(Rectangle.BOTTOM);
+        header.setPaddingTop(12);
+        header.setPaddingBottom(4);
+        table.addCell(header);
+        for (LayoutRow row : rows) {
+            row(table, row.label(), amount(row.value().apply(payslip)), labelFont, valueFont);
+        }
+        row(table, totalLabel, amount(total), headingFont, headingFont);
+        return table;
+    }
+
+    private PdfPTable table() {
+        PdfPTable table = new PdfPTable(TWO_COLUMNS);
+        table.setWidthPercentage(100);
+        return table;
+    }
+
+    private void row(PdfPTable table, String label, String value, Font labelStyle, Font valueStyle) {
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, labelStyle));
+        labelCell.setBorder(Rectangle.NO_BORDER);
+        labelCell.setPadding(3);
+        table.addCell(labelCell);
+
+        PdfPCell valueCell = new PdfPCell(new Phrase(value != null ? value : "", valueStyle));
+        valueCell.setBorder(Rectangle.NO_BORDER);
+        valueCell.setPadding(3);
+        valueCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        table.addCell(valueCell);
+    }
+
+    private String amount(BigDecimal value) {
+        return value != null ? String.format(Locale.ROOT, "%,.2f", value) : "";
+    }
+
+    private record LayoutRow(String label, Function<PayslipDTO, BigDecimal> value) {
+    }
+}
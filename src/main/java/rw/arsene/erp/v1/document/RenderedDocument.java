@@ -0,0 +1,14 @@
+package rw.arsene.erp.v1.document;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class RenderedDocument {
+
+    private final Long payslipId;
+    private final String fileName;
+    private final byte[] content;
+    private final int pages;
+}
@@ -0,0 +1,38 @@
+package rw.arsene.erp.v1.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+import rw.arsene.erp.v1.enums.BankFileStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankPaymentFileDTO {
+
+    private Long id;
+    private String reference;
+    private Integer month;
+    private Integer year;
+    private BankFileFormat format;
+    private BankFileStatus status;
+    private Long transactionCount;
+    private BigDecimal controlSum;
+    private String checksum;
+
+    // Approved payslips of the period left out because the employee has no bank account
+    private Long skippedPayslips;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime acknowledgedAt;
+}
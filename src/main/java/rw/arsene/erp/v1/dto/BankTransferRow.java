@@ -0,0 +1,19 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class BankTransferRow {
+
+    private Long payslipId;
+    private String employeeCode;
+    private String firstName;
+    private String lastName;
+    private String bankAccountNumber;
+    private String bankCode;
+    private BigDecimal netSalary;
+}
@@ -0,0 +1,16 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DictionaryEntryDTO {
+
+    private String value;
+    private long count;
+}
@@ -0,0 +1,24 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rw.arsene.erp.v1.enums.EmployeeStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DirectoryEntryDTO {
+
+    private Long employeeId;
+    private String code;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String mobile;
+    private EmployeeStatus status;
+    private String department;
+    private String position;
+}
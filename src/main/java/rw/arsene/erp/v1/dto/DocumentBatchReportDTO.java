@@ -0,0 +1,24 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentBatchReportDTO {
+
+    private Integer month;
+    private Integer year;
+    private long documents;
+    private long pages;
+    private long elapsedMillis;
+    private double pagesPerSecond;
+    private int workerThreads;
+
+    // Directory the documents were written to, when rendered to the file store
+    private String location;
+}
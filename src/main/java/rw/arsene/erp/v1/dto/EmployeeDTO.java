@@ -52,6 +52,12 @@ public class EmployeeDTO {
     @NotNull(message = "Status is required")
     private EmployeeStatus status;
     
+    @Size(max = 34, message = "Bank account number must not exceed 34 characters")
+    private String bankAccountNumber;
+    
+    @Size(max = 11, message = "Bank code must not exceed 11 characters")
+    private String bankCode;
+    
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
     
@@ -0,0 +1,46 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Version of an entity read endpoint, built by projection queries from the update timestamps
+ * of the entity and of any entity embedded in its DTO. The ETag is precise to the millisecond,
+ * so two updates within the same second still change it; {@code Last-Modified} can only carry
+ * whole seconds.
+ */
+public class EntityVersion {
+
+    @Getter
+    private final Long id;
+    private final long modifiedAt;
+
+    public EntityVersion(Long id, LocalDateTime updatedAt) {
+        this(id, updatedAt, null);
+    }
+
+    public EntityVersion(Long id, LocalDateTime updatedAt, LocalDateTime relatedUpdatedAt) {
+        this.id = id;
+        this.modifiedAt = Math.max(toEpochMilli(updatedAt), toEpochMilli(relatedUpdatedAt));
+    }
+
+    public EntityVersion(Long id, Date updatedAt, LocalDateTime relatedUpdatedAt) {
+        this.id = id;
+        this.modifiedAt = Math.max(updatedAt != null ? updatedAt.getTime() : 0, toEpochMilli(relatedUpdatedAt));
+    }
+
+    public long getLastModified() {
+        return modifiedAt / 1000 * 1000;
+    }
+
+    public String getEtag() {
+        return "W/\"" + id + "-" + Long.toHexString(modifiedAt) + "\"";
+    }
+
+    private static long toEpochMilli(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+}
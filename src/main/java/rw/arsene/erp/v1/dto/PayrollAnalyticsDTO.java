@@ -0,0 +1,23 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rw.arsene.erp.v1.enums.AnalyticsDimension;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollAnalyticsDTO {
+
+    private List<AnalyticsDimension> groupBy;
+    private List<PayrollAnalyticsRowDTO> rows;
+
+    // Payslip facts held by the cube and the time the query took in it
+    private long facts;
+    private long elapsedMicros;
+}
@@ -0,0 +1,32 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollAnalyticsRowDTO {
+
+    // Dimensions that were not grouped by are left out
+    private Integer year;
+    private Integer month;
+    private String department;
+    private String position;
+    private PayslipStatus status;
+
+    private long payslips;
+    private BigDecimal grossSalary;
+    private BigDecimal netSalary;
+    private BigDecimal totalDeductions;
+    private BigDecimal employeeTaxed;
+    private BigDecimal pensionAmount;
+    private BigDecimal medicalInsurance;
+    private BigDecimal otherTaxed;
+}
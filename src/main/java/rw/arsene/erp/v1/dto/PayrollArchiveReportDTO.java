@@ -0,0 +1,24 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollArchiveReportDTO {
+
+    private Integer year;
+    private long payslipsArchived;
+    private long messagesArchived;
+
+    // Payslips of the year that are not PAID stay in the database
+    private long payslipsKept;
+
+    // Total payslips of the year held by the archive after this run
+    private long archivedTotal;
+    private long elapsedMillis;
+}
@@ -0,0 +1,33 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat row of the payroll register, selected with a constructor expression so the export
+ * never loads Payslip or Employee entities.
+ */
+@Getter
+@AllArgsConstructor
+public class PayrollRegisterRow {
+
+    private String employeeCode;
+    private String employeeName;
+    private String email;
+    private String department;
+    private String position;
+    private BigDecimal baseSalary;
+    private BigDecimal houseAmount;
+    private BigDecimal transportAmount;
+    private BigDecimal grossSalary;
+    private BigDecimal employeeTaxed;
+    private BigDecimal pensionAmount;
+    private BigDecimal medicalInsurance;
+    private BigDecimal otherTaxed;
+    private BigDecimal totalDeductions;
+    private BigDecimal netSalary;
+    private PayslipStatus status;
+}
@@ -0,0 +1,37 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rw.arsene.erp.v1.enums.TaxMethod;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationDTO {
+
+    private long employees;
+
+    // Both sides are taxed month by month (taxMethod is always MONTHLY). When payroll runs
+    // CUMULATIVE (payrollTaxMethod), the current side is an estimate and differs from issued payslips
+    private TaxMethod taxMethod;
+    private TaxMethod payrollTaxMethod;
+
+    // Employees whose net salary changes, and those whose net salary drops
+    private long employeesAffected;
+    private long employeesWorseOff;
+
+    private PayrollSimulationTotalsDTO current;
+    private PayrollSimulationTotalsDTO proposed;
+
+    // Proposed minus current
+    private PayrollSimulationTotalsDTO delta;
+
+    // Largest net salary changes first
+    private List<PayrollSimulationImpactDTO> topAffected;
+    private long elapsedMillis;
+}
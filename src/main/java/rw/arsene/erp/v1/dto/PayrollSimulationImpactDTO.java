@@ -0,0 +1,27 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationImpactDTO {
+
+    private Long employeeId;
+    private String employeeCode;
+    private String employeeName;
+    private String department;
+    private BigDecimal baseSalary;
+
+    private BigDecimal currentNetSalary;
+    private BigDecimal proposedNetSalary;
+    private BigDecimal netSalaryDelta;
+    private BigDecimal currentEmployeeTaxed;
+    private BigDecimal proposedEmployeeTaxed;
+}
@@ -0,0 +1,55 @@
+package rw.arsene.erp.v1.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Proposed payroll rates for a simulation. Rates are percentages like Deduction.percentage;
+ * anything left out keeps its current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationRequestDTO {
+
+    @DecimalMin(value = "0.0", message = "Pension rate must be greater than or equal to 0")
+    @DecimalMax(value = "100.0", message = "Pension rate must be less than or equal to 100")
+    private BigDecimal pensionRate;
+
+    @DecimalMin(value = "0.0", message = "Medical insurance rate must be greater than or equal to 0")
+    @DecimalMax(value = "100.0", message = "Medical insurance rate must be less than or equal to 100")
+    private BigDecimal medicalInsuranceRate;
+
+    @DecimalMin(value = "0.0", message = "House allowance rate must be greater than or equal to 0")
+    @DecimalMax(value = "100.0", message = "House allowance rate must be less than or equal to 100")
+    private BigDecimal houseAllowanceRate;
+
+    @DecimalMin(value = "0.0", message = "Transport allowance rate must be greater than or equal to 0")
+    @DecimalMax(value = "100.0", message = "Transport allowance rate must be less than or equal to 100")
+    private BigDecimal transportAllowanceRate;
+
+    // Monthly gross income exempt from tax
+    @DecimalMin(value = "0.0", message = "Tax exemption must be greater than or equal to 0")
+    private BigDecimal taxExemption;
+
+    // Replaces every bracket; ordered by limit, the last one without a limit
+    @Valid
+    private List<TaxBracketDTO> taxBrackets;
+
+    // Employees with the largest net salary change to list
+    @Min(value = 0, message = "Top N must be 0 or more")
+    @Max(value = 1000, message = "Top N must be 1000 or less")
+    @Builder.Default
+    private Integer topN = 20;
+}
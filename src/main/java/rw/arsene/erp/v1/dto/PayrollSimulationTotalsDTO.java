@@ -0,0 +1,23 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Monthly payroll totals over the simulated employees
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationTotalsDTO {
+
+    private BigDecimal grossSalary;
+    private BigDecimal employeeTaxed;
+    private BigDecimal pensionAmount;
+    private BigDecimal medicalInsurance;
+    private BigDecimal totalDeductions;
+    private BigDecimal netSalary;
+}
@@ -0,0 +1,32 @@
+package rw.arsene.erp.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollTotalsDTO {
+
+    private Long employeeId;
+
+    // Inclusive period range the totals cover
+    private Integer fromYear;
+    private Integer fromMonth;
+    private Integer toYear;
+    private Integer toMonth;
+
+    private long payslips;
+    private BigDecimal grossSalary;
+    private BigDecimal employeeTaxed;
+    private BigDecimal pensionAmount;
+    private BigDecimal medicalInsurance;
+    private BigDecimal otherTaxed;
+    private BigDecimal totalDeductions;
+    private BigDecimal netSalary;
+}
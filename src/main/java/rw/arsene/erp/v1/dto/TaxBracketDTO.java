@@ -0,0 +1,27 @@
+package rw.arsene.erp.v1.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxBracketDTO {
+
+    // Monthly taxable income after the exemption; null for the top bracket
+    @DecimalMin(value = "0.0", message = "Bracket limit must be greater than or equal to 0")
+    private BigDecimal upTo;
+
+    @NotNull(message = "Bracket rate is required")
+    @DecimalMin(value = "0.0", message = "Bracket rate must be greater than or equal to 0")
+    @DecimalMax(value = "100.0", message = "Bracket rate must be less than or equal to 100")
+    private BigDecimal rate;
+}
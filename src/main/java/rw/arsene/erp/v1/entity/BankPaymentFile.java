@@ -0,0 +1,66 @@
+package rw.arsene.erp.v1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+import rw.arsene.erp.v1.enums.BankFileStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bank_payment_files",
+       uniqueConstraints = @UniqueConstraint(columnNames = "reference"),
+       indexes = @Index(name = "idx_bank_payment_file_period", columnList = "year, month"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankPaymentFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 35)
+    private String reference;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BankFileFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BankFileStatus status = BankFileStatus.GENERATED;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal controlSum;
+
+    // Hex SHA-256 of the file as written
+    @Column(length = 64)
+    private String checksum;
+
+    @Column(nullable = false, length = 500)
+    private String storagePath;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime acknowledgedAt;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import rw.arsene.erp.v1.enums.EmployeeStatus;
@@ -49,7 +51,9 @@ public class Employee {
     @Column(nullable = false)
     private String password;
 
+    // Role ids per employee are cached; the roles themselves come from the reference.roles region
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.employee-roles")
     @JoinTable(
         name = "employee_roles",
         joinColumns = @JoinColumn(name = "employee_id"),
@@ -68,6 +72,13 @@ public class Employee {
     @Builder.Default
     private EmployeeStatus status = EmployeeStatus.ACTIVE;
 
+    // Salary account used for bank payment files
+    @Column(length = 34)
+    private String bankAccountNumber;
+
+    @Column(length = 11)
+    private String bankCode;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import rw.arsene.erp.v1.enums.MessageSentStatus;
 
 import java.time.LocalDateTime;
@@ -15,7 +16,8 @@ import java.time.LocalDateTime;
        indexes = {
            @Index(name = "idx_message_employee", columnList = "employee_id"),
            @Index(name = "idx_message_sent_at", columnList = "sentAt"),
-           @Index(name = "idx_message_status", columnList = "status")
+           @Index(name = "idx_message_status_sent_at", columnList = "status, sentAt"),
+           @Index(name = "idx_message_month_year_sent_at", columnList = "monthYear, sentAt")
        })
 @Data
 @NoArgsConstructor
@@ -46,6 +48,11 @@ public class Message {
     @Column(nullable = false, updatable = false)
     private LocalDateTime sentAt;
     
+    // Nullable so existing rows survive the schema update; versions fall back to sentAt
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+    
     @Column
     private String errorMessage;
     
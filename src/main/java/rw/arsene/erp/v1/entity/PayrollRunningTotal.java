@@ -0,0 +1,73 @@
+package rw.arsene.erp.v1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payroll totals of an employee from January up to and including {@code month}. Written only
+ * through the increments in PayrollRunningTotalRepository.
+ */
+@Entity
+@Table(name = "payroll_running_totals")
+@IdClass(PayrollRunningTotal.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunningTotal {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    private Integer year;
+
+    @Id
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer payslipCount;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal grossSalary;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal employeeTaxed;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal pensionAmount;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal medicalInsurance;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal otherTaxed;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal totalDeductions;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal netSalary;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private Integer year;
+        private Integer month;
+    }
+}
@@ -33,6 +33,19 @@ public class Payslip {
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
     
+    // Employee and employment the payslip was issued under; later changes leave it as it was
+    @Column(length = 20)
+    private String employeeCode;
+    
+    @Column(length = 201)
+    private String employeeName;
+    
+    @Column(length = 100)
+    private String department;
+    
+    @Column(length = 100)
+    private String position;
+    
     // Salary Components
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal baseSalary;
@@ -88,6 +101,11 @@ public class Payslip {
     @Column
     private LocalDateTime approvedAt;
     
+    // Bank payment file the net salary was released in; set while the file awaits acknowledgement
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_file_id")
+    private BankPaymentFile paymentFile;
+    
     // Helper methods
     public String getPeriodString() {
         return String.format("%02d/%d", month, year);
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import rw.arsene.erp.v1.enums.Role;
 
 @Entity
@@ -13,6 +15,7 @@ import rw.arsene.erp.v1.enums.Role;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.roles")
 public class RoleEntity {
 
     @Id
@@ -0,0 +1,9 @@
+package rw.arsene.erp.v1.enums;
+
+public enum AnalyticsDimension {
+    YEAR,
+    PERIOD,
+    DEPARTMENT,
+    POSITION,
+    STATUS
+}
@@ -0,0 +1,7 @@
+package rw.arsene.erp.v1.enums;
+
+public enum BankFileStatus {
+    GENERATED,
+    ACKNOWLEDGED,
+    CANCELLED
+}
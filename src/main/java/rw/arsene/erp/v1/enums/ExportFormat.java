@@ -0,0 +1,6 @@
+package rw.arsene.erp.v1.enums;
+
+public enum ExportFormat {
+    CSV,
+    XLSX
+}
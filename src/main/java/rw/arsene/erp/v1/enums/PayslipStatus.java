@@ -4,5 +4,6 @@ public enum PayslipStatus {
     PENDING,
     APPROVED,
     PAID,
+    REJECTED,
     CANCELLED
 }
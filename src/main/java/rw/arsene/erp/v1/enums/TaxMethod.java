@@ -0,0 +1,8 @@
+package rw.arsene.erp.v1.enums;
+
+public enum TaxMethod {
+    // Each month is taxed on its own against the monthly brackets
+    MONTHLY,
+    // Year-to-date income is taxed against the brackets for the months paid, less the tax already withheld
+    CUMULATIVE
+}
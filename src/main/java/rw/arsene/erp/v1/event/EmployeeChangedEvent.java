@@ -0,0 +1,15 @@
+package rw.arsene.erp.v1.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import rw.arsene.erp.v1.enums.ChangeType;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class EmployeeChangedEvent {
+
+    private final Long employeeId;
+    private final ChangeType changeType;
+}
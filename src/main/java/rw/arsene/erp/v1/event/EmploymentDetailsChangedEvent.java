@@ -0,0 +1,18 @@
+package rw.arsene.erp.v1.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import rw.arsene.erp.v1.enums.ChangeType;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class EmploymentDetailsChangedEvent {
+
+    private final Long employmentDetailsId;
+    private final Long employeeId;
+    private final String department;
+    private final String position;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,14 @@
+package rw.arsene.erp.v1.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class PayrollYearArchivedEvent {
+
+    private final Integer year;
+    private final long payslipsArchived;
+}
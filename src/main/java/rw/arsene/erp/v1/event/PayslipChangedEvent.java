@@ -0,0 +1,20 @@
+package rw.arsene.erp.v1.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class PayslipChangedEvent {
+
+    private final Long payslipId;
+    private final Long employeeId;
+    private final Integer month;
+    private final Integer year;
+    private final PayslipStatus status;
+    private final ChangeType changeType;
+}
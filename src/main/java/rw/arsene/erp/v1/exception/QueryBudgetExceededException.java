@@ -0,0 +1,8 @@
+package rw.arsene.erp.v1.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String route, int statements, int budget) {
+        super(String.format("%s issued %d SQL statements, budget is %d", route, statements, budget));
+    }
+}
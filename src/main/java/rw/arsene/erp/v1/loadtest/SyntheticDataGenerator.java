@@ -0,0 +1,221 @@
+package rw.arsene.erp.v1.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.payroll.SalaryBreakdown;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk loads a synthetic dataset for load tests. Employees, roles and employment details are
+ * generated server side with {@code generate_series}; payslips are computed with the production
+ * {@link PayrollCalculator} and written in JDBC batches (add {@code reWriteBatchedInserts=true}
+ * to the URL to turn them into multi-row inserts). PostgreSQL only.
+ *
+ * <p>Synthetic rows use the {@value #CODE_PREFIX} code prefix and are skipped when already
+ * present, so the generator can be re-run against the same database to grow a dataset.
+ *
+ * <p>The inserts bypass the services, so no change events are published: the running totals of
+ * the synthetic employees are recomputed here, and callers must rebuild the in-memory read
+ * models (directory, dictionary, analytics) afterwards.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String CODE_PREFIX = "LT";
+    public static final String EMAIL_DOMAIN = "@loadtest.erp.rw";
+    public static final String ADMIN_EMAIL = "admin" + EMAIL_DOMAIN;
+    public static final String MANAGER_EMAIL = "manager" + EMAIL_DOMAIN;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_EMPLOYEES =
+            "INSERT INTO employees (code, first_name, last_name, email, password, mobile, date_of_birth, status, " +
+            "bank_account_number, bank_code, created_at, updated_at) " +
+            "SELECT '" + CODE_PREFIX + "' || lpad(g::text, 8, '0'), 'Load', 'Employee ' || g, " +
+            "'employee' || g || '" + EMAIL_DOMAIN + "', ?, '09' || lpad(g::text, 8, '0'), " +
+            "DATE '1965-01-01' + (g % 12000), 'ACTIVE', lpad(g::text, 12, '0'), 'BKIGRWRW', now(), now() " +
+            "FROM generate_series(1, ?) g " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_USER =
+            "INSERT INTO employees (code, first_name, last_name, email, password, mobile, date_of_birth, status, " +
+            "created_at, updated_at) " +
+            "VALUES (?, 'Load', ?, ?, ?, ?, DATE '1980-01-01', 'ACTIVE', now(), now()) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_ROLES =
+            "INSERT INTO employee_roles (employee_id, role_id) " +
+            "SELECT e.id, r.id FROM employees e JOIN roles r ON r.name = " +
+            "CASE e.email WHEN '" + ADMIN_EMAIL + "' THEN 'ROLE_ADMIN' " +
+            "WHEN '" + MANAGER_EMAIL + "' THEN 'ROLE_MANAGER' ELSE 'ROLE_EMPLOYEE' END " +
+            "WHERE e.code LIKE '" + CODE_PREFIX + "%' " +
+            "AND NOT EXISTS (SELECT 1 FROM employee_roles er WHERE er.employee_id = e.id)";
+
+    // Salaries between 60,000 and 2,000,000 in steps of 100, spread by a multiplicative hash
+    private static final String INSERT_EMPLOYMENT_DETAILS =
+            "INSERT INTO employment_details (code, employee_id, department, position, base_salary, status, " +
+            "joining_date, created_at, updated_at) " +
+            "SELECT 'LTD' || substr(e.code, 3), e.id, 'Department ' || lpad((e.id % ?)::text, 3, '0'), " +
+            "'Position ' || (e.id % 12), 60000 + (e.id * 7919 % 19400) * 100, 'ACTIVE', " +
+            "DATE '2010-01-01' + (e.id % 5000)::int, now(), now() " +
+            "FROM employees e WHERE e.code LIKE '" + CODE_PREFIX + "%' " +
+            "AND NOT EXISTS (SELECT 1 FROM employment_details d WHERE d.employee_id = e.id)";
+
+    private static final String INSERT_DEDUCTION =
+            "INSERT INTO deductions (code, deduction_name, percentage, description, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 'Synthetic load test deduction', true, now(), now()) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String SELECT_EMPLOYMENTS =
+            "SELECT d.employee_id, d.base_salary, d.department, d.position, e.code, e.first_name || ' ' || e.last_name " +
+            "FROM employment_details d " +
+            "JOIN employees e ON e.id = d.employee_id " +
+            "WHERE e.code LIKE '" + CODE_PREFIX + "%' AND d.status = 'ACTIVE' ORDER BY d.employee_id";
+
+    private static final String INSERT_PAYSLIP =
+            "INSERT INTO payslips (employee_id, base_salary, house_amount, transport_amount, gross_salary, " +
+            "employee_taxed, pension_amount, medical_insurance, other_taxed, total_deductions, net_salary, " +
+            "month, year, status, created_at, updated_at, approved_at, department, position, employee_code, employee_name) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (employee_id, month, year) DO NOTHING";
+
+    private static final String DELETE_RUNNING_TOTALS =
+            "DELETE FROM payroll_running_totals t USING employees e " +
+            "WHERE e.id = t.employee_id AND e.code LIKE '" + CODE_PREFIX + "%'";
+
+    // Same window sums as the V4 backfill
+    private static final String INSERT_RUNNING_TOTALS =
+            "INSERT INTO payroll_running_totals (employee_id, year, month, payslip_count, gross_salary, " +
+            "employee_taxed, pension_amount, medical_insurance, other_taxed, total_deductions, net_salary, updated_at) " +
+            "SELECT p.employee_id, p.year, p.month, count(*) OVER period, sum(p.gross_salary) OVER period, " +
+            "sum(p.employee_taxed) OVER period, sum(p.pension_amount) OVER period, " +
+            "sum(p.medical_insurance) OVER period, sum(p.other_taxed) OVER period, " +
+            "sum(p.total_deductions) OVER period, sum(p.net_salary) OVER period, now() " +
+            "FROM payslips p JOIN employees e ON e.id = p.employee_id " +
+            "WHERE e.code LIKE '" + CODE_PREFIX + "%' AND p.status <> 'REJECTED' " +
+            "WINDOW period AS (PARTITION BY p.employee_id, p.year ORDER BY p.month)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PayrollCalculator payrollCalculator;
+
+    public void generate(SyntheticDataSpec spec, String password) {
+        long start = System.currentTimeMillis();
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            // One hash shared by every synthetic user keeps the load at bcrypt cost once
+            String passwordHash = passwordEncoder.encode(password);
+
+            insertUsers(passwordHash);
+            int employees = jdbcTemplate.update(INSERT_EMPLOYEES, passwordHash, spec.employees());
+            jdbcTemplate.update(INSERT_ROLES);
+            int details = jdbcTemplate.update(INSERT_EMPLOYMENT_DETAILS, spec.departments());
+            int deductions = insertDeductions(spec.deductions());
+            long payslips = insertPayslips(spec);
+            jdbcTemplate.update(DELETE_RUNNING_TOTALS);
+            int totals = jdbcTemplate.update(INSERT_RUNNING_TOTALS);
+
+            for (String table : List.of("employees", "employee_roles", "employment_details", "deductions", "payslips",
+                    "payroll_running_totals")) {
+                jdbcTemplate.execute("ANALYZE " + table);
+            }
+
+            log.info("Synthetic dataset loaded in {} ms: {} employees, {} employment details, {} deductions, {} payslips, "
+                    + "{} running totals", System.currentTimeMillis() - start, employees, details, deductions, payslips, totals);
+        }
+    }
+
+    private void insertUsers(String passwordHash) {
+        jdbcTemplate.update(INSERT_USER, CODE_PREFIX + "ADMIN", "Admin", ADMIN_EMAIL, passwordHash, "0800000001");
+        jdbcTemplate.update(INSERT_USER, CODE_PREFIX + "MANAGER", "Manager", MANAGER_EMAIL, passwordHash, "0800000002");
+    }
+
+    private int insertDeductions(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{
+                    String.format("%sDED%04d", CODE_PREFIX, i),
+                    "Load Test Deduction " + i,
+                    BigDecimal.valueOf(i % 20 + 1, 1)
+            });
+        }
+        int inserted = 0;
+        for (int updated : jdbcTemplate.batchUpdate(INSERT_DEDUCTION, rows)) {
+            inserted += Math.max(updated, 0);
+        }
+        return inserted;
+    }
+
+    private long insertPayslips(SyntheticDataSpec spec) {
+        if (spec.months() == 0) {
+            return 0;
+        }
+
+        Map<Long, Employment> employments = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_EMPLOYMENTS, rs -> {
+            employments.put(rs.getLong(1), new Employment(rs.getBigDecimal(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getString(6)));
+        });
+
+        // Many employees share a salary step, so compute each breakdown once
+        Map<BigDecimal, SalaryBreakdown> breakdowns = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long written = 0;
+
+        for (int offset = spec.months() - 1; offset >= 0; offset--) {
+            YearMonth period = spec.lastMonth().minusMonths(offset);
+            LocalDateTime created = period.atEndOfMonth().atTime(9, 0);
+            Timestamp createdAt = Timestamp.valueOf(created);
+            Timestamp approvedAt = Timestamp.valueOf(created.plusHours(8));
+
+            for (Map.Entry<Long, Employment> employee : employments.entrySet()) {
+                Employment employment = employee.getValue();
+                SalaryBreakdown b = breakdowns.computeIfAbsent(employment.baseSalary(), payrollCalculator::calculate);
+                batch.add(new Object[]{
+                        employee.getKey(), b.getBaseSalary(), b.getHouseAmount(), b.getTransportAmount(), b.getGrossSalary(),
+                        b.getEmployeeTaxed(), b.getPensionAmount(), b.getMedicalInsurance(), b.getOtherTaxed(),
+                        b.getTotalDeductions(), b.getNetSalary(), period.getMonthValue(), period.getYear(),
+                        PayslipStatus.PAID.name(), createdAt, approvedAt, approvedAt,
+                        employment.department(), employment.position(), employment.code(), employment.name()
+                });
+                if (batch.size() == BATCH_SIZE) {
+                    written += flush(batch);
+                }
+            }
+        }
+        written += flush(batch);
+        return written;
+    }
+
+    private long flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAYSLIP, batch);
+        long size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private record Employment(BigDecimal baseSalary, String department, String position, String code, String name) {
+    }
+}
@@ -0,0 +1,61 @@
+package rw.arsene.erp.v1.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.service.DirectorySearchService;
+import rw.arsene.erp.v1.service.EmploymentDictionaryService;
+import rw.arsene.erp.v1.service.PayrollAnalyticsService;
+
+import java.time.YearMonth;
+
+/**
+ * Loads the synthetic dataset when the application starts with the {@code loadtest} profile
+ * and {@code app.loadtest.generate-on-startup=true}, e.g. to seed a local PostgreSQL before
+ * pointing an external load tool at it.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.loadtest.generate-on-startup", havingValue = "true")
+public class SyntheticDataRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final EmploymentDictionaryService employmentDictionaryService;
+    private final DirectorySearchService directorySearchService;
+    private final PayrollAnalyticsService payrollAnalyticsService;
+
+    @Value("${app.loadtest.employees:10000}")
+    private int employees;
+
+    @Value("${app.loadtest.departments:40}")
+    private int departments;
+
+    @Value("${app.loadtest.deductions:20}")
+    private int deductions;
+
+    @Value("${app.loadtest.months:24}")
+    private int months;
+
+    @Value("${app.loadtest.password:password}")
+    private String password;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        SyntheticDataSpec spec = new SyntheticDataSpec(employees, departments, deductions, months,
+                YearMonth.now().minusMonths(1));
+        log.info("Generating synthetic dataset {}", spec);
+        generator.generate(spec, password);
+
+        // The in-memory indexes were built from the data present before the bulk load
+        employmentDictionaryService.rebuild();
+        directorySearchService.rebuild();
+        payrollAnalyticsService.rebuild();
+    }
+}
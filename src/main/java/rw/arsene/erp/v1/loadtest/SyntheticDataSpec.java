@@ -0,0 +1,21 @@
+package rw.arsene.erp.v1.loadtest;
+
+import java.time.YearMonth;
+
+/**
+ * Size of a synthetic dataset: {@code employees} spread over {@code departments}, extra
+ * {@code deductions}, and {@code months} of paid payslip history ending at {@code lastMonth}.
+ */
+public record SyntheticDataSpec(int employees, int departments, int deductions, int months, YearMonth lastMonth) {
+
+    public SyntheticDataSpec {
+        if (employees < 1 || departments < 1 || deductions < 0 || months < 0) {
+            throw new IllegalArgumentException("Synthetic dataset sizes must be positive");
+        }
+    }
+
+    // First month after the generated history, free for a month-end run
+    public YearMonth nextPayrollMonth() {
+        return lastMonth.plusMonths(1);
+    }
+}
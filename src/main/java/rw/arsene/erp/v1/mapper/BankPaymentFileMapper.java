@@ -0,0 +1,38 @@
+package rw.arsene.erp.v1.mapper;
+
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.BankPaymentFileDTO;
+import rw.arsene.erp.v1.entity.BankPaymentFile;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class BankPaymentFileMapper {
+
+    public BankPaymentFileDTO toDTO(BankPaymentFile file) {
+        if (file == null) {
+            return null;
+        }
+
+        return BankPaymentFileDTO.builder()
+                .id(file.getId())
+                .reference(file.getReference())
+                .month(file.getMonth())
+                .year(file.getYear())
+                .format(file.getFormat())
+                .status(file.getStatus())
+                .transactionCount(file.getTransactionCount())
+                .controlSum(file.getControlSum())
+                .checksum(file.getChecksum())
+                .createdAt(file.getCreatedAt())
+                .acknowledgedAt(file.getAcknowledgedAt())
+                .build();
+    }
+
+    public List<BankPaymentFileDTO> toDTOList(List<BankPaymentFile> files) {
+        return files.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+}
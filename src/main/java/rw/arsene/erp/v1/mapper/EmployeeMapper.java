@@ -25,6 +25,8 @@ public class EmployeeMapper {
                 .mobile(employee.getMobile())
                 .dateOfBirth(employee.getDateOfBirth())
                 .status(employee.getStatus())
+                .bankAccountNumber(employee.getBankAccountNumber())
+                .bankCode(employee.getBankCode())
                 .createdAt(employee.getCreatedAt())
                 .updatedAt(employee.getUpdatedAt())
                 .fullName(employee.getFullName())
@@ -46,6 +48,8 @@ public class EmployeeMapper {
                 .mobile(dto.getMobile())
                 .dateOfBirth(dto.getDateOfBirth())
                 .status(dto.getStatus())
+                .bankAccountNumber(dto.getBankAccountNumber())
+                .bankCode(dto.getBankCode())
                 .build();
     }
     
@@ -5,9 +5,11 @@ import org.springframework.stereotype.Component;
 import rw.arsene.erp.v1.dto.MessageDTO;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.Message;
+import rw.arsene.erp.v1.enums.MessageSentStatus;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,6 +42,25 @@ public class MessageMapper {
                 .build();
     }
     
+    // Row layout of MessageRepository.streamPaidForArchiveByYear
+    public MessageDTO fromArchiveRow(Object[] row) {
+        MessageSentStatus status = (MessageSentStatus) row[7];
+        return MessageDTO.builder()
+                .id((Long) row[0])
+                .employeeId((Long) row[1])
+                .employeeCode((String) row[2])
+                .employeeName((String) row[3])
+                .employeeEmail((String) row[4])
+                .message((String) row[5])
+                .monthYear((String) row[6])
+                .status(status)
+                .sentAt((LocalDateTime) row[8])
+                .errorMessage((String) row[9])
+                .sent(status == MessageSentStatus.SENT || status == MessageSentStatus.DELIVERED)
+                .failed(status == MessageSentStatus.FAILED)
+                .build();
+    }
+    
     public Message toEntity(MessageDTO dto) {
         if (dto == null) {
             return null;
@@ -6,10 +6,13 @@ import rw.arsene.erp.v1.dto.PayslipDTO;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.EmploymentDetails;
 import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.enums.PayslipStatus;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
 import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,18 +29,15 @@ public class PayslipMapper {
         }
         
         Employee employee = payslip.getEmployee();
-        EmploymentDetails employmentDetails = employmentDetailsRepository
-                .findActiveEmploymentByEmployeeId(employee.getId())
-                .orElse(null);
         
         return PayslipDTO.builder()
                 .id(payslip.getId())
                 .employeeId(employee.getId())
-                .employeeCode(employee.getCode())
-                .employeeName(employee.getFullName())
+                .employeeCode(payslip.getEmployeeCode() != null ? payslip.getEmployeeCode() : employee.getCode())
+                .employeeName(payslip.getEmployeeName() != null ? payslip.getEmployeeName() : employee.getFullName())
                 .employeeEmail(employee.getEmail())
-                .department(employmentDetails != null ? employmentDetails.getDepartment() : "N/A")
-                .position(employmentDetails != null ? employmentDetails.getPosition() : "N/A")
+                .department(payslip.getDepartment() != null ? payslip.getDepartment() : "N/A")
+                .position(payslip.getPosition() != null ? payslip.getPosition() : "N/A")
                 .baseSalary(payslip.getBaseSalary())
                 .houseAmount(payslip.getHouseAmount())
                 .transportAmount(payslip.getTransportAmount())
@@ -67,10 +67,18 @@ public class PayslipMapper {
         
         Employee employee = employeeRepository.findById(dto.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", dto.getEmployeeId()));
+        // Issued to the employee as they are now and under their current employment, whatever the DTO says
+        EmploymentDetails employmentDetails = employmentDetailsRepository
+                .findActiveEmploymentByEmployeeId(employee.getId())
+                .orElse(null);
         
         return Payslip.builder()
                 .id(dto.getId())
                 .employee(employee)
+                .employeeCode(employee.getCode())
+                .employeeName(employee.getFullName())
+                .department(employmentDetails != null ? employmentDetails.getDepartment() : null)
+                .position(employmentDetails != null ? employmentDetails.getPosition() : null)
                 .baseSalary(dto.getBaseSalary())
                 .houseAmount(dto.getHouseAmount())
                 .transportAmount(dto.getTransportAmount())
@@ -88,6 +96,41 @@ public class PayslipMapper {
                 .build();
     }
     
+    // Row layout of PayslipRepository.streamPaidForArchiveByYear
+    public PayslipDTO fromArchiveRow(Object[] row) {
+        Integer month = (Integer) row[17];
+        Integer year = (Integer) row[18];
+        PayslipStatus status = (PayslipStatus) row[19];
+        return PayslipDTO.builder()
+                .id((Long) row[0])
+                .employeeId((Long) row[1])
+                .employeeCode((String) row[2])
+                .employeeName((String) row[3])
+                .employeeEmail((String) row[4])
+                .department(row[5] != null ? (String) row[5] : "N/A")
+                .position(row[6] != null ? (String) row[6] : "N/A")
+                .baseSalary((BigDecimal) row[7])
+                .houseAmount((BigDecimal) row[8])
+                .transportAmount((BigDecimal) row[9])
+                .grossSalary((BigDecimal) row[10])
+                .employeeTaxed((BigDecimal) row[11])
+                .pensionAmount((BigDecimal) row[12])
+                .medicalInsurance((BigDecimal) row[13])
+                .otherTaxed((BigDecimal) row[14])
+                .totalDeductions((BigDecimal) row[15])
+                .netSalary((BigDecimal) row[16])
+                .month(month)
+                .year(year)
+                .status(status)
+                .createdAt((LocalDateTime) row[20])
+                .updatedAt((LocalDateTime) row[21])
+                .approvedAt((LocalDateTime) row[22])
+                .periodString(String.format("%02d/%d", month, year))
+                .pending(status == PayslipStatus.PENDING)
+                .approved(status == PayslipStatus.APPROVED || status == PayslipStatus.PAID)
+                .build();
+    }
+    
     public List<PayslipDTO> toDTOList(List<Payslip> payslips) {
         return payslips.stream()
                 .map(this::toDTO)
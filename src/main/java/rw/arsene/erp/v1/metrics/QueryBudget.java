@@ -0,0 +1,20 @@
+package rw.arsene.erp.v1.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller method may issue per request. Exceeding it is
+ * logged or fails the request depending on {@code app.query-budget.mode}; a mapper that starts
+ * lazily loading an association per row shows up here long before it shows up in latency.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,60 @@
+package rw.arsene.erp.v1.metrics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import rw.arsene.erp.v1.enums.QueryBudgetMode;
+import rw.arsene.erp.v1.exception.QueryBudgetExceededException;
+
+/**
+ * Checks {@link QueryBudget} once the handler has run and before the body is written, while a
+ * failure can still become an error response. The dev and test profiles also return the
+ * statement count in the {@code X-Query-Count} header.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Value("${app.query-budget.mode:LOG}")
+    private QueryBudgetMode mode;
+
+    @Value("${app.query-budget.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headerEnabled || (mode != QueryBudgetMode.OFF && returnType.hasMethodAnnotation(QueryBudget.class));
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int statements = sqlStatementCounter.current();
+        if (headerEnabled) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, Integer.toString(statements));
+        }
+
+        QueryBudget budget = returnType.getMethodAnnotation(QueryBudget.class);
+        if (budget != null && mode != QueryBudgetMode.OFF && statements > budget.value()) {
+            String route = request.getMethod() + " " + request.getURI().getPath();
+            if (mode == QueryBudgetMode.FAIL) {
+                throw new QueryBudgetExceededException(route, statements, budget.value());
+            }
+            log.warn("Query budget exceeded: {} issued {} SQL statements, budget is {}", route, statements, budget.value());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,80 @@
+package rw.arsene.erp.v1.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every SQL statement Hibernate prepares, globally by statement type
+ * ({@code erp.sql.statements}) and per request for threads that opened a scope with
+ * {@link #start()}. Registered as Hibernate's statement inspector by {@code MetricsConfig}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> requestCount = new ThreadLocal<>();
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.selects = statementCounter(meterRegistry, "select");
+        this.inserts = statementCounter(meterRegistry, "insert");
+        this.updates = statementCounter(meterRegistry, "update");
+        this.deletes = statementCounter(meterRegistry, "delete");
+        this.others = statementCounter(meterRegistry, "other");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counterFor(sql).increment();
+        int[] count = requestCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        requestCount.set(new int[1]);
+    }
+
+    public int current() {
+        int[] count = requestCount.get();
+        return count != null ? count[0] : 0;
+    }
+
+    public int stop() {
+        int count = current();
+        requestCount.remove();
+        return count;
+    }
+
+    private Counter counterFor(String sql) {
+        String statement = sql.stripLeading();
+        if (startsWith(statement, "select") || startsWith(statement, "with")) {
+            return selects;
+        } else if (startsWith(statement, "insert")) {
+            return inserts;
+        } else if (startsWith(statement, "update")) {
+            return updates;
+        } else if (startsWith(statement, "delete")) {
+            return deletes;
+        }
+        return others;
+    }
+
+    private static boolean startsWith(String statement, String keyword) {
+        return statement.regionMatches(true, 0, keyword, 0, keyword.length());
+    }
+
+    private static Counter statementCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("erp.sql.statements")
+                .description("SQL statements prepared by Hibernate")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package rw.arsene.erp.v1.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier while blocking, using the JFR
+ * {@code jdk.VirtualThreadPinned} event ({@code -Djdk.tracePinnedThreads} no longer exists on
+ * the target JDK). Since JDK 24 {@code synchronized} no longer pins, so what remains is mostly
+ * native frames and class initialisation in the JDBC driver, Hibernate or mail stack. Each
+ * pinned event increments {@code erp.virtual-threads.pinned}; the stack of every distinct
+ * pinning site is logged once.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.pinned = Counter.builder("erp.virtual-threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+
+        String site = describe(event.getStackTrace());
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at:{}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describeFrame)
+                .collect(Collectors.joining(""));
+    }
+
+    private static String describeFrame(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
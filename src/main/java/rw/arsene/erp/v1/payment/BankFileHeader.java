@@ -0,0 +1,36 @@
+package rw.arsene.erp.v1.payment;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+/**
+ * Totals and debtor details written ahead of the transfers. Counts and sums are taken from
+ * the database before streaming starts, since both formats need them in the header.
+ */
+@Getter
+@Builder
+public class BankFileHeader {
+
+    private final String reference;
+    private final LocalDateTime createdAt;
+    private final LocalDate executionDate;
+    private final long transactionCount;
+    private final BigDecimal controlSum;
+    private final String currency;
+    private final String debtorName;
+    private final String debtorAccount;
+    private final String debtorBankCode;
+    private final String remittanceInformation;
+
+    /**
+     * Decimal places of the currency's minor unit, e.g. 2 for EUR and 0 for RWF.
+     */
+    public int getFractionDigits() {
+        return Currency.getInstance(currency).getDefaultFractionDigits();
+    }
+}
@@ -0,0 +1,21 @@
+package rw.arsene.erp.v1.payment;
+
+import rw.arsene.erp.v1.dto.BankTransferRow;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+public interface BankFileWriter {
+
+    BankFileFormat getFormat();
+
+    String getFileExtension();
+
+    /**
+     * Writes the file in a single forward pass over the transfers. Implementations flush but do
+     * not close the stream.
+     */
+    void write(BankFileHeader header, Iterator<BankTransferRow> transfers, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,113 @@
+package rw.arsene.erp.v1.payment;
+
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.BankTransferRow;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+/**
+ * Fixed-width bulk transfer file. Every record is 200 characters:
+ * <pre>
+ * H reference(35) created(14) execution date(8) count(10) total in minor units(18) currency(3) debtor account(34) debtor bank(11) debtor name(66)
+ * D end-to-end id(35) account(34) bank code(11) amount in minor units(18) beneficiary name(70) remittance(31)
+ * T reference(35) count(10) total in minor units(18) filler
+ * </pre>
+ */
+@Component
+public class FixedWidthFileWriter implements BankFileWriter {
+
+    private static final int RECORD_LENGTH = 200;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Override
+    public BankFileFormat getFormat() {
+        return BankFileFormat.FIXED_WIDTH;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".txt";
+    }
+
+    @Override
+    public void write(BankFileHeader header, Iterator<BankTransferRow> transfers, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.US_ASCII), 64 * 1024);
+        StringBuilder record = new StringBuilder(RECORD_LENGTH);
+
+        record.append('H');
+        text(record, header.getReference(), 35);
+        text(record, header.getCreatedAt().format(TIMESTAMP), 14);
+        text(record, header.getExecutionDate().format(DATE), 8);
+        number(record, header.getTransactionCount(), 10);
+        number(record, minorUnits(header.getControlSum(), header), 18);
+        text(record, header.getCurrency(), 3);
+        text(record, header.getDebtorAccount(), 34);
+        text(record, header.getDebtorBankCode(), 11);
+        text(record, header.getDebtorName(), 66);
+        writeRecord(writer, record);
+
+        while (transfers.hasNext()) {
+            BankTransferRow transfer = transfers.next();
+            record.append('D');
+            text(record, header.getReference() + "-" + transfer.getPayslipId(), 35);
+            text(record, transfer.getBankAccountNumber(), 34);
+            text(record, transfer.getBankCode(), 11);
+            number(record, minorUnits(transfer.getNetSalary(), header), 18);
+            text(record, transfer.getFirstName() + " " + transfer.getLastName(), 70);
+            text(record, header.getRemittanceInformation() + " " + transfer.getEmployeeCode(), 31);
+            writeRecord(writer, record);
+        }
+
+        record.append('T');
+        text(record, header.getReference(), 35);
+        number(record, header.getTransactionCount(), 10);
+        number(record, minorUnits(header.getControlSum(), header), 18);
+        writeRecord(writer, record);
+        writer.flush();
+    }
+
+    private void writeRecord(Writer writer, StringBuilder record) throws IOException {
+        while (record.length() < RECORD_LENGTH) {
+            record.append(' ');
+        }
+        record.append("\r\n");
+        writer.append(record);
+        record.setLength(0);
+    }
+
+    private void text(StringBuilder record, String value, int width) {
+        String safe = value == null ? "" : value;
+        for (int i = 0; i < width; i++) {
+            char c = i < safe.length() ? safe.charAt(i) : ' ';
+            // Bank formats are plain ASCII; accented names are reduced to a placeholder
+            record.append(c < 0x20 || c > 0x7E ? '?' : c);
+        }
+    }
+
+    private void number(StringBuilder record, long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() > width) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in " + width + " digits");
+        }
+        for (int i = digits.length(); i < width; i++) {
+            record.append('0');
+        }
+        record.append(digits);
+    }
+
+    private long minorUnits(BigDecimal amount, BankFileHeader header) {
+        int digits = header.getFractionDigits();
+        return amount.setScale(digits, RoundingMode.HALF_UP).movePointRight(digits).longValueExact();
+    }
+}
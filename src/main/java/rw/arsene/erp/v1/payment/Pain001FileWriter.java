@@ -0,0 +1,146 @@
+package rw.arsene.erp.v1.payment;
+
+import org.springframework.stereotype.Component;
+import rw.arsene.erp.v1.dto.BankTransferRow;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * ISO 20022 customer credit transfer initiation (pain.001.001.09), written with StAX so the
+ * document is never held in memory.
+ */
+@Component
+public class Pain001FileWriter implements BankFileWriter {
+
+    private static final String NAMESPACE = "urn:iso:std:iso:20022:tech:xsd:pain.001.001.09";
+    private static final Pattern BIC = Pattern.compile("[A-Z]{6}[A-Z0-9]{2}([A-Z0-9]{3})?");
+    private static final int MAX_NAME_LENGTH = 140;
+
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    @Override
+    public BankFileFormat getFormat() {
+        return BankFileFormat.PAIN_001;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".xml";
+    }
+
+    @Override
+    public void write(BankFileHeader header, Iterator<BankTransferRow> transfers, OutputStream outputStream) throws IOException {
+        try {
+            XMLStreamWriter xml = outputFactory.createXMLStreamWriter(outputStream, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("Document");
+            xml.writeDefaultNamespace(NAMESPACE);
+            xml.writeStartElement("CstmrCdtTrfInitn");
+
+            xml.writeStartElement("GrpHdr");
+            element(xml, "MsgId", header.getReference());
+            element(xml, "CreDtTm", header.getCreatedAt().truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            element(xml, "NbOfTxs", Long.toString(header.getTransactionCount()));
+            element(xml, "CtrlSum", amount(header.getControlSum(), header));
+            xml.writeStartElement("InitgPty");
+            element(xml, "Nm", name(header.getDebtorName()));
+            xml.writeEndElement();
+            xml.writeEndElement();
+
+            xml.writeStartElement("PmtInf");
+            element(xml, "PmtInfId", header.getReference());
+            element(xml, "PmtMtd", "TRF");
+            element(xml, "NbOfTxs", Long.toString(header.getTransactionCount()));
+            element(xml, "CtrlSum", amount(header.getControlSum(), header));
+            xml.writeStartElement("ReqdExctnDt");
+            element(xml, "Dt", header.getExecutionDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
+            xml.writeEndElement();
+            xml.writeStartElement("Dbtr");
+            element(xml, "Nm", name(header.getDebtorName()));
+            xml.writeEndElement();
+            account(xml, "DbtrAcct", header.getDebtorAccount());
+            agent(xml, "DbtrAgt", header.getDebtorBankCode());
+
+            while (transfers.hasNext()) {
+                BankTransferRow transfer = transfers.next();
+                xml.writeStartElement("CdtTrfTxInf");
+                xml.writeStartElement("PmtId");
+                element(xml, "EndToEndId", header.getReference() + "-" + transfer.getPayslipId());
+                xml.writeEndElement();
+                xml.writeStartElement("Amt");
+                xml.writeStartElement("InstdAmt");
+                xml.writeAttribute("Ccy", header.getCurrency());
+                xml.writeCharacters(amount(transfer.getNetSalary(), header));
+                xml.writeEndElement();
+                xml.writeEndElement();
+                agent(xml, "CdtrAgt", transfer.getBankCode());
+                xml.writeStartElement("Cdtr");
+                element(xml, "Nm", name(transfer.getFirstName() + " " + transfer.getLastName()));
+                xml.writeEndElement();
+                account(xml, "CdtrAcct", transfer.getBankAccountNumber());
+                xml.writeStartElement("RmtInf");
+                element(xml, "Ustrd", header.getRemittanceInformation() + " " + transfer.getEmployeeCode());
+                xml.writeEndElement();
+                xml.writeEndElement();
+            }
+
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write pain.001 file", e);
+        }
+    }
+
+    private void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private void account(XMLStreamWriter xml, String name, String accountNumber) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeStartElement("Id");
+        xml.writeStartElement("Othr");
+        element(xml, "Id", accountNumber);
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void agent(XMLStreamWriter xml, String name, String bankCode) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeStartElement("FinInstnId");
+        if (BIC.matcher(bankCode).matches()) {
+            element(xml, "BICFI", bankCode);
+        } else {
+            xml.writeStartElement("Othr");
+            element(xml, "Id", bankCode);
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private String amount(BigDecimal value, BankFileHeader header) {
+        return value.setScale(header.getFractionDigits(), RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private String name(String value) {
+        return value.length() > MAX_NAME_LENGTH ? value.substring(0, MAX_NAME_LENGTH) : value;
+    }
+}
@@ -0,0 +1,43 @@
+package rw.arsene.erp.v1.payroll;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Rates and tax brackets a payslip is calculated with. Rates are fractions (0.03 for 3%);
+ * bracket limits are monthly taxable income after the exemption.
+ */
+public record PayrollRates(BigDecimal pensionRate, BigDecimal medicalInsuranceRate,
+                           BigDecimal houseAllowanceRate, BigDecimal transportAllowanceRate,
+                           BigDecimal taxExemption, List<TaxBracket> taxBrackets) {
+
+    // Rates in force (these could be configurable)
+    public static final PayrollRates CURRENT = new PayrollRates(
+            new BigDecimal("0.03"),  // pension 3%
+            new BigDecimal("0.075"), // medical insurance 7.5%
+            new BigDecimal("0.15"),  // house allowance 15%
+            new BigDecimal("0.10"),  // transport allowance 10%
+            new BigDecimal("30000"),
+            List.of(new TaxBracket(new BigDecimal("30000"), BigDecimal.ZERO),
+                    new TaxBracket(new BigDecimal("100000"), new BigDecimal("0.20")),
+                    new TaxBracket(null, new BigDecimal("0.30"))));
+
+    public PayrollRates {
+        if (taxBrackets.isEmpty() || taxBrackets.get(taxBrackets.size() - 1).upTo() != null) {
+            throw new IllegalArgumentException("The last tax bracket must have no upper limit");
+        }
+        for (int i = 0; i < taxBrackets.size() - 1; i++) {
+            BigDecimal upTo = taxBrackets.get(i).upTo();
+            if (upTo == null || (i > 0 && upTo.compareTo(taxBrackets.get(i - 1).upTo()) <= 0)) {
+                throw new IllegalArgumentException("Tax bracket limits must be increasing");
+            }
+        }
+        taxBrackets = List.copyOf(taxBrackets);
+    }
+
+    /**
+     * Taxable income up to {@code upTo} (null for no limit) is charged at {@code rate}.
+     */
+    public record TaxBracket(BigDecimal upTo, BigDecimal rate) {
+    }
+}
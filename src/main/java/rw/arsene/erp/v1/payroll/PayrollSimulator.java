@@ -0,0 +1,173 @@
+package rw.arsene.erp.v1.payroll;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * What-if payroll: calculates every payee's monthly payslip under the current and the proposed
+ * rates, entirely in memory. Every month is taxed on its own (the monthly tax method), without
+ * year-to-date totals, whatever method payroll runs with. Payees are split into chunks that are
+ * calculated in parallel, each with its own totals and top-N heap, and then merged. Nothing is
+ * persisted.
+ */
+public class PayrollSimulator {
+
+    public static final int GROSS = 0;
+    public static final int TAX = 1;
+    public static final int PENSION = 2;
+    public static final int MEDICAL = 3;
+    public static final int DEDUCTIONS = 4;
+    public static final int NET = 5;
+    public static final int MEASURES = 6;
+
+    private static final int CHUNK_SIZE = 4096;
+
+    // Largest net change first; ties keep the lower employee id
+    private static final Comparator<Impact> SMALLEST_FIRST = Comparator
+            .comparingLong((Impact impact) -> Math.abs(impact.netDeltaCents()))
+            .thenComparing(impact -> impact.payee().employeeId(), Comparator.reverseOrder());
+
+    private final PayrollCalculator calculator;
+    private final PayrollRates current;
+    private final PayrollRates proposed;
+
+    public PayrollSimulator(PayrollCalculator calculator, PayrollRates current, PayrollRates proposed) {
+        this.calculator = calculator;
+        this.current = current;
+        this.proposed = proposed;
+    }
+
+    public Result run(List<Payee> payees, int topN) {
+        int chunks = (payees.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> simulate(
+                        payees.subList(chunk * CHUNK_SIZE, Math.min(payees.size(), (chunk + 1) * CHUNK_SIZE)), topN))
+                .reduce(Result::merge)
+                .orElseGet(() -> new Result(topN));
+    }
+
+    private Result simulate(List<Payee> payees, int topN) {
+        // Many employees share a salary step, so each chunk calculates every step once
+        Map<BigDecimal, SalaryBreakdown[]> bySalary = new HashMap<>();
+        Result result = new Result(topN);
+        for (Payee payee : payees) {
+            SalaryBreakdown[] breakdowns = bySalary.computeIfAbsent(payee.baseSalary(), salary -> new SalaryBreakdown[]{
+                    calculator.calculate(salary, null, current),
+                    calculator.calculate(salary, null, proposed)});
+            result.add(new Impact(payee, breakdowns[0], breakdowns[1]));
+        }
+        return result;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static void accumulate(long[] sums, SalaryBreakdown salary) {
+        sums[GROSS] += toCents(salary.getGrossSalary());
+        sums[TAX] += toCents(salary.getEmployeeTaxed());
+        sums[PENSION] += toCents(salary.getPensionAmount());
+        sums[MEDICAL] += toCents(salary.getMedicalInsurance());
+        sums[DEDUCTIONS] += toCents(salary.getTotalDeductions());
+        sums[NET] += toCents(salary.getNetSalary());
+    }
+
+    public record Payee(Long employeeId, String code, String name, String department, BigDecimal baseSalary) {
+    }
+
+    public record Impact(Payee payee, SalaryBreakdown current, SalaryBreakdown proposed) {
+
+        public long netDeltaCents() {
+            return toCents(proposed.getNetSalary()) - toCents(current.getNetSalary());
+        }
+    }
+
+    /**
+     * Totals over all payees, in cents and indexed by the measure constants, and the payees whose
+     * net salary changes the most.
+     */
+    public static final class Result {
+
+        private final int topN;
+        private final long[] current = new long[MEASURES];
+        private final long[] proposed = new long[MEASURES];
+        private final PriorityQueue<Impact> top = new PriorityQueue<>(SMALLEST_FIRST);
+        private long payees;
+        private long affected;
+        private long worseOff;
+
+        private Result(int topN) {
+            this.topN = topN;
+        }
+
+        public long payees() {
+            return payees;
+        }
+
+        // Payees whose net salary changes, and those whose net salary drops
+        public long affected() {
+            return affected;
+        }
+
+        public long worseOff() {
+            return worseOff;
+        }
+
+        public long current(int measure) {
+            return current[measure];
+        }
+
+        public long proposed(int measure) {
+            return proposed[measure];
+        }
+
+        public List<Impact> topAffected() {
+            List<Impact> impacts = new ArrayList<>(top);
+            impacts.sort(SMALLEST_FIRST.reversed());
+            return impacts;
+        }
+
+        private void add(Impact impact) {
+            payees++;
+            accumulate(current, impact.current());
+            accumulate(proposed, impact.proposed());
+            long delta = impact.netDeltaCents();
+            if (delta != 0) {
+                affected++;
+                if (delta < 0) {
+                    worseOff++;
+                }
+                offer(impact);
+            }
+        }
+
+        private void offer(Impact impact) {
+            if (topN <= 0) {
+                return;
+            }
+            top.offer(impact);
+            if (top.size() > topN) {
+                top.poll();
+            }
+        }
+
+        private Result merge(Result other) {
+            payees += other.payees;
+            affected += other.affected;
+            worseOff += other.worseOff;
+            for (int measure = 0; measure < MEASURES; measure++) {
+                current[measure] += other.current[measure];
+                proposed[measure] += other.proposed[measure];
+            }
+            other.top.forEach(this::offer);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package rw.arsene.erp.v1.payroll;
+
+import rw.arsene.erp.v1.entity.PayrollRunningTotal;
+import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Summed payslip amounts: a running total, or the change one payslip makes to it.
+ */
+public record PayslipAmounts(long payslips, BigDecimal grossSalary, BigDecimal employeeTaxed,
+                             BigDecimal pensionAmount, BigDecimal medicalInsurance, BigDecimal otherTaxed,
+                             BigDecimal totalDeductions, BigDecimal netSalary) {
+
+    public static final PayslipAmounts ZERO = new PayslipAmounts(0, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    // Rejected payslips were never owed, so they count for nothing
+    public static PayslipAmounts of(Payslip payslip) {
+        if (payslip.getStatus() == PayslipStatus.REJECTED) {
+            return ZERO;
+        }
+        return new PayslipAmounts(1, payslip.getGrossSalary(), payslip.getEmployeeTaxed(),
+                payslip.getPensionAmount(), payslip.getMedicalInsurance(), payslip.getOtherTaxed(),
+                payslip.getTotalDeductions(), payslip.getNetSalary());
+    }
+
+    public static PayslipAmounts of(PayrollRunningTotal total) {
+        return new PayslipAmounts(total.getPayslipCount(), total.getGrossSalary(), total.getEmployeeTaxed(),
+                total.getPensionAmount(), total.getMedicalInsurance(), total.getOtherTaxed(),
+                total.getTotalDeductions(), total.getNetSalary());
+    }
+
+    public PayslipAmounts plus(PayslipAmounts other) {
+        return new PayslipAmounts(payslips + other.payslips,
+                grossSalary.add(other.grossSalary),
+                employeeTaxed.add(other.employeeTaxed),
+                pensionAmount.add(other.pensionAmount),
+                medicalInsurance.add(other.medicalInsurance),
+                otherTaxed.add(other.otherTaxed),
+                totalDeductions.add(other.totalDeductions),
+                netSalary.add(other.netSalary));
+    }
+
+    public PayslipAmounts minus(PayslipAmounts other) {
+        return plus(other.negate());
+    }
+
+    public PayslipAmounts negate() {
+        return new PayslipAmounts(-payslips, grossSalary.negate(), employeeTaxed.negate(),
+                pensionAmount.negate(), medicalInsurance.negate(), otherTaxed.negate(),
+                totalDeductions.negate(), netSalary.negate());
+    }
+
+    public boolean isZero() {
+        return payslips == 0
+                && grossSalary.signum() == 0
+                && employeeTaxed.signum() == 0
+                && pensionAmount.signum() == 0
+                && medicalInsurance.signum() == 0
+                && otherTaxed.signum() == 0
+                && totalDeductions.signum() == 0
+                && netSalary.signum() == 0;
+    }
+}
@@ -0,0 +1,24 @@
+package rw.arsene.erp.v1.payroll;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SalaryBreakdown {
+
+    private final BigDecimal baseSalary;
+    private final BigDecimal houseAmount;
+    private final BigDecimal transportAmount;
+    private final BigDecimal grossSalary;
+    private final BigDecimal employeeTaxed;
+    private final BigDecimal pensionAmount;
+    private final BigDecimal medicalInsurance;
+    private final BigDecimal otherTaxed;
+    private final BigDecimal totalDeductions;
+    private final BigDecimal netSalary;
+}
@@ -0,0 +1,16 @@
+package rw.arsene.erp.v1.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.entity.BankPaymentFile;
+import rw.arsene.erp.v1.enums.BankFileStatus;
+
+import java.util.List;
+
+@Repository
+public interface BankPaymentFileRepository extends JpaRepository<BankPaymentFile, Long> {
+
+    List<BankPaymentFile> findByMonthAndYearOrderByCreatedAtDesc(Integer month, Integer year);
+
+    boolean existsByMonthAndYearAndStatus(Integer month, Integer year, BankFileStatus status);
+}
@@ -1,12 +1,17 @@
 package rw.arsene.erp.v1.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.dto.EntityVersion;
 import rw.arsene.erp.v1.entity.Deduction;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,15 +25,30 @@ public interface DeductionRepository extends JpaRepository<Deduction, Long> {
     
     boolean existsByDeductionName(String deductionName);
     
+    // Cached until the deductions table changes; Hibernate invalidates the result on any write
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Deduction> findByIsActiveTrue();
     
     Page<Deduction> findByIsActiveTrue(Pageable pageable);
     
     long countByIsActiveTrue();
     
-    @Query("SELECT d FROM Deduction d WHERE " +
-           "LOWER(d.code) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(d.deductionName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(d.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    // Every field has its own trigram index (V2 migration); the expressions must stay identical to the indexed ones
+    String DEDUCTION_KEYWORD_MATCH =
+            "(lower(d.code) LIKE '%' || lower(:keyword) || '%' " +
+            "OR lower(d.deduction_name) LIKE '%' || lower(:keyword) || '%' " +
+            "OR lower(d.description) LIKE '%' || lower(:keyword) || '%')";
+    
+    @Query(value = "SELECT d.* FROM deductions d WHERE " + DEDUCTION_KEYWORD_MATCH + " " +
+                   "ORDER BY greatest(similarity(lower(d.code), lower(:keyword)), " +
+                   "similarity(lower(d.deduction_name), lower(:keyword)), " +
+                   "similarity(lower(d.description), lower(:keyword))) DESC, d.id",
+           countQuery = "SELECT COUNT(*) FROM (" +
+                        "  SELECT 1 FROM deductions d WHERE " + DEDUCTION_KEYWORD_MATCH + " " +
+                        "  LIMIT " + SearchPageRequests.MAX_COUNTED_MATCHES + ") capped",
+           nativeQuery = true)
     Page<Deduction> searchDeductions(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT new rw.arsene.erp.v1.dto.EntityVersion(d.id, d.updatedAt) FROM Deduction d WHERE d.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
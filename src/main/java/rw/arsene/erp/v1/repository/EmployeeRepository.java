@@ -3,12 +3,15 @@ package rw.arsene.erp.v1.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.dto.EntityVersion;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.enums.EmployeeStatus;
 import rw.arsene.erp.v1.enums.Role;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,13 +37,35 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
            "(SELECT ed FROM EmploymentDetails ed WHERE ed.employee = e AND ed.status = 'ACTIVE')")
     List<Employee> findActiveEmployeesWithActiveEmployment();
     
-    @Query("SELECT e FROM Employee e WHERE " +
-           "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(e.code) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    // Keyword match on an employee aliased e, shared by the searches that join employees. Every field
+    // has its own trigram index (V2 migration); the expressions must stay identical to the indexed ones
+    String EMPLOYEE_KEYWORD_MATCH =
+            "(lower(e.first_name) LIKE '%' || lower(:keyword) || '%' " +
+            "OR lower(e.last_name) LIKE '%' || lower(:keyword) || '%' " +
+            "OR lower(e.email) LIKE '%' || lower(:keyword) || '%' " +
+            "OR lower(e.code) LIKE '%' || lower(:keyword) || '%')";
+    String EMPLOYEE_KEYWORD_SIMILARITY =
+            "greatest(similarity(lower(e.first_name), lower(:keyword)), similarity(lower(e.last_name), lower(:keyword)), " +
+            "similarity(lower(e.email), lower(:keyword)), similarity(lower(e.code), lower(:keyword)))";
+    
+    @Query(value = "SELECT e.* FROM employees e WHERE " + EMPLOYEE_KEYWORD_MATCH + " " +
+                   "ORDER BY " + EMPLOYEE_KEYWORD_SIMILARITY + " DESC, e.id",
+           countQuery = "SELECT COUNT(*) FROM (" +
+                        "  SELECT 1 FROM employees e WHERE " + EMPLOYEE_KEYWORD_MATCH + " " +
+                        "  LIMIT " + SearchPageRequests.MAX_COUNTED_MATCHES + ") capped",
+           nativeQuery = true)
     Page<Employee> searchEmployees(@Param("keyword") String keyword, Pageable pageable);
     
+    @Query("SELECT e.id, e.code, e.firstName, e.lastName, e.email, e.mobile, e.status FROM Employee e")
+    List<Object[]> findDirectoryRows();
+    
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.status = :status")
     long countByStatus(@Param("status") EmployeeStatus status);
+    
+    @Modifying
+    @Query("UPDATE Employee e SET e.password = :password WHERE e.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+    
+    @Query("SELECT new rw.arsene.erp.v1.dto.EntityVersion(e.id, e.updatedAt) FROM Employee e WHERE e.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
@@ -6,9 +6,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.dto.EntityVersion;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.EmploymentDetails;
 import rw.arsene.erp.v1.enums.EmploymentStatus;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,13 +38,30 @@ public interface EmploymentDetailsRepository extends JpaRepository<EmploymentDet
 
  Page<EmploymentDetails> findByPosition(String position, Pageable pageable);
 
- @Query("SELECT ed FROM EmploymentDetails ed WHERE " +
-        "LOWER(ed.code) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(ed.department) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(ed.position) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(ed.employee.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(ed.employee.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(ed.employee.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+ // Matches on the employment's own columns and on the employee's are resolved separately so each side
+ // can use its per-field trigram indexes (V2 migration), then unioned by id
+ String EMPLOYMENT_KEYWORD_MATCH =
+         "(lower(x.code) LIKE '%' || lower(:keyword) || '%' " +
+         "OR lower(x.department) LIKE '%' || lower(:keyword) || '%' " +
+         "OR lower(x.position) LIKE '%' || lower(:keyword) || '%')";
+
+ @Query(value = "SELECT ed.* FROM employment_details ed JOIN employees e ON e.id = ed.employee_id " +
+                "WHERE ed.id IN (" +
+                "  SELECT x.id FROM employment_details x WHERE " + EMPLOYMENT_KEYWORD_MATCH + " " +
+                "  UNION " +
+                "  SELECT y.id FROM employment_details y JOIN employees e ON e.id = y.employee_id " +
+                "  WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + ") " +
+                "ORDER BY greatest(" +
+                "  similarity(lower(ed.code), lower(:keyword)), similarity(lower(ed.department), lower(:keyword)), " +
+                "  similarity(lower(ed.position), lower(:keyword)), " + EmployeeRepository.EMPLOYEE_KEYWORD_SIMILARITY +
+                ") DESC, ed.id",
+        countQuery = "SELECT COUNT(*) FROM (" +
+                     "  SELECT x.id FROM employment_details x WHERE " + EMPLOYMENT_KEYWORD_MATCH + " " +
+                     "  UNION " +
+                     "  SELECT y.id FROM employment_details y JOIN employees e ON e.id = y.employee_id " +
+                     "  WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + " " +
+                     "  LIMIT " + SearchPageRequests.MAX_COUNTED_MATCHES + ") capped",
+        nativeQuery = true)
  Page<EmploymentDetails> searchEmploymentDetails(@Param("keyword") String keyword, Pageable pageable);
 
  long countByStatus(EmploymentStatus status);
@@ -57,12 +76,26 @@ public interface EmploymentDetailsRepository extends JpaRepository<EmploymentDet
  @Query("SELECT DISTINCT ed.position FROM EmploymentDetails ed ORDER BY ed.position")
  List<String> findAllPositions();
 
+ @Query("SELECT ed.id, ed.employee.id, ed.department, ed.position FROM EmploymentDetails ed")
+ List<Object[]> findDictionaryRows();
+
  @Query("SELECT ed FROM EmploymentDetails ed WHERE ed.status = 'ACTIVE'")
  List<EmploymentDetails> findAllActiveEmployments();
 
  @Query("SELECT ed FROM EmploymentDetails ed WHERE ed.status = 'ACTIVE'")
  Page<EmploymentDetails> findAllActiveEmployments(Pageable pageable);
 
+ @Query("SELECT ed.employee.id, ed.department, ed.position FROM EmploymentDetails ed WHERE ed.status = 'ACTIVE'")
+ List<Object[]> findActiveEmploymentDirectoryRows();
+
+ // What a payroll simulation needs of every active employee, without loading entities
+ @Query("SELECT e.id, e.code, e.firstName, e.lastName, ed.department, ed.baseSalary FROM EmploymentDetails ed " +
+        "JOIN ed.employee e WHERE ed.status = 'ACTIVE' AND e.status = 'ACTIVE'")
+ List<Object[]> findActivePayrollRows();
+
  @Query("SELECT ed FROM EmploymentDetails ed WHERE ed.employee.id = :employeeId AND ed.status = 'ACTIVE'")
  Optional<EmploymentDetails> findActiveEmploymentByEmployeeId(@Param("employeeId") Long employeeId);
+
+ @Query("SELECT new rw.arsene.erp.v1.dto.EntityVersion(ed.id, ed.updatedAt, e.updatedAt) FROM EmploymentDetails ed JOIN ed.employee e WHERE ed.id = :id")
+ Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
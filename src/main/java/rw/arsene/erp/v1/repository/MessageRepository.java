@@ -1,16 +1,26 @@
 package rw.arsene.erp.v1.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.dto.EntityVersion;
 import rw.arsene.erp.v1.entity.Message;
 import rw.arsene.erp.v1.enums.MessageSentStatus;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -19,10 +29,62 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     Page<Message> findByEmployeeIdOrderBySentAtDesc(Long employeeId, Pageable pageable);
     
     List<Message> findByStatus(MessageSentStatus status);
-    List<Message> findByMonthYear(String monthYear);
+    List<Message> findByMonthYearAndSentAtGreaterThanEqual(String monthYear, LocalDateTime sentFrom);
     
     Page<Message> findAllByOrderBySentAtDesc(Pageable pageable);
     
+    @EntityGraph(attributePaths = "employee")
+    Page<Message> findByStatusOrderBySentAtDesc(MessageSentStatus status, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "employee")
+    Page<Message> findByMonthYearAndSentAtGreaterThanEqualOrderBySentAtDesc(String monthYear, LocalDateTime sentFrom,
+                                                                            Pageable pageable);
+    
+    long countByMonthYearAndSentAtGreaterThanEqual(String monthYear, LocalDateTime sentFrom);
+    
+    // messages is partitioned by sent_at (V3 migration) and month_year alone cannot prune it.
+    // A period's messages may be sent at any time, so the period queries below first look up the
+    // earliest one (a single probe of each partition's (month_year, sent_at) index) and bound the
+    // query by it, which skips every older partition.
+    @Query("SELECT min(m.sentAt) FROM Message m WHERE m.monthYear IN :monthYears")
+    Optional<LocalDateTime> findEarliestSentAt(@Param("monthYears") Collection<String> monthYears);
+    
+    default List<Message> findByMonthYear(String monthYear) {
+        return findEarliestSentAt(List.of(monthYear))
+                .map(sentFrom -> findByMonthYearAndSentAtGreaterThanEqual(monthYear, sentFrom))
+                .orElseGet(List::of);
+    }
+    
+    default Page<Message> findByMonthYearOrderBySentAtDesc(String monthYear, Pageable pageable) {
+        return findEarliestSentAt(List.of(monthYear))
+                .map(sentFrom -> findByMonthYearAndSentAtGreaterThanEqualOrderBySentAtDesc(monthYear, sentFrom, pageable))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+    
+    default long countByMonthYear(String monthYear) {
+        return findEarliestSentAt(List.of(monthYear))
+                .map(sentFrom -> countByMonthYearAndSentAtGreaterThanEqual(monthYear, sentFrom))
+                .orElse(0L);
+    }
+    
+    // Message text and each employee field have their own trigram index, see the V2 migration
+    @Query(value = "SELECT m.* FROM messages m WHERE m.id IN (" +
+                   "  SELECT x.id FROM messages x " +
+                   "  WHERE lower(x.message) LIKE '%' || lower(:keyword) || '%' OR x.month_year = :keyword " +
+                   "  UNION " +
+                   "  SELECT y.id FROM messages y JOIN employees e ON e.id = y.employee_id " +
+                   "  WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + ") " +
+                   "ORDER BY m.sent_at DESC, m.id DESC",
+           countQuery = "SELECT COUNT(*) FROM (" +
+                        "  SELECT x.id FROM messages x " +
+                        "  WHERE lower(x.message) LIKE '%' || lower(:keyword) || '%' OR x.month_year = :keyword " +
+                        "  UNION " +
+                        "  SELECT y.id FROM messages y JOIN employees e ON e.id = y.employee_id " +
+                        "  WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + " " +
+                        "  LIMIT " + SearchPageRequests.MAX_COUNTED_MATCHES + ") capped",
+           nativeQuery = true)
+    Page<Message> searchMessages(@Param("keyword") String keyword, Pageable pageable);
+    
     @Query("SELECT m FROM Message m WHERE m.status = :status AND m.sentAt >= :since")
     List<Message> findByStatusAndSentAtAfter(@Param("status") MessageSentStatus status, 
                                            @Param("since") LocalDateTime since);
@@ -30,11 +92,57 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE m.status = :status")
     long countByStatus(@Param("status") MessageSentStatus status);
     
+    // One probe of each partition's (employee_id, month_year) index, whenever the message was sent
     @Query("SELECT m FROM Message m WHERE m.employee.id = :employeeId AND m.monthYear = :monthYear")
-    List<Message> findByEmployeeIdAndMonthYear(@Param("employeeId") Long employeeId, 
+    List<Message> findByEmployeeIdAndMonthYear(@Param("employeeId") Long employeeId,
                                              @Param("monthYear") String monthYear);
     
     @Query("SELECT COUNT(m) > 0 FROM Message m WHERE m.employee.id = :employeeId AND m.monthYear = :monthYear")
-    boolean existsByEmployeeIdAndMonthYear(@Param("employeeId") Long employeeId, 
+    boolean existsByEmployeeIdAndMonthYear(@Param("employeeId") Long employeeId,
                                          @Param("monthYear") String monthYear);
+    
+    @Query("SELECT m FROM Message m JOIN FETCH m.employee " +
+           "WHERE m.monthYear IN :monthYears AND m.sentAt >= :sentFrom")
+    List<Message> findByMonthYearIn(@Param("monthYears") Collection<String> monthYears,
+                                    @Param("sentFrom") LocalDateTime sentFrom);
+    
+    // Closed-year archival: the notifications of a year's PAID payslips, in archive order; see
+    // MessageMapper.fromArchiveRow for the column order
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, e.id, e.code, concat(e.firstName, ' ', e.lastName), e.email, m.message, m.monthYear, m.status, " +
+           "m.sentAt, m.errorMessage FROM Message m JOIN m.employee e " +
+           "WHERE m.monthYear IN :monthYears AND m.sentAt >= :sentFrom " +
+           "AND EXISTS (SELECT 1 FROM Payslip p WHERE p.employee = e AND p.year = :year AND p.status = 'PAID' " +
+           "AND m.monthYear = concat(pad(cast(p.month AS String) with 2 leading '0'), '/', cast(p.year AS String))) " +
+           "ORDER BY e.id, m.sentAt, m.id")
+    Stream<Object[]> streamPaidForArchiveByMonthYearIn(@Param("year") Integer year,
+                                                       @Param("monthYears") Collection<String> monthYears,
+                                                       @Param("sentFrom") LocalDateTime sentFrom);
+    
+    default Stream<Object[]> streamPaidForArchiveByYear(int year) {
+        List<String> monthYears = monthYearsOf(year);
+        return findEarliestSentAt(monthYears)
+                .map(sentFrom -> streamPaidForArchiveByMonthYearIn(year, monthYears, sentFrom))
+                .orElseGet(Stream::empty);
+    }
+    
+    default List<Message> findByPeriodYear(int year) {
+        List<String> monthYears = monthYearsOf(year);
+        return findEarliestSentAt(monthYears)
+                .map(sentFrom -> findByMonthYearIn(monthYears, sentFrom))
+                .orElseGet(List::of);
+    }
+    
+    private static List<String> monthYearsOf(int year) {
+        return IntStream.rangeClosed(1, 12)
+                .mapToObj(month -> String.format("%02d/%d", month, year))
+                .toList();
+    }
+    
+    @Query("SELECT new rw.arsene.erp.v1.dto.EntityVersion(m.id, coalesce(m.updatedAt, m.sentAt), e.updatedAt) " +
+           "FROM Message m JOIN m.employee e WHERE m.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
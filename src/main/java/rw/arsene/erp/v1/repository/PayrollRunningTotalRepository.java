@@ -0,0 +1,65 @@
+package rw.arsene.erp.v1.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.entity.PayrollRunningTotal;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Repository
+public interface PayrollRunningTotalRepository extends JpaRepository<PayrollRunningTotal, PayrollRunningTotal.Key> {
+
+    // Totals from January through the month: the latest row at or before it
+    Optional<PayrollRunningTotal> findFirstByEmployeeIdAndYearAndMonthLessThanEqualOrderByMonthDesc(
+            Long employeeId, Integer year, Integer month);
+
+    // First key of the two-int advisory locks taken by lockYear ("PRTL"). Two-int keys never collide
+    // with single-bigint keys such as Flyway's, and the constant keeps other two-int users apart.
+    int RUNNING_TOTALS_LOCK_CLASS = 0x5052544C;
+
+    // Held until the transaction ends. Without it, under READ COMMITTED a concurrent change to the
+    // same employee and year could copy a predecessor row the other transaction is still updating.
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(" + RUNNING_TOTALS_LOCK_CLASS + ", " +
+                   "hashtext(CAST(:employeeId AS text) || ':' || CAST(:year AS text)))) locked",
+           nativeQuery = true)
+    long lockYear(@Param("employeeId") Long employeeId, @Param("year") Integer year);
+
+    // Adds the month's row, starting from the totals of the month before it
+    @Modifying
+    @Query(value = "INSERT INTO payroll_running_totals (employee_id, year, month, payslip_count, gross_salary, " +
+                   "employee_taxed, pension_amount, medical_insurance, other_taxed, total_deductions, net_salary, updated_at) " +
+                   "SELECT :employeeId, :year, :month, coalesce(prev.payslip_count, 0), coalesce(prev.gross_salary, 0), " +
+                   "coalesce(prev.employee_taxed, 0), coalesce(prev.pension_amount, 0), coalesce(prev.medical_insurance, 0), " +
+                   "coalesce(prev.other_taxed, 0), coalesce(prev.total_deductions, 0), coalesce(prev.net_salary, 0), now() " +
+                   "FROM (SELECT 1) one LEFT JOIN LATERAL (" +
+                   "SELECT * FROM payroll_running_totals t WHERE t.employee_id = :employeeId AND t.year = :year " +
+                   "AND t.month < :month ORDER BY t.month DESC LIMIT 1) prev ON true " +
+                   "ON CONFLICT (employee_id, year, month) DO NOTHING",
+           nativeQuery = true)
+    int insertPeriod(@Param("employeeId") Long employeeId, @Param("year") Integer year, @Param("month") Integer month);
+
+    // A payslip of the month counts in the totals of that month and every later one of the year
+    @Modifying
+    @Query(value = "UPDATE payroll_running_totals SET payslip_count = payslip_count + :payslips, " +
+                   "gross_salary = gross_salary + :grossSalary, employee_taxed = employee_taxed + :employeeTaxed, " +
+                   "pension_amount = pension_amount + :pensionAmount, medical_insurance = medical_insurance + :medicalInsurance, " +
+                   "other_taxed = other_taxed + :otherTaxed, total_deductions = total_deductions + :totalDeductions, " +
+                   "net_salary = net_salary + :netSalary, updated_at = now() " +
+                   "WHERE employee_id = :employeeId AND year = :year AND month >= :month",
+           nativeQuery = true)
+    int addFromPeriod(@Param("employeeId") Long employeeId,
+                      @Param("year") Integer year,
+                      @Param("month") Integer month,
+                      @Param("payslips") long payslips,
+                      @Param("grossSalary") BigDecimal grossSalary,
+                      @Param("employeeTaxed") BigDecimal employeeTaxed,
+                      @Param("pensionAmount") BigDecimal pensionAmount,
+                      @Param("medicalInsurance") BigDecimal medicalInsurance,
+                      @Param("otherTaxed") BigDecimal otherTaxed,
+                      @Param("totalDeductions") BigDecimal totalDeductions,
+                      @Param("netSalary") BigDecimal netSalary);
+}
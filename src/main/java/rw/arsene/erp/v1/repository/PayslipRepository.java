@@ -1,25 +1,48 @@
 package rw.arsene.erp.v1.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rw.arsene.erp.v1.dto.BankTransferRow;
+import rw.arsene.erp.v1.dto.EntityVersion;
+import rw.arsene.erp.v1.dto.PayrollRegisterRow;
+import rw.arsene.erp.v1.entity.BankPaymentFile;
 import rw.arsene.erp.v1.entity.Payslip;
 import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PayslipRepository extends JpaRepository<Payslip, Long> {
     
     List<Payslip> findByEmployeeIdOrderByYearDescMonthDesc(Long employeeId);
+    List<Payslip> findByEmployeeCodeOrderByYearDescMonthDesc(String employeeCode);
+    Optional<Payslip> findByEmployeeCodeAndMonthAndYear(String employeeCode, Integer month, Integer year);
     Page<Payslip> findByEmployeeIdOrderByYearDescMonthDesc(Long employeeId, Pageable pageable);
+    long countByEmployeeIdAndYearGreaterThan(Long employeeId, Integer year);
+    List<Payslip> findByEmployeeIdAndYearLessThanEqualOrderByYearDescMonthDesc(Long employeeId, Integer year);
+    
+    @Query("SELECT p.id FROM Payslip p WHERE p.employee.id = :employeeId")
+    List<Long> findIdsByEmployeeId(@Param("employeeId") Long employeeId);
     
     List<Payslip> findByStatus(PayslipStatus status);
+    Page<Payslip> findByStatus(PayslipStatus status, Pageable pageable);
     List<Payslip> findByMonthAndYear(Integer month, Integer year);
+    Page<Payslip> findByMonthAndYear(Integer month, Integer year, Pageable pageable);
+    long countByMonthAndYear(Integer month, Integer year);
     List<Payslip> findByMonthAndYearAndStatus(Integer month, Integer year, PayslipStatus status);
     
     Page<Payslip> findAllByOrderByYearDescMonthDescCreatedAtDesc(Pageable pageable);
@@ -40,9 +63,125 @@ public interface PayslipRepository extends JpaRepository<Payslip, Long> {
     @Query("SELECT COUNT(p) FROM Payslip p WHERE p.status = :status")
     long countByStatus(@Param("status") PayslipStatus status);
     
+    // Period totals leave out rejected payslips, like the running totals
+    @Query("SELECT COALESCE(SUM(p.grossSalary), 0) FROM Payslip p WHERE p.month = :month AND p.year = :year AND p.status <> 'REJECTED'")
+    BigDecimal sumGrossSalaryByPeriod(@Param("month") Integer month, @Param("year") Integer year);
+    
+    @Query("SELECT COALESCE(SUM(p.netSalary), 0) FROM Payslip p WHERE p.month = :month AND p.year = :year AND p.status <> 'REJECTED'")
+    BigDecimal sumNetSalaryByPeriod(@Param("month") Integer month, @Param("year") Integer year);
+    
+    @Query("SELECT COALESCE(SUM(p.totalDeductions), 0) FROM Payslip p WHERE p.month = :month AND p.year = :year AND p.status <> 'REJECTED'")
+    BigDecimal sumTotalDeductionsByPeriod(@Param("month") Integer month, @Param("year") Integer year);
+    
+    @Query(value = "SELECT p.* FROM payslips p JOIN employees e ON e.id = p.employee_id " +
+                   "WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + " " +
+                   "ORDER BY " + EmployeeRepository.EMPLOYEE_KEYWORD_SIMILARITY + " DESC, p.year DESC, p.month DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM (" +
+                        "  SELECT 1 FROM payslips p JOIN employees e ON e.id = p.employee_id " +
+                        "  WHERE " + EmployeeRepository.EMPLOYEE_KEYWORD_MATCH + " " +
+                        "  LIMIT " + SearchPageRequests.MAX_COUNTED_MATCHES + ") capped",
+           nativeQuery = true)
+    Page<Payslip> searchPayslips(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Forward-only cursor: the driver only streams when the caller holds a read-only transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    // Code, name, department and position as snapshotted when the payslip was issued
+    @Query("SELECT new rw.arsene.erp.v1.dto.PayrollRegisterRow(" +
+           "coalesce(p.employeeCode, e.code), coalesce(p.employeeName, concat(e.firstName, ' ', e.lastName)), " +
+           "e.email, p.department, p.position, " +
+           "p.baseSalary, p.houseAmount, p.transportAmount, p.grossSalary, p.employeeTaxed, " +
+           "p.pensionAmount, p.medicalInsurance, p.otherTaxed, p.totalDeductions, p.netSalary, p.status) " +
+           "FROM Payslip p JOIN p.employee e " +
+           "WHERE p.month = :month AND p.year = :year ORDER BY e.code")
+    Stream<PayrollRegisterRow> streamRegisterByPeriod(@Param("month") Integer month, @Param("year") Integer year);
+    
+    // Claims the approved, not yet released payslips of employees with bank details for a payment file
+    @Modifying
+    @Query("UPDATE Payslip p SET p.paymentFile = :file " +
+           "WHERE p.month = :month AND p.year = :year AND p.status = 'APPROVED' AND p.paymentFile IS NULL " +
+           "AND p.employee.id IN (SELECT e.id FROM Employee e WHERE e.bankAccountNumber IS NOT NULL AND e.bankCode IS NOT NULL)")
+    int assignPaymentFile(@Param("file") BankPaymentFile file, @Param("month") Integer month, @Param("year") Integer year);
+    
+    @Query("SELECT COUNT(p) FROM Payslip p WHERE p.month = :month AND p.year = :year " +
+           "AND p.status = 'APPROVED' AND p.paymentFile IS NULL")
+    long countUnreleasedApprovedByPeriod(@Param("month") Integer month, @Param("year") Integer year);
+    
+    long countByPaymentFile(BankPaymentFile paymentFile);
+    
+    // Each amount rounded as the bank file writes it, so the control sum matches the transfers
+    @Query("SELECT COALESCE(SUM(ROUND(p.netSalary, :fractionDigits)), 0) FROM Payslip p WHERE p.paymentFile = :file")
+    BigDecimal sumNetSalaryByPaymentFile(@Param("file") BankPaymentFile file, @Param("fractionDigits") int fractionDigits);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new rw.arsene.erp.v1.dto.BankTransferRow(" +
+           "p.id, e.code, e.firstName, e.lastName, e.bankAccountNumber, e.bankCode, p.netSalary) " +
+           "FROM Payslip p JOIN p.employee e WHERE p.paymentFile = :file ORDER BY p.id")
+    Stream<BankTransferRow> streamTransfersByPaymentFile(@Param("file") BankPaymentFile file);
+    
+    // Id, employee id, month and year of the payslips updateStatusByPaymentFile changes, for their change events
+    @Query("SELECT p.id, p.employee.id, p.month, p.year FROM Payslip p " +
+           "WHERE p.paymentFile = :file AND p.status = 'APPROVED'")
+    List<Object[]> findApprovedKeysByPaymentFile(@Param("file") BankPaymentFile file);
+    
+    // Bulk updates bypass @UpdateTimestamp, so updatedAt is set explicitly
+    @Modifying
+    @Query("UPDATE Payslip p SET p.status = :status, p.updatedAt = :updatedAt " +
+           "WHERE p.paymentFile = :file AND p.status = 'APPROVED'")
+    int updateStatusByPaymentFile(@Param("file") BankPaymentFile file,
+                                  @Param("status") PayslipStatus status,
+                                  @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("UPDATE Payslip p SET p.paymentFile = NULL WHERE p.paymentFile = :file AND p.status = 'APPROVED'")
+    int releasePaymentFile(@Param("file") BankPaymentFile file);
+    
+    @Query("SELECT p FROM Payslip p JOIN FETCH p.employee e " +
+           "WHERE p.month = :month AND p.year = :year ORDER BY e.code")
+    List<Payslip> findPeriodSnapshot(@Param("month") Integer month, @Param("year") Integer year);
+    
+    // Closed-year archival, in archive order; see PayslipMapper.fromArchiveRow for the column order
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, e.id, coalesce(p.employeeCode, e.code), coalesce(p.employeeName, concat(e.firstName, ' ', e.lastName)), " +
+           "e.email, p.department, p.position, p.baseSalary, p.houseAmount, p.transportAmount, p.grossSalary, " +
+           "p.employeeTaxed, p.pensionAmount, p.medicalInsurance, p.otherTaxed, p.totalDeductions, p.netSalary, " +
+           "p.month, p.year, p.status, p.createdAt, p.updatedAt, p.approvedAt " +
+           "FROM Payslip p JOIN p.employee e WHERE p.year = :year AND p.status = 'PAID' ORDER BY e.id, p.month, p.id")
+    Stream<Object[]> streamPaidForArchiveByYear(@Param("year") Integer year);
+    
+    long countByYearAndStatusNot(Integer year, PayslipStatus status);
+    
+    // Analytics facts, see PayslipFact.fromRow for the column order
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.year, p.month, p.department, p.position, p.status, p.grossSalary, p.netSalary, " +
+           "p.totalDeductions, p.employeeTaxed, p.pensionAmount, p.medicalInsurance, p.otherTaxed FROM Payslip p")
+    Stream<Object[]> streamAnalyticsFacts();
+    
+    @Query("SELECT p.id, p.year, p.month, p.department, p.position, p.status, p.grossSalary, p.netSalary, " +
+           "p.totalDeductions, p.employeeTaxed, p.pensionAmount, p.medicalInsurance, p.otherTaxed " +
+           "FROM Payslip p WHERE p.id IN :ids")
+    List<Object[]> findAnalyticsFactsByIds(@Param("ids") Collection<Long> ids);
+    
+    boolean existsByIdAndEmployeeId(Long id, Long employeeId);
+    
     @Query("SELECT DISTINCT p.year FROM Payslip p ORDER BY p.year DESC")
     List<Integer> findDistinctYears();
     
     @Query("SELECT DISTINCT p.month FROM Payslip p WHERE p.year = :year ORDER BY p.month DESC")
     List<Integer> findDistinctMonthsByYear(@Param("year") Integer year);
+    
+    // The DTO embeds the employee; department and position come from the payslip itself (V5)
+    @Query("SELECT new rw.arsene.erp.v1.dto.EntityVersion(p.id, p.updatedAt, e.updatedAt) FROM Payslip p JOIN p.employee e WHERE p.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
@@ -1,7 +1,10 @@
 package rw.arsene.erp.v1.repository;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import rw.arsene.erp.v1.entity.RoleEntity;
 import rw.arsene.erp.v1.enums.Role;
@@ -10,6 +13,7 @@ import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findByName(Role name);
     boolean existsByName(Role name);
 }
@@ -0,0 +1,20 @@
+package rw.arsene.erp.v1.search;
+
+import lombok.Builder;
+import lombok.Getter;
+import rw.arsene.erp.v1.enums.EmployeeStatus;
+
+@Getter
+@Builder
+public class DirectoryDocument {
+
+    private final Long employeeId;
+    private final String code;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String mobile;
+    private final EmployeeStatus status;
+    private final String department;
+    private final String position;
+}
@@ -0,0 +1,332 @@
+package rw.arsene.erp.v1.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the employee directory. Tokens are kept in a character trie so a query
+ * term matches every token it is a prefix of; each trie node holding a complete token carries
+ * the postings (employee id to the bit set of fields the token came from).
+ *
+ * Thread safe: searches share a read lock, updates take the write lock.
+ */
+public class DirectoryIndex {
+
+    static final int CODE = 1;
+    static final int NAME = 1 << 1;
+    static final int EMAIL = 1 << 2;
+    static final int MOBILE = 1 << 3;
+    static final int DEPARTMENT = 1 << 4;
+    static final int POSITION = 1 << 5;
+
+    // Short prefixes can match most of the directory; closest tokens are visited first so
+    // the cap only drops the weakest candidates
+    private static final int MAX_CANDIDATES = 5_000;
+
+    private static final Comparator<Scored> RANKING = Comparator
+            .comparingInt(Scored::score)
+            .thenComparing(scored -> scored.document().getLastName(), Comparator.reverseOrder())
+            .thenComparing(scored -> scored.document().getFirstName(), Comparator.reverseOrder());
+
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, String> tokenPool = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(DirectoryDocument document) {
+        Map<String, Integer> tokens = tokenize(document);
+
+        lock.writeLock().lock();
+        try {
+            removeEntry(document.getEmployeeId());
+
+            String[] keys = new String[tokens.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+                String key = tokenPool.computeIfAbsent(token.getKey(), t -> t);
+                insert(key).postings().put(document.getEmployeeId(), token.getValue());
+                keys[i++] = key;
+            }
+            entries.put(document.getEmployeeId(), new Entry(document, keys));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(employeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Trie nodes below the root and pooled tokens, for tests
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            ArrayDeque<Node> queue = new ArrayDeque<>(List.of(root));
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (int i = 0; i < node.size; i++) {
+                    queue.add(node.children[i]);
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int pooledTokens() {
+        lock.readLock().lock();
+        try {
+            return tokenPool.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best matching documents. Every query term must prefix-match at least one
+     * token of a document; exact token matches and name/code matches rank higher.
+     */
+    public List<DirectoryDocument> search(String query, int limit) {
+        String[] terms = split(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = collect(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, RANKING);
+            for (Map.Entry<Long, Integer> scored : scores.entrySet()) {
+                top.offer(new Scored(entries.get(scored.getKey()).document(), scored.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            DirectoryDocument[] result = new DirectoryDocument[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = top.poll().document();
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> collect(String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Node start = find(term);
+        if (start == null) {
+            return scores;
+        }
+
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty() && scores.size() < MAX_CANDIDATES) {
+            Node node = queue.poll();
+            if (node.postings != null) {
+                int multiplier = node == start ? 2 : 1;
+                for (Map.Entry<Long, Integer> posting : node.postings.entrySet()) {
+                    scores.merge(posting.getKey(), weight(posting.getValue()) * multiplier, Math::max);
+                }
+            }
+            for (int i = 0; i < node.size; i++) {
+                queue.add(node.children[i]);
+            }
+        }
+        return scores;
+    }
+
+    // Tokens left without postings leave the pool, and their trie branch is pruned up to the
+    // first node still in use, so churn does not grow the index
+    private void removeEntry(Long employeeId) {
+        Entry previous = entries.remove(employeeId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.keys()) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length() && path[i] != null; i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            Node node = path[key.length()];
+            if (node == null || node.postings == null) {
+                continue;
+            }
+            node.postings.remove(employeeId);
+            if (!node.postings.isEmpty()) {
+                continue;
+            }
+            node.postings = null;
+            tokenPool.remove(key);
+            for (int depth = key.length(); depth > 0 && path[depth].isUnused(); depth--) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private Node insert(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+        }
+        return node;
+    }
+
+    private Node find(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+        return node;
+    }
+
+    private static int weight(int fields) {
+        if ((fields & (NAME | CODE)) != 0) {
+            return 8;
+        }
+        if ((fields & (EMAIL | MOBILE)) != 0) {
+            return 4;
+        }
+        return 2;
+    }
+
+    private static Map<String, Integer> tokenize(DirectoryDocument document) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        addTokens(tokens, document.getCode(), CODE);
+        addTokens(tokens, document.getFirstName(), NAME);
+        addTokens(tokens, document.getLastName(), NAME);
+        addTokens(tokens, document.getEmail(), EMAIL);
+        addTokens(tokens, document.getDepartment(), DEPARTMENT);
+        addTokens(tokens, document.getPosition(), POSITION);
+        if (document.getMobile() != null) {
+            String digits = document.getMobile().replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.merge(digits, MOBILE, (a, b) -> a | b);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String value, int field) {
+        for (String token : split(value)) {
+            tokens.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    static String[] split(String value) {
+        if (value == null || value.isBlank()) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private record Entry(DirectoryDocument document, String[] keys) {
+    }
+
+    private record Scored(DirectoryDocument document, int score) {
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private Map<Long, Integer> postings;
+
+        private Node child(char label) {
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node existing = child(label);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            Node created = new Node();
+            labels[size] = label;
+            children[size] = created;
+            size++;
+            return created;
+        }
+
+        private void removeChild(char label) {
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == label) {
+                    System.arraycopy(labels, i + 1, labels, i, size - i - 1);
+                    System.arraycopy(children, i + 1, children, i, size - i - 1);
+                    size--;
+                    children[size] = null;
+                    return;
+                }
+            }
+        }
+
+        private boolean isUnused() {
+            return postings == null && size == 0;
+        }
+
+        private Map<Long, Integer> postings() {
+            if (postings == null) {
+                postings = new HashMap<>(4);
+            }
+            return postings;
+        }
+    }
+}
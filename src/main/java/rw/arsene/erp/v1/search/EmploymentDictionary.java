@@ -0,0 +1,144 @@
+package rw.arsene.erp.v1.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Distinct departments and positions of all employment records, with the number of records
+ * using each value. The employee, department and position of every record are kept so an update
+ * or delete can move counts off the old values without asking the database what they were.
+ *
+ * Thread safe: lookups share a read lock, updates take the write lock.
+ */
+public class EmploymentDictionary {
+
+    private final Map<Long, Assignment> assignments = new HashMap<>();
+    private final TreeMap<String, Integer> departments = new TreeMap<>();
+    private final TreeMap<String, Integer> positions = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long employmentDetailsId, Long employeeId, String department, String position) {
+        lock.writeLock().lock();
+        try {
+            Assignment previous = assignments.put(employmentDetailsId,
+                    new Assignment(employeeId, intern(departments, department), intern(positions, position)));
+            if (previous != null) {
+                decrement(departments, previous.department());
+                decrement(positions, previous.position());
+            }
+            increment(departments, department);
+            increment(positions, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employmentDetailsId) {
+        lock.writeLock().lock();
+        try {
+            Assignment previous = assignments.remove(employmentDetailsId);
+            if (previous != null) {
+                decrement(departments, previous.department());
+                decrement(positions, previous.position());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Deleting an employee deletes their records without an event for each; deletions are rare
+    // enough to scan for them rather than keep a second index
+    public void removeEmployee(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            assignments.values().removeIf(assignment -> {
+                if (!assignment.employeeId().equals(employeeId)) {
+                    return false;
+                }
+                decrement(departments, assignment.department());
+                decrement(positions, assignment.position());
+                return true;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Map.Entry<String, Integer>> departments() {
+        return snapshot(departments);
+    }
+
+    public List<Map.Entry<String, Integer>> positions() {
+        return snapshot(positions);
+    }
+
+    public int countDepartment(String department) {
+        return count(departments, department);
+    }
+
+    public int countPosition(String position) {
+        return count(positions, position);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return assignments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Map.Entry<String, Integer>> snapshot(TreeMap<String, Integer> values) {
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<String, Integer>> result = new ArrayList<>(values.size());
+            for (Map.Entry<String, Integer> value : values.entrySet()) {
+                result.add(Map.entry(value.getKey(), value.getValue()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int count(TreeMap<String, Integer> values, String value) {
+        if (value == null) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return values.getOrDefault(value, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reuses the key instance already held by the counts so each distinct value is stored once
+    private static String intern(TreeMap<String, Integer> values, String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.ceilingKey(value);
+        return value.equals(existing) ? existing : value;
+    }
+
+    private static void increment(TreeMap<String, Integer> values, String value) {
+        if (value != null) {
+            values.merge(value, 1, Integer::sum);
+        }
+    }
+
+    private static void decrement(TreeMap<String, Integer> values, String value) {
+        if (value != null) {
+            values.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private record Assignment(Long employeeId, String department, String position) {
+    }
+}
@@ -7,12 +7,14 @@ import org.springframework.stereotype.Service;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.PayslipRepository;
 
 @Service
 @RequiredArgsConstructor
 public class SecurityService {
     
     private final EmployeeRepository employeeRepository;
+    private final PayslipRepository payslipRepository;
     
     public UserDetailsImpl getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -40,6 +42,20 @@ public class SecurityService {
         return getCurrentEmployeeId().equals(employeeId);
     }
     
+    public boolean isPayslipOwner(Authentication authentication, Long payslipId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            return false;
+        }
+        return payslipRepository.existsByIdAndEmployeeId(payslipId, userDetails.getId());
+    }
+    
+    public boolean isOwner(Authentication authentication, String employeeCode) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            return false;
+        }
+        return userDetails.getCode() != null && userDetails.getCode().equals(employeeCode);
+    }
+    
     public boolean hasRole(String role) {
         UserDetailsImpl userDetails = getCurrentUser();
         return userDetails.getAuthorities().stream()
@@ -31,7 +31,9 @@ public class UserDetailsImpl implements UserDetails {
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserDetailsImpl build(Employee employee) {
-        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + employee.getRole().name()));
+        List<GrantedAuthority> authorities = employee.getRoles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName().name()))
+                .toList();
 
         return new UserDetailsImpl(
                 employee.getId(),
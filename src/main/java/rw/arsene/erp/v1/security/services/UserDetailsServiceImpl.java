@@ -1,7 +1,9 @@
 package rw.arsene.erp.v1.security.services;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -10,7 +12,8 @@ import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     EmployeeRepository employeeRepository;
@@ -23,4 +26,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(employee);
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        employeeRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        log.info("Upgraded password hash for: {}", user.getUsername());
+
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        userDetails.setPassword(newPassword);
+        return userDetails;
+    }
 }
@@ -0,0 +1,20 @@
+package rw.arsene.erp.v1.service;
+
+import org.springframework.core.io.Resource;
+import rw.arsene.erp.v1.dto.BankPaymentFileDTO;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BankPaymentFileService {
+
+    BankPaymentFileDTO generatePaymentFile(Integer month, Integer year, BankFileFormat format, LocalDate executionDate);
+
+    BankPaymentFileDTO getPaymentFileById(Long id);
+    List<BankPaymentFileDTO> getPaymentFilesByPeriod(Integer month, Integer year);
+    Resource getPaymentFileContent(Long id);
+
+    BankPaymentFileDTO acknowledgePaymentFile(Long id, String checksum);
+    BankPaymentFileDTO cancelPaymentFile(Long id);
+}
@@ -0,0 +1,14 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.DirectoryEntryDTO;
+
+import java.util.List;
+
+public interface DirectorySearchService {
+
+    List<DirectoryEntryDTO> typeahead(String query, int limit);
+
+    void rebuild();
+
+    void refreshEmployee(Long employeeId);
+}
@@ -3,6 +3,7 @@ package rw.arsene.erp.v1.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import rw.arsene.erp.v1.dto.EmploymentDetailsDTO;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
 import rw.arsene.erp.v1.enums.EmploymentStatus;
 
 import java.util.List;
@@ -42,4 +43,6 @@ public interface EmploymentDetailsService {
     long countByStatus(EmploymentStatus status);
     
     long countByDepartment(String department);
+    
+    EmploymentDetails getActiveEmploymentEntityByEmployeeId(Long employeeId);
 }
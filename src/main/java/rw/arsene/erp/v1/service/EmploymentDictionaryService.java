@@ -0,0 +1,18 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.DictionaryEntryDTO;
+
+import java.util.List;
+
+public interface EmploymentDictionaryService {
+
+    List<DictionaryEntryDTO> getDepartments();
+
+    List<DictionaryEntryDTO> getPositions();
+
+    long countByDepartment(String department);
+
+    long countByPosition(String position);
+
+    void rebuild();
+}
@@ -0,0 +1,18 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.EntityVersion;
+
+import java.util.Optional;
+
+public interface EntityVersionService {
+
+    Optional<EntityVersion> getEmployeeVersion(Long id);
+
+    Optional<EntityVersion> getEmploymentDetailsVersion(Long id);
+
+    Optional<EntityVersion> getDeductionVersion(Long id);
+
+    Optional<EntityVersion> getMessageVersion(Long id);
+
+    Optional<EntityVersion> getPayslipVersion(Long id);
+}
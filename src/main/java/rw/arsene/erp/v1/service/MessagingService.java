@@ -4,5 +4,5 @@ import rw.arsene.erp.v1.entity.Payslip;
 
 public interface MessagingService {
     void generateAndStoreSalaryNotification(Payslip payslip);
-    void sendSalaryNotificationEmail(String messageId); // Or pass the Message entity
+    void sendSalaryNotificationEmail(Long messageId); // Or pass the Message entity
 }
@@ -0,0 +1,7 @@
+package rw.arsene.erp.v1.service;
+
+public interface PartitionMaintenanceService {
+    void maintainPartitions();
+    int createFuturePartitions();
+    int archiveExpiredPartitions();
+}
@@ -0,0 +1,11 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.analytics.AnalyticsQuery;
+import rw.arsene.erp.v1.dto.PayrollAnalyticsDTO;
+
+public interface PayrollAnalyticsService {
+
+    PayrollAnalyticsDTO analyze(AnalyticsQuery query);
+
+    void rebuild();
+}
@@ -0,0 +1,13 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.PayrollArchiveReportDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface PayrollArchiveService {
+
+    PayrollArchiveReportDTO archiveClosedYear(Integer year) throws IOException;
+
+    List<Integer> getArchivedYears();
+}
@@ -0,0 +1,15 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PayrollExportService {
+
+    /**
+     * Writes the payroll register of the period to the given stream, row by row as it is read
+     * from the database. Returns the number of payslips written.
+     */
+    long exportRegister(Integer month, Integer year, ExportFormat format, OutputStream outputStream) throws IOException;
+}
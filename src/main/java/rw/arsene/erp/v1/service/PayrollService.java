@@ -28,6 +28,7 @@ public interface PayrollService {
     Page<PayslipDTO> searchPayslips(String keyword, Pageable pageable);
     
     PayslipDTO approvePayslip(Long id);
+    List<PayslipDTO> approvePayroll(Integer month, Integer year);
     PayslipDTO rejectPayslip(Long id);
     PayslipDTO markAsPaid(Long id);
     
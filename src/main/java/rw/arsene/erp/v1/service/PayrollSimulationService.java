@@ -0,0 +1,9 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.PayrollSimulationDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationRequestDTO;
+
+public interface PayrollSimulationService {
+
+    PayrollSimulationDTO simulate(PayrollSimulationRequestDTO request);
+}
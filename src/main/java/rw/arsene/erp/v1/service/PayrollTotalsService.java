@@ -0,0 +1,17 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.dto.PayrollTotalsDTO;
+import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.payroll.PayslipAmounts;
+
+public interface PayrollTotalsService {
+
+    PayrollTotalsDTO getYearToDate(Long employeeId, Integer year, Integer month);
+
+    PayrollTotalsDTO getTotals(Long employeeId, Integer fromYear, Integer fromMonth, Integer toYear, Integer toMonth);
+
+    // Internal methods for other services
+    void record(Payslip payslip, PayslipAmounts change);
+
+    PayslipAmounts getTotalsBefore(Long employeeId, Integer year, Integer month);
+}
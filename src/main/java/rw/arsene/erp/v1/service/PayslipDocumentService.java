@@ -0,0 +1,19 @@
+package rw.arsene.erp.v1.service;
+
+import rw.arsene.erp.v1.document.PayslipDocument;
+import rw.arsene.erp.v1.document.RenderedDocument;
+import rw.arsene.erp.v1.dto.DocumentBatchReportDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PayslipDocumentService {
+
+    RenderedDocument renderPayslip(Long payslipId);
+
+    PayslipDocument getPayslipDocument(Long payslipId) throws IOException;
+
+    DocumentBatchReportDTO renderPeriodToStore(Integer month, Integer year) throws IOException;
+
+    DocumentBatchReportDTO renderPeriodToZip(Integer month, Integer year, OutputStream outputStream) throws IOException;
+}
@@ -10,13 +10,13 @@ public interface PayslipService {
     // Note: Payslip creation is usually part of Payroll generation, not direct CRUD
     // Optional<PayslipDTO> createPayslip(PayslipDTO payslipDTO); // Likely not needed
 
-    Optional<PayslipDTO> getPayslipById(String id);
+    Optional<PayslipDTO> getPayslipById(Long id);
     Optional<PayslipDTO> getPayslipByEmployeeMonthYear(String employeeCode, int month, int year);
     List<PayslipDTO> getPayslipsByEmployee(String employeeCode);
     List<PayslipDTO> getPayslipsByMonthYear(int month, int year);
     List<PayslipDTO> getAllPayslips();
     // Update might be needed for status change (e.g., approval)
-    PayslipDTO updatePayslipStatus(String id, String status); // Status should be enum
+    PayslipDTO updatePayslipStatus(Long id, String status); // Status should be enum
     // Delete might not be applicable, maybe just update status?
     // void deletePayslip(String id);
 
@@ -0,0 +1,252 @@
+package rw.arsene.erp.v1.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import rw.arsene.erp.v1.dto.BankPaymentFileDTO;
+import rw.arsene.erp.v1.dto.BankTransferRow;
+import rw.arsene.erp.v1.entity.BankPaymentFile;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+import rw.arsene.erp.v1.enums.BankFileStatus;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.exception.ResourceNotFoundException;
+import rw.arsene.erp.v1.mapper.BankPaymentFileMapper;
+import rw.arsene.erp.v1.payment.BankFileHeader;
+import rw.arsene.erp.v1.payment.BankFileWriter;
+import rw.arsene.erp.v1.repository.BankPaymentFileRepository;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.BankPaymentFileService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BankPaymentFileServiceImpl implements BankPaymentFileService {
+
+    private static final DateTimeFormatter REFERENCE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final BankPaymentFileRepository bankPaymentFileRepository;
+    private final PayslipRepository payslipRepository;
+    private final BankPaymentFileMapper bankPaymentFileMapper;
+    private final List<BankFileWriter> writers;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bank-files.directory:./data/bank-files}")
+    private String directory;
+
+    @Value("${app.bank-files.currency:RWF}")
+    private String currency;
+
+    @Value("${app.bank-files.debtor-name:}")
+    private String debtorName;
+
+    @Value("${app.bank-files.debtor-account:}")
+    private String debtorAccount;
+
+    @Value("${app.bank-files.debtor-bank-code:}")
+    private String debtorBankCode;
+
+    @Override
+    @Timed(value = "erp.payroll.bank-file", description = "Bank payment file generation", histogram = true)
+    public BankPaymentFileDTO generatePaymentFile(Integer month, Integer year, BankFileFormat format, LocalDate executionDate) {
+        log.info("Generating {} bank payment file for period {}/{}", format, month, year);
+
+        // Checked here rather than at startup so environments that never pay salaries need no bank account
+        if (!StringUtils.hasText(debtorAccount) || !StringUtils.hasText(debtorBankCode)) {
+            throw new BusinessException("The payroll debtor account is not configured; set app.bank-files.debtor-account "
+                    + "and app.bank-files.debtor-bank-code");
+        }
+
+        if (bankPaymentFileRepository.existsByMonthAndYearAndStatus(month, year, BankFileStatus.GENERATED)) {
+            throw new BusinessException("A payment file for " + month + "/" + year
+                    + " is awaiting acknowledgement; acknowledge or cancel it first");
+        }
+
+        BankFileWriter writer = writerFor(format);
+        LocalDateTime now = LocalDateTime.now();
+        String reference = String.format("SAL-%d%02d-%s", year, month, now.format(REFERENCE_TIMESTAMP));
+        Path path = Paths.get(directory).resolve(reference + writer.getFileExtension());
+
+        BankPaymentFile file = bankPaymentFileRepository.save(BankPaymentFile.builder()
+                .reference(reference)
+                .month(month)
+                .year(year)
+                .format(format)
+                .transactionCount(0L)
+                .controlSum(BigDecimal.ZERO)
+                .storagePath(path.toString())
+                .build());
+
+        if (payslipRepository.assignPaymentFile(file, month, year) == 0) {
+            throw new BusinessException("No approved payslips with bank details found for " + month + "/" + year);
+        }
+
+        // Both formats carry the totals ahead of the transfers
+        long transactionCount = payslipRepository.countByPaymentFile(file);
+        BigDecimal controlSum = payslipRepository.sumNetSalaryByPaymentFile(file,
+                Currency.getInstance(currency).getDefaultFractionDigits());
+
+        BankFileHeader header = BankFileHeader.builder()
+                .reference(reference)
+                .createdAt(now)
+                .executionDate(executionDate != null ? executionDate : now.toLocalDate())
+                .transactionCount(transactionCount)
+                .controlSum(controlSum)
+                .currency(currency)
+                .debtorName(debtorName)
+                .debtorAccount(debtorAccount)
+                .debtorBankCode(debtorBankCode)
+                .remittanceInformation(String.format("Salary %02d/%d", month, year))
+                .build();
+
+        MessageDigest digest = sha256();
+        try {
+            Files.createDirectories(path.getParent());
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024), digest);
+                 Stream<BankTransferRow> transfers = payslipRepository.streamTransfersByPaymentFile(file)) {
+                writer.write(header, transfers.iterator(), out);
+            }
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new BusinessException("Failed to write bank payment file " + reference, e);
+        }
+
+        file.setTransactionCount(transactionCount);
+        file.setControlSum(controlSum);
+        file.setChecksum(HexFormat.of().formatHex(digest.digest()));
+        BankPaymentFile savedFile = bankPaymentFileRepository.save(file);
+        log.info("Bank payment file {} written with {} transfers totalling {}", reference, transactionCount, controlSum);
+
+        BankPaymentFileDTO dto = bankPaymentFileMapper.toDTO(savedFile);
+        dto.setSkippedPayslips(payslipRepository.countUnreleasedApprovedByPeriod(month, year));
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BankPaymentFileDTO getPaymentFileById(Long id) {
+        return bankPaymentFileMapper.toDTO(getPaymentFileEntityById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BankPaymentFileDTO> getPaymentFilesByPeriod(Integer month, Integer year) {
+        return bankPaymentFileMapper.toDTOList(bankPaymentFileRepository.findByMonthAndYearOrderByCreatedAtDesc(month, year));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Resource getPaymentFileContent(Long id) {
+        BankPaymentFile file = getPaymentFileEntityById(id);
+        Resource resource = new FileSystemResource(file.getStoragePath());
+        if (!resource.exists()) {
+            throw new ResourceNotFoundException("Bank payment file content", "reference", file.getReference());
+        }
+        return resource;
+    }
+
+    @Override
+    public BankPaymentFileDTO acknowledgePaymentFile(Long id, String checksum) {
+        log.info("Acknowledging bank payment file with ID: {}", id);
+        BankPaymentFile file = getPaymentFileEntityById(id);
+
+        if (file.getStatus() != BankFileStatus.GENERATED) {
+            throw new BusinessException("Only generated payment files can be acknowledged");
+        }
+        if (checksum != null && !checksum.equalsIgnoreCase(file.getChecksum())) {
+            throw new BusinessException("Checksum does not match payment file " + file.getReference());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> paidPayslips = payslipRepository.findApprovedKeysByPaymentFile(file);
+        int paid = payslipRepository.updateStatusByPaymentFile(file, PayslipStatus.PAID, now);
+        // The bulk update skips the entity lifecycle, so the read models are told about each payslip here
+        paidPayslips.forEach(key -> eventPublisher.publishEvent(new PayslipChangedEvent((Long) key[0], (Long) key[1],
+                (Integer) key[2], (Integer) key[3], PayslipStatus.PAID, ChangeType.UPDATED)));
+        file.setStatus(BankFileStatus.ACKNOWLEDGED);
+        file.setAcknowledgedAt(now);
+        BankPaymentFile savedFile = bankPaymentFileRepository.save(file);
+
+        log.info("Bank payment file {} acknowledged, {} payslips marked as paid", file.getReference(), paid);
+        return bankPaymentFileMapper.toDTO(savedFile);
+    }
+
+    @Override
+    public BankPaymentFileDTO cancelPaymentFile(Long id) {
+        log.info("Cancelling bank payment file with ID: {}", id);
+        BankPaymentFile file = getPaymentFileEntityById(id);
+
+        if (file.getStatus() != BankFileStatus.GENERATED) {
+            throw new BusinessException("Only generated payment files can be cancelled");
+        }
+
+        // Released payslips can be included in a new file for the period
+        int released = payslipRepository.releasePaymentFile(file);
+        file.setStatus(BankFileStatus.CANCELLED);
+        BankPaymentFile savedFile = bankPaymentFileRepository.save(file);
+
+        log.info("Bank payment file {} cancelled, {} payslips released", file.getReference(), released);
+        return bankPaymentFileMapper.toDTO(savedFile);
+    }
+
+    private BankPaymentFile getPaymentFileEntityById(Long id) {
+        return bankPaymentFileRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bank payment file", "id", id));
+    }
+
+    private BankFileWriter writerFor(BankFileFormat format) {
+        Map<BankFileFormat, BankFileWriter> byFormat = new EnumMap<>(BankFileFormat.class);
+        writers.forEach(writer -> byFormat.put(writer.getFormat(), writer));
+        BankFileWriter writer = byFormat.get(format);
+        if (writer == null) {
+            throw new BusinessException("Unsupported bank file format: " + format);
+        }
+        return writer;
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete incomplete payment file {}: {}", path, e.getMessage());
+        }
+    }
+}
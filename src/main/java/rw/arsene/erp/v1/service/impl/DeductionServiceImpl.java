@@ -13,6 +13,7 @@ import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.mapper.DeductionMapper;
 import rw.arsene.erp.v1.repository.DeductionRepository;
 import rw.arsene.erp.v1.service.DeductionService;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.util.List;
 import java.util.UUID;
@@ -127,7 +128,8 @@ public class DeductionServiceImpl implements DeductionService {
     @Override
     @Transactional(readOnly = true)
     public Page<DeductionDTO> searchDeductions(String keyword, Pageable pageable) {
-        Page<Deduction> deductions = deductionRepository.searchDeductions(keyword, pageable);
+        Page<Deduction> deductions = deductionRepository.searchDeductions(
+                SearchPageRequests.keyword(keyword), SearchPageRequests.ranked(pageable));
         return deductions.map(deductionMapper::toDTO);
     }
     
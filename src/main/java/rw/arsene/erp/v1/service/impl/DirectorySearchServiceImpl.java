@@ -0,0 +1,162 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rw.arsene.erp.v1.dto.DirectoryEntryDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.enums.EmployeeStatus;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
+import rw.arsene.erp.v1.event.EmploymentDetailsChangedEvent;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.search.DirectoryDocument;
+import rw.arsene.erp.v1.search.DirectoryIndex;
+import rw.arsene.erp.v1.service.DirectorySearchService;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DirectorySearchServiceImpl implements DirectorySearchService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmploymentDetailsRepository employmentDetailsRepository;
+
+    private final Object swapLock = new Object();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private volatile DirectoryIndex index = new DirectoryIndex();
+    private boolean rebuilding;
+
+    @Override
+    public List<DirectoryEntryDTO> typeahead(String query, int limit) {
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return index.search(query, boundedLimit).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (swapLock) {
+            rebuilding = true;
+        }
+
+        Set<Long> pending;
+        try {
+            Map<Long, String[]> activeEmployment = new HashMap<>();
+            for (Object[] row : employmentDetailsRepository.findActiveEmploymentDirectoryRows()) {
+                activeEmployment.put((Long) row[0], new String[] {(String) row[1], (String) row[2]});
+            }
+
+            DirectoryIndex fresh = new DirectoryIndex();
+            for (Object[] row : employeeRepository.findDirectoryRows()) {
+                Long employeeId = (Long) row[0];
+                String[] employment = activeEmployment.get(employeeId);
+                fresh.put(DirectoryDocument.builder()
+                        .employeeId(employeeId)
+                        .code((String) row[1])
+                        .firstName((String) row[2])
+                        .lastName((String) row[3])
+                        .email((String) row[4])
+                        .mobile((String) row[5])
+                        .status((EmployeeStatus) row[6])
+                        .department(employment != null ? employment[0] : null)
+                        .position(employment != null ? employment[1] : null)
+                        .build());
+            }
+
+            synchronized (swapLock) {
+                index = fresh;
+                pending = new HashSet<>(changedDuringRebuild);
+            }
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+
+        // Changes committed while the snapshot was loading may be missing from it
+        pending.forEach(this::refreshEmployee);
+        log.info("Directory index built with {} employees in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        synchronized (swapLock) {
+            if (rebuilding) {
+                changedDuringRebuild.add(employeeId);
+            }
+        }
+
+        Optional<Employee> employee = employeeRepository.findById(employeeId);
+        if (employee.isEmpty()) {
+            index.remove(employeeId);
+            return;
+        }
+
+        Optional<EmploymentDetails> employment = employmentDetailsRepository.findActiveEmploymentByEmployeeId(employeeId);
+        index.put(toDocument(employee.get(), employment.orElse(null)));
+    }
+
+    // Deletions go through refreshEmployee too, so one during a rebuild is replayed over the snapshot
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        refreshEmployee(event.getEmployeeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmploymentDetailsChanged(EmploymentDetailsChangedEvent event) {
+        refreshEmployee(event.getEmployeeId());
+    }
+
+    private DirectoryDocument toDocument(Employee employee, EmploymentDetails employment) {
+        return DirectoryDocument.builder()
+                .employeeId(employee.getId())
+                .code(employee.getCode())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .mobile(employee.getMobile())
+                .status(employee.getStatus())
+                .department(employment != null ? employment.getDepartment() : null)
+                .position(employment != null ? employment.getPosition() : null)
+                .build();
+    }
+
+    private DirectoryEntryDTO toDTO(DirectoryDocument document) {
+        return DirectoryEntryDTO.builder()
+                .employeeId(document.getEmployeeId())
+                .code(document.getCode())
+                .firstName(document.getFirstName())
+                .lastName(document.getLastName())
+                .email(document.getEmail())
+                .mobile(document.getMobile())
+                .status(document.getStatus())
+                .department(document.getDepartment())
+                .position(document.getPosition())
+                .build();
+    }
+}
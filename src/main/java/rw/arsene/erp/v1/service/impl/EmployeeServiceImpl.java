@@ -2,6 +2,7 @@ package rw.arsene.erp.v1.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,14 +11,21 @@ import org.springframework.transaction.annotation.Transactional;
 import rw.arsene.erp.v1.dto.EmployeeDTO;
 import rw.arsene.erp.v1.dto.SignupRequest;
 import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.enums.ChangeType;
 import rw.arsene.erp.v1.enums.EmployeeStatus;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
 import rw.arsene.erp.v1.exception.DuplicateResourceException;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.mapper.EmployeeMapper;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.RoleRepository;
 import rw.arsene.erp.v1.service.EmployeeService;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,8 +34,10 @@ import java.util.List;
 public class EmployeeServiceImpl implements EmployeeService {
     
     private final EmployeeRepository employeeRepository;
+    private final RoleRepository roleRepository;
     private final EmployeeMapper employeeMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public EmployeeDTO createEmployee(SignupRequest signupRequest) {
@@ -51,6 +61,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         Employee savedEmployee = employeeRepository.save(employee);
         log.info("Employee created successfully with ID: {}", savedEmployee.getId());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(savedEmployee.getId(), ChangeType.CREATED));
         
         return employeeMapper.toDTO(savedEmployee);
     }
@@ -84,11 +95,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         existingEmployee.setEmail(employeeDTO.getEmail());
         existingEmployee.setMobile(employeeDTO.getMobile());
         existingEmployee.setDateOfBirth(employeeDTO.getDateOfBirth());
-        existingEmployee.setRoles(employeeDTO.getRoles());
+        if (employeeDTO.getRoles() != null) {
+            existingEmployee.setRoles(new HashSet<>(Set.of(roleRepository.findByName(employeeDTO.getRoles())
+                    .orElseThrow(() -> new ResourceNotFoundException("Role", "name", employeeDTO.getRoles())))));
+        }
         existingEmployee.setStatus(employeeDTO.getStatus());
+        existingEmployee.setBankAccountNumber(employeeDTO.getBankAccountNumber());
+        existingEmployee.setBankCode(employeeDTO.getBankCode());
         
         Employee updatedEmployee = employeeRepository.save(existingEmployee);
         log.info("Employee updated successfully with ID: {}", updatedEmployee.getId());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(), ChangeType.UPDATED));
         
         return employeeMapper.toDTO(updatedEmployee);
     }
@@ -146,7 +163,8 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     @Transactional(readOnly = true)
     public Page<EmployeeDTO> searchEmployees(String keyword, Pageable pageable) {
-        Page<Employee> employees = employeeRepository.searchEmployees(keyword, pageable);
+        Page<Employee> employees = employeeRepository.searchEmployees(
+                SearchPageRequests.keyword(keyword), SearchPageRequests.ranked(pageable));
         return employees.map(employeeMapper::toDTO);
     }
     
@@ -163,6 +181,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = getEmployeeEntityById(id);
         employee.setStatus(EmployeeStatus.ACTIVE);
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(), ChangeType.UPDATED));
         return employeeMapper.toDTO(updatedEmployee);
     }
     
@@ -172,6 +191,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = getEmployeeEntityById(id);
         employee.setStatus(EmployeeStatus.INACTIVE);
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(), ChangeType.UPDATED));
         return employeeMapper.toDTO(updatedEmployee);
     }
     
@@ -181,6 +201,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = getEmployeeEntityById(id);
         employee.setStatus(EmployeeStatus.SUSPENDED);
         Employee updatedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(), ChangeType.UPDATED));
         return employeeMapper.toDTO(updatedEmployee);
     }
     
@@ -192,8 +213,16 @@ public class EmployeeServiceImpl implements EmployeeService {
         // Check if employee has any dependencies (employment details, payslips, etc.)
         // This should be handled based on business rules
         
+        // The payslips are deleted with the employee; the payslip read models learn of it per payslip
+        List<PayslipChangedEvent> deletedPayslips = employee.getPayslips().stream()
+                .map(payslip -> new PayslipChangedEvent(payslip.getId(), id, payslip.getMonth(), payslip.getYear(),
+                        payslip.getStatus(), ChangeType.DELETED))
+                .toList();
+        
         employeeRepository.delete(employee);
         log.info("Employee deleted successfully with ID: {}", id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, ChangeType.DELETED));
+        deletedPayslips.forEach(eventPublisher::publishEvent);
     }
     
     @Override
@@ -2,6 +2,7 @@ package rw.arsene.erp.v1.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -9,13 +10,17 @@ import org.springframework.transaction.annotation.Transactional;
 import rw.arsene.erp.v1.dto.EmploymentDetailsDTO;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.enums.ChangeType;
 import rw.arsene.erp.v1.enums.EmploymentStatus;
+import rw.arsene.erp.v1.event.EmploymentDetailsChangedEvent;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.exception.DuplicateResourceException;
 import rw.arsene.erp.v1.mapper.EmploymentDetailsMapper;
 import rw.arsene.erp.v1.repository.EmployeeRepository;
 import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
 import rw.arsene.erp.v1.service.EmploymentDetailsService;
+import rw.arsene.erp.v1.service.EmploymentDictionaryService;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.util.Date;
 import java.util.List;
@@ -30,6 +35,8 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
     private final EmploymentDetailsRepository employmentDetailsRepository;
     private final EmployeeRepository employeeRepository;
     private final EmploymentDetailsMapper employmentDetailsMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmploymentDictionaryService employmentDictionaryService;
     
     @Override
     public EmploymentDetailsDTO createEmploymentDetails(EmploymentDetailsDTO employmentDetailsDTO) {
@@ -56,6 +63,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         
         EmploymentDetails savedEmploymentDetails = employmentDetailsRepository.save(employmentDetails);
         log.info("Employment details created successfully with ID: {}", savedEmploymentDetails.getId());
+        publishChange(savedEmploymentDetails, ChangeType.CREATED);
         
         return employmentDetailsMapper.toDTO(savedEmploymentDetails);
     }
@@ -86,6 +94,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         
         EmploymentDetails updatedEmploymentDetails = employmentDetailsRepository.save(existingEmploymentDetails);
         log.info("Employment details updated successfully with ID: {}", updatedEmploymentDetails.getId());
+        publishChange(updatedEmploymentDetails, ChangeType.UPDATED);
         
         return employmentDetailsMapper.toDTO(updatedEmploymentDetails);
     }
@@ -163,7 +172,8 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
     public Page<EmploymentDetailsDTO> searchEmploymentDetails(String keyword, Pageable pageable) {
         log.info("Searching employment details with keyword: {}", keyword);
         
-        Page<EmploymentDetails> employmentDetailsPage = employmentDetailsRepository.searchEmploymentDetails(keyword, pageable);
+        Page<EmploymentDetails> employmentDetailsPage = employmentDetailsRepository.searchEmploymentDetails(
+                SearchPageRequests.keyword(keyword), SearchPageRequests.ranked(pageable));
         return employmentDetailsPage.map(employmentDetailsMapper::toDTO);
     }
     
@@ -190,6 +200,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         
         EmploymentDetails updatedEmploymentDetails = employmentDetailsRepository.save(employmentDetails);
         log.info("Employment details activated successfully with ID: {}", updatedEmploymentDetails.getId());
+        publishChange(updatedEmploymentDetails, ChangeType.UPDATED);
         
         return employmentDetailsMapper.toDTO(updatedEmploymentDetails);
     }
@@ -207,6 +218,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         
         EmploymentDetails updatedEmploymentDetails = employmentDetailsRepository.save(employmentDetails);
         log.info("Employment details terminated successfully with ID: {}", updatedEmploymentDetails.getId());
+        publishChange(updatedEmploymentDetails, ChangeType.UPDATED);
         
         return employmentDetailsMapper.toDTO(updatedEmploymentDetails);
     }
@@ -218,11 +230,12 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         EmploymentDetails employmentDetails = employmentDetailsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employment details not found with ID: " + id));
         
-        employmentDetails.setStatus(EmploymentStatus.SUSPENDED);
+        employmentDetails.setStatus(EmploymentStatus.ON_LEAVE);
         employmentDetails.setUpdatedAt(new Date());
         
         EmploymentDetails updatedEmploymentDetails = employmentDetailsRepository.save(employmentDetails);
         log.info("Employment details suspended successfully with ID: {}", updatedEmploymentDetails.getId());
+        publishChange(updatedEmploymentDetails, ChangeType.UPDATED);
         
         return employmentDetailsMapper.toDTO(updatedEmploymentDetails);
     }
@@ -239,6 +252,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         
         employmentDetailsRepository.delete(employmentDetails);
         log.info("Employment details deleted successfully with ID: {}", id);
+        publishChange(employmentDetails, ChangeType.DELETED);
     }
     
     @Override
@@ -265,7 +279,7 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
     @Override
     @Transactional(readOnly = true)
     public long countByDepartment(String department) {
-        return employmentDetailsRepository.countByDepartment(department);
+        return employmentDictionaryService.countByDepartment(department);
     }
     
     @Override
@@ -277,4 +291,10 @@ public class EmploymentDetailsServiceImpl implements EmploymentDetailsService {
         return employmentDetailsRepository.findByEmployeeAndStatus(employee, EmploymentStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException("Active employment details not found for employee ID: " + employeeId));
     }
+
+    private void publishChange(EmploymentDetails employmentDetails, ChangeType changeType) {
+        eventPublisher.publishEvent(new EmploymentDetailsChangedEvent(
+                employmentDetails.getId(), employmentDetails.getEmployee().getId(),
+                employmentDetails.getDepartment(), employmentDetails.getPosition(), changeType));
+    }
 }
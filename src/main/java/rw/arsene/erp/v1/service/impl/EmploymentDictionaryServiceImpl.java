@@ -0,0 +1,150 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rw.arsene.erp.v1.dto.DictionaryEntryDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
+import rw.arsene.erp.v1.event.EmploymentDetailsChangedEvent;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.search.EmploymentDictionary;
+import rw.arsene.erp.v1.service.EmploymentDictionaryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmploymentDictionaryServiceImpl implements EmploymentDictionaryService {
+
+    private final EmploymentDetailsRepository employmentDetailsRepository;
+
+    private final Object swapLock = new Object();
+    // EmploymentDetailsChangedEvent and EmployeeChangedEvent, in commit order
+    private final List<Object> changedDuringRebuild = new ArrayList<>();
+    private volatile EmploymentDictionary dictionary;
+    private boolean rebuilding;
+
+    @Override
+    public List<DictionaryEntryDTO> getDepartments() {
+        return toDTOs(loaded().departments());
+    }
+
+    @Override
+    public List<DictionaryEntryDTO> getPositions() {
+        return toDTOs(loaded().positions());
+    }
+
+    @Override
+    public long countByDepartment(String department) {
+        return loaded().countDepartment(department);
+    }
+
+    @Override
+    public long countByPosition(String position) {
+        return loaded().countPosition(position);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (dictionary == null) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (swapLock) {
+            rebuilding = true;
+        }
+
+        try {
+            EmploymentDictionary fresh = new EmploymentDictionary();
+            for (Object[] row : employmentDetailsRepository.findDictionaryRows()) {
+                fresh.put((Long) row[0], (Long) row[1], (String) row[2], (String) row[3]);
+            }
+
+            // Changes committed while the snapshot was loading may be missing from it; each event
+            // carries the record's full state, so replaying them in order is safe
+            synchronized (swapLock) {
+                changedDuringRebuild.forEach(event -> apply(fresh, event));
+                dictionary = fresh;
+            }
+            log.info("Employment dictionary built with {} records in {} ms", fresh.size(), System.currentTimeMillis() - start);
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmploymentDetailsChanged(EmploymentDetailsChangedEvent event) {
+        record(event);
+    }
+
+    // The employee's records were deleted with them, without an event of their own
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            record(event);
+        }
+    }
+
+    private void record(Object event) {
+        synchronized (swapLock) {
+            if (rebuilding) {
+                changedDuringRebuild.add(event);
+            }
+            if (dictionary != null) {
+                apply(dictionary, event);
+            }
+        }
+    }
+
+    // Requests arriving before the startup build completes wait for it instead of seeing an empty list
+    private EmploymentDictionary loaded() {
+        EmploymentDictionary current = dictionary;
+        if (current == null) {
+            synchronized (this) {
+                if (dictionary == null) {
+                    rebuild();
+                }
+                current = dictionary;
+            }
+        }
+        return current;
+    }
+
+    private void apply(EmploymentDictionary target, Object change) {
+        if (change instanceof EmployeeChangedEvent event) {
+            target.removeEmployee(event.getEmployeeId());
+        } else if (change instanceof EmploymentDetailsChangedEvent event) {
+            if (event.getChangeType() == ChangeType.DELETED) {
+                target.remove(event.getEmploymentDetailsId());
+            } else {
+                target.put(event.getEmploymentDetailsId(), event.getEmployeeId(), event.getDepartment(), event.getPosition());
+            }
+        }
+    }
+
+    private List<DictionaryEntryDTO> toDTOs(List<Map.Entry<String, Integer>> entries) {
+        return entries.stream()
+                .map(entry -> DictionaryEntryDTO.builder()
+                        .value(entry.getKey())
+                        .count(entry.getValue())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.EntityVersion;
+import rw.arsene.erp.v1.repository.DeductionRepository;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.repository.MessageRepository;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.EntityVersionService;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EntityVersionServiceImpl implements EntityVersionService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmploymentDetailsRepository employmentDetailsRepository;
+    private final DeductionRepository deductionRepository;
+    private final MessageRepository messageRepository;
+    private final PayslipRepository payslipRepository;
+
+    @Override
+    public Optional<EntityVersion> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public Optional<EntityVersion> getEmploymentDetailsVersion(Long id) {
+        return employmentDetailsRepository.findVersionById(id);
+    }
+
+    @Override
+    public Optional<EntityVersion> getDeductionVersion(Long id) {
+        return deductionRepository.findVersionById(id);
+    }
+
+    @Override
+    public Optional<EntityVersion> getMessageVersion(Long id) {
+        return messageRepository.findVersionById(id);
+    }
+
+    @Override
+    public Optional<EntityVersion> getPayslipVersion(Long id) {
+        return payslipRepository.findVersionById(id);
+    }
+}
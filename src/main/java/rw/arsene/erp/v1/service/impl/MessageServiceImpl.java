@@ -1,5 +1,6 @@
 package rw.arsene.erp.v1.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,7 @@ import rw.arsene.erp.v1.repository.MessageRepository;
 import rw.arsene.erp.v1.service.EmployeeService;
 import rw.arsene.erp.v1.service.MessageService;
 import rw.arsene.erp.v1.service.PayrollService;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -116,7 +118,7 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public Page<MessageDTO> getMessagesByStatus(MessageSentStatus status, Pageable pageable) {
-        Page<Message> messages = messageRepository.findAll(pageable); // TODO: Implement proper filtering by status
+        Page<Message> messages = messageRepository.findByStatusOrderBySentAtDesc(status, pageable);
         return messages.map(messageMapper::toDTO);
     }
 
@@ -130,16 +132,15 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public Page<MessageDTO> getMessagesByPeriod(String monthYear, Pageable pageable) {
-        // Since there's no direct method for paging by monthYear, we'll use a workaround
-        Page<Message> messages = messageRepository.findAll(pageable);
+        Page<Message> messages = messageRepository.findByMonthYearOrderBySentAtDesc(monthYear, pageable);
         return messages.map(messageMapper::toDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<MessageDTO> searchMessages(String keyword, Pageable pageable) {
-        // Since there's no searchMessages method, we'll use a workaround
-        Page<Message> messages = messageRepository.findAll(pageable);
+        Page<Message> messages = messageRepository.searchMessages(
+                SearchPageRequests.keyword(keyword), SearchPageRequests.ranked(pageable));
         return messages.map(messageMapper::toDTO);
     }
 
@@ -206,6 +207,7 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Timed(value = "erp.payroll.notifications", description = "Payslip notifications for a period", histogram = true)
     public List<MessageDTO> sendPayslipNotifications(Integer month, Integer year) {
         log.info("Sending payslip notifications for period {}/{}", month, year);
 
@@ -286,8 +288,7 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public long countByPeriod(String monthYear) {
-        // Since there's no direct method for counting by monthYear, we'll count manually
-        return messageRepository.findByMonthYear(monthYear).size();
+        return messageRepository.countByMonthYear(monthYear);
     }
 
     @Override
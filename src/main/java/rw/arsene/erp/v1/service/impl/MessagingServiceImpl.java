@@ -59,9 +59,8 @@ public class MessagingServiceImpl implements MessagingService {
         Message notification = new Message();
         notification.setEmployee(employee);
         notification.setMessage(messageText);
-        notification.setMonth(payslip.getMonth());
-        notification.setYear(payslip.getYear());
-        notification.setSentStatus(MessageSentStatus.PENDING); // Initially pending
+        notification.setMonthYear(String.format("%02d/%d", payslip.getMonth(), payslip.getYear()));
+        notification.setStatus(MessageSentStatus.PENDING); // Initially pending
 
         try {
             Message savedMessage = messageRepository.save(notification);
@@ -75,11 +74,11 @@ public class MessagingServiceImpl implements MessagingService {
 
     @Override
     @Transactional
-    public void sendSalaryNotificationEmail(String messageId) {
+    public void sendSalaryNotificationEmail(Long messageId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message", "id", messageId));
 
-        if (message.getSentStatus() == MessageSentStatus.SENT) {
+        if (message.getStatus() == MessageSentStatus.SENT) {
             logger.warn("Email for message ID {} already sent.", messageId);
             return;
         }
@@ -87,7 +86,7 @@ public class MessagingServiceImpl implements MessagingService {
         Employee employee = message.getEmployee();
         if (employee == null || employee.getEmail() == null) {
             logger.error("Cannot send email for message ID {}: Employee or email is null.", messageId);
-            message.setSentStatus(MessageSentStatus.FAILED);
+            message.markAsFailed("Employee or email is missing");
             messageRepository.save(message);
             return;
         }
@@ -97,7 +96,7 @@ public class MessagingServiceImpl implements MessagingService {
             /*
             SimpleMailMessage mailMessage = new SimpleMailMessage();
             mailMessage.setTo(employee.getEmail());
-            mailMessage.setSubject("Salary Notification - " + Month.of(message.getMonth()).getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + message.getYear());
+            mailMessage.setSubject("Salary Notification - " + message.getMonthYear());
             mailMessage.setText(message.getMessage());
             // mailMessage.setFrom("noreply@gov.rw"); // Configure sender email
             emailSender.send(mailMessage);
@@ -106,13 +105,13 @@ public class MessagingServiceImpl implements MessagingService {
 
             // Simulate sending for now
             logger.info("Simulating email sent to {} for message ID {}", employee.getEmail(), messageId);
-            message.setSentStatus(MessageSentStatus.SENT);
+            message.markAsSent();
             messageRepository.save(message);
             logger.info("Email notification status updated to SENT for message ID {}", messageId);
 
         } catch (Exception e) {
             logger.error("Failed to send salary notification email for message ID {}: {}", messageId, e.getMessage());
-            message.setSentStatus(MessageSentStatus.FAILED);
+            message.markAsFailed(e.getMessage());
             messageRepository.save(message);
         }
     }
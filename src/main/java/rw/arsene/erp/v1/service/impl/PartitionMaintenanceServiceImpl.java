@@ -0,0 +1,225 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.service.PayrollArchiveService;
+import rw.arsene.erp.v1.service.PartitionMaintenanceService;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the range partitions of {@code payslips} (one per year) and {@code messages} (one per
+ * month) ahead of the calendar, and optionally retires partitions older than the hot window. See
+ * the V3 migration for the layout. Partition DDL is idempotent, so several instances may run it
+ * concurrently.
+ *
+ * <p>Retired rows are owned by the payroll cold archive ({@link PayrollArchiveService}), the one
+ * place employee history is read back from: a payslip partition's year is archived there, which
+ * also moves the notifications of its payslips, and a partition is only dropped once nothing is
+ * left in it. Payslips that are not PAID, and their messages, keep their partition.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private static final String PAYSLIPS = "payslips";
+    private static final String MESSAGES = "messages";
+    private static final DateTimeFormatter MESSAGE_PARTITION = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+            "WHERE p.relname = ? AND n.nspname = current_schema() " +
+            "ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollArchiveService payrollArchiveService;
+
+    @Value("${app.partitions.maintain-on-startup:true}")
+    private boolean maintainOnStartup;
+
+    @Value("${app.partitions.payslips.years-ahead:1}")
+    private int payslipYearsAhead;
+
+    @Value("${app.partitions.messages.months-ahead:3}")
+    private int messageMonthsAhead;
+
+    @Value("${app.partitions.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.partitions.archive.payslips.hot-years:5}")
+    private int payslipHotYears;
+
+    @Value("${app.partitions.archive.messages.hot-months:24}")
+    private int messageHotMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (maintainOnStartup) {
+            maintainPartitions();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.BATCH)) {
+            int created = createFuturePartitions();
+            int archived = archiveEnabled ? archiveExpiredPartitions() : 0;
+            warnIfDefaultPartitionUsed(PAYSLIPS);
+            warnIfDefaultPartitionUsed(MESSAGES);
+            log.info("Partition maintenance done: {} partitions created, {} archived", created, archived);
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance failed", e);
+        }
+    }
+
+    @Override
+    public int createFuturePartitions() {
+        List<String> payslipPartitions = listPartitions(PAYSLIPS);
+        List<String> messagePartitions = listPartitions(MESSAGES);
+        int created = 0;
+
+        int currentYear = YearMonth.now().getYear();
+        for (int year = currentYear; year <= currentYear + payslipYearsAhead; year++) {
+            String name = payslipPartition(year);
+            if (!payslipPartitions.contains(name)) {
+                created += createPartition(name, "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PAYSLIPS
+                        + " FOR VALUES FROM (" + year + ", 1) TO (" + (year + 1) + ", 1)");
+            }
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        for (int i = 0; i <= messageMonthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            String name = messagePartition(month);
+            if (!messagePartitions.contains(name)) {
+                created += createPartition(name, "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + MESSAGES
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public int archiveExpiredPartitions() {
+        int archived = 0;
+
+        int oldestHotYear = YearMonth.now().getYear() - payslipHotYears + 1;
+        for (String name : listPartitions(PAYSLIPS)) {
+            Integer year = parseSuffix(name, PAYSLIPS + "_y");
+            if (year != null && year < oldestHotYear && archiveYear(name, year)) {
+                archived += dropIfEmpty(PAYSLIPS, name);
+            }
+        }
+
+        // Emptied by archiving the years whose notifications they hold
+        YearMonth oldestHotMonth = YearMonth.now().minusMonths(messageHotMonths - 1L);
+        String oldestHotMessagePartition = messagePartition(oldestHotMonth);
+        for (String name : listPartitions(MESSAGES)) {
+            if (parseSuffix(name, MESSAGES + "_p") != null && name.compareTo(oldestHotMessagePartition) < 0) {
+                archived += dropIfEmpty(MESSAGES, name);
+            }
+        }
+        return archived;
+    }
+
+    private boolean archiveYear(String partition, int year) {
+        Boolean paid = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status = 'PAID')", Boolean.class);
+        if (!Boolean.TRUE.equals(paid)) {
+            return true;
+        }
+        try {
+            payrollArchiveService.archiveClosedYear(year);
+            return true;
+        } catch (IOException | BusinessException | DataAccessException e) {
+            log.error("Could not archive payroll year {} of partition {}", year, partition, e);
+            return false;
+        }
+    }
+
+    // Detach and drop in one transaction so a failure leaves the partition attached
+    private int dropIfEmpty(String parent, String partition) {
+        try {
+            Boolean dropped = transactionTemplate.execute(status -> {
+                Boolean empty = jdbcTemplate.queryForObject(
+                        "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+                if (!Boolean.TRUE.equals(empty)) {
+                    log.info("Partition {} still holds rows and stays attached", partition);
+                    return false;
+                }
+                jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped archived partition {}", partition);
+                return true;
+            });
+            return Boolean.TRUE.equals(dropped) ? 1 : 0;
+        } catch (DataAccessException e) {
+            log.error("Could not drop partition {}", partition, e);
+            return 0;
+        }
+    }
+
+    private int createPartition(String name, String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+            log.info("Created partition {}", name);
+            return 1;
+        } catch (DataAccessException e) {
+            // Usually rows for the new range already sit in the default partition
+            log.error("Could not create partition {}", name, e);
+            return 0;
+        }
+    }
+
+    private void warnIfDefaultPartitionUsed(String parent) {
+        Boolean used = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + parent + "_default)", Boolean.class);
+        if (Boolean.TRUE.equals(used)) {
+            log.warn("{}_default holds rows outside every partition range; move them into a proper partition",
+                    parent);
+        }
+    }
+
+    private List<String> listPartitions(String parent) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class, parent);
+    }
+
+    private static String payslipPartition(int year) {
+        return PAYSLIPS + "_y" + year;
+    }
+
+    private static String messagePartition(YearMonth month) {
+        return MESSAGES + "_p" + month.format(MESSAGE_PARTITION);
+    }
+
+    private static Integer parseSuffix(String name, String prefix) {
+        if (!name.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.arsene.erp.v1.analytics.AnalyticsQuery;
+import rw.arsene.erp.v1.analytics.PayslipCube;
+import rw.arsene.erp.v1.analytics.PayslipFact;
+import rw.arsene.erp.v1.archive.PayrollColdArchive;
+import rw.arsene.erp.v1.datasource.WorkloadContext;
+import rw.arsene.erp.v1.dto.PayrollAnalyticsDTO;
+import rw.arsene.erp.v1.dto.PayrollAnalyticsRowDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.Workload;
+import rw.arsene.erp.v1.event.PayrollYearArchivedEvent;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.PayrollAnalyticsService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollAnalyticsServiceImpl implements PayrollAnalyticsService {
+
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    private static final Comparator<PayrollAnalyticsRowDTO> ROW_ORDER = Comparator
+            .comparing(PayrollAnalyticsRowDTO::getYear, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PayrollAnalyticsRowDTO::getMonth, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PayrollAnalyticsRowDTO::getDepartment, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PayrollAnalyticsRowDTO::getPosition, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PayrollAnalyticsRowDTO::getStatus, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final PayslipRepository payslipRepository;
+    private final PayrollColdArchive coldArchive;
+    private final PlatformTransactionManager transactionManager;
+
+    // Payslips changed since the last refresh; loaded in batches so a payroll run costs a few queries
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    private final Object swapLock = new Object();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private volatile PayslipCube cube;
+    private boolean rebuilding;
+
+    @Override
+    public PayrollAnalyticsDTO analyze(AnalyticsQuery query) {
+        PayslipCube current = loaded();
+        long start = System.nanoTime();
+        List<PayrollAnalyticsRowDTO> rows = current.query(query).stream()
+                .map(this::toDTO)
+                .sorted(ROW_ORDER)
+                .toList();
+        return PayrollAnalyticsDTO.builder()
+                .groupBy(query.groupBy())
+                .rows(rows)
+                .facts(current.size())
+                .elapsedMicros((System.nanoTime() - start) / 1_000)
+                .build();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (cube == null) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (swapLock) {
+            rebuilding = true;
+        }
+
+        Set<Long> pending;
+        try {
+            PayslipCube fresh = new PayslipCube();
+            for (Integer year : coldArchive.archivedYears()) {
+                coldArchive.readPayslips(year).forEach(payslip -> fresh.put(PayslipFact.fromDTO(payslip)));
+            }
+            // Streaming needs a transaction; read-only also lets it run on a replica when configured
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            try (WorkloadContext.Scope ignored = WorkloadContext.open(Workload.REPORTING)) {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<Object[]> facts = payslipRepository.streamAnalyticsFacts()) {
+                        facts.forEach(row -> fresh.put(PayslipFact.fromRow(row)));
+                    }
+                });
+            }
+
+            synchronized (swapLock) {
+                cube = fresh;
+                pending = new HashSet<>(changedDuringRebuild);
+            }
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+
+        // Changes committed while the snapshot was loading may be missing from it
+        refresh(pending);
+        log.info("Payroll analytics cube built with {} payslips in {} ms", cube.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayslipChanged(PayslipChangedEvent event) {
+        synchronized (swapLock) {
+            if (rebuilding) {
+                changedDuringRebuild.add(event.getPayslipId());
+            }
+        }
+        PayslipCube current = cube;
+        if (event.getChangeType() == ChangeType.DELETED) {
+            if (current != null) {
+                current.remove(event.getPayslipId());
+            }
+            pendingRefresh.remove(event.getPayslipId());
+        } else {
+            pendingRefresh.add(event.getPayslipId());
+        }
+    }
+
+    // Archived payslips left the database one by one; the rebuild picks them up from the archive
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayrollYearArchived(PayrollYearArchivedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval-ms:2000}")
+    public void refreshPending() {
+        if (cube == null || pendingRefresh.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingRefresh);
+        ids.forEach(pendingRefresh::remove);
+        refresh(ids);
+    }
+
+    private void refresh(Collection<Long> payslipIds) {
+        if (payslipIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(payslipIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (Object[] row : payslipRepository.findAnalyticsFactsByIds(batch)) {
+                PayslipFact fact = PayslipFact.fromRow(row);
+                cube.put(fact);
+                missing.remove(fact.payslipId());
+            }
+            missing.forEach(cube::remove);
+        }
+    }
+
+    // Requests arriving before the startup build completes wait for it instead of seeing an empty cube
+    private PayslipCube loaded() {
+        PayslipCube current = cube;
+        if (current == null) {
+            synchronized (this) {
+                if (cube == null) {
+                    rebuild();
+                }
+                current = cube;
+            }
+        }
+        return current;
+    }
+
+    private PayrollAnalyticsRowDTO toDTO(PayslipCube.Group group) {
+        long[] sums = group.sums();
+        return PayrollAnalyticsRowDTO.builder()
+                .year(group.year())
+                .month(group.month())
+                .department(group.department())
+                .position(group.position())
+                .status(group.status())
+                .payslips(group.payslips())
+                .grossSalary(PayslipCube.fromCents(sums[PayslipCube.GROSS]))
+                .netSalary(PayslipCube.fromCents(sums[PayslipCube.NET]))
+                .totalDeductions(PayslipCube.fromCents(sums[PayslipCube.DEDUCTIONS]))
+                .employeeTaxed(PayslipCube.fromCents(sums[PayslipCube.TAX]))
+                .pensionAmount(PayslipCube.fromCents(sums[PayslipCube.PENSION]))
+                .medicalInsurance(PayslipCube.fromCents(sums[PayslipCube.MEDICAL]))
+                .otherTaxed(PayslipCube.fromCents(sums[PayslipCube.OTHER]))
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package rw.arsene.erp.v1.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.archive.PayrollColdArchive;
+import rw.arsene.erp.v1.dto.MessageDTO;
+import rw.arsene.erp.v1.dto.PayrollArchiveReportDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.event.PayrollYearArchivedEvent;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.mapper.MessageMapper;
+import rw.arsene.erp.v1.mapper.PayslipMapper;
+import rw.arsene.erp.v1.repository.MessageRepository;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.PayrollArchiveService;
+
+import java.io.IOException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PayrollArchiveServiceImpl implements PayrollArchiveService {
+
+    // Rows deleted, and their change events published, at a time
+    private static final int BATCH_SIZE = 1000;
+
+    private final PayslipRepository payslipRepository;
+    private final MessageRepository messageRepository;
+    private final PayslipMapper payslipMapper;
+    private final MessageMapper messageMapper;
+    private final PayrollColdArchive coldArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    // A year is closed once this many calendar years have passed since it ended
+    @Value("${app.cold-archive.closed-after-years:1}")
+    private int closedAfterYears;
+
+    @Override
+    @Timed(value = "erp.payroll.archive", description = "Closed payroll year archival", histogram = true)
+    public PayrollArchiveReportDTO archiveClosedYear(Integer year) throws IOException {
+        int lastClosedYear = Year.now().getValue() - closedAfterYears;
+        if (year > lastClosedYear) {
+            throw new BusinessException("Payroll year " + year + " is not closed; only years up to "
+                    + lastClosedYear + " can be archived");
+        }
+        log.info("Archiving paid payslips of {}", year);
+        long start = System.nanoTime();
+
+        // Rows are deleted batch by batch as they are written. The deletes only commit with this
+        // transaction, after the year's files are in place; if anything fails they roll back, the
+        // rows exist in both places and reads prefer the database copy. A repeated run merges into
+        // the same files.
+        AtomicLong messagesArchived = new AtomicLong();
+        AtomicLong payslipsArchived = new AtomicLong();
+        long archivedTotal = coldArchive.writeYear(year, writer -> {
+            // Messages first, as they are picked through the PAID payslips they notified
+            messagesArchived.set(archiveMessages(year, writer));
+            payslipsArchived.set(archivePayslips(year, writer));
+        });
+        eventPublisher.publishEvent(new PayrollYearArchivedEvent(year, payslipsArchived.get()));
+
+        long kept = payslipRepository.countByYearAndStatusNot(year, PayslipStatus.PAID);
+        if (kept > 0) {
+            log.warn("{} payslips of {} are not PAID and stay in the database", kept, year);
+        }
+
+        PayrollArchiveReportDTO report = PayrollArchiveReportDTO.builder()
+                .year(year)
+                .payslipsArchived(payslipsArchived.get())
+                .messagesArchived(messagesArchived.get())
+                .payslipsKept(kept)
+                .archivedTotal(archivedTotal)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("Archived payroll year {}: {}", year, report);
+        return report;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> getArchivedYears() {
+        return coldArchive.archivedYears();
+    }
+
+    // Only the notifications of archived payslips move; messages of payslips kept stay with them
+    private long archiveMessages(int year, PayrollColdArchive.YearWriter writer) throws IOException {
+        List<Long> batch = new ArrayList<>(BATCH_SIZE);
+        long archived = 0;
+        try (Stream<Object[]> rows = messageRepository.streamPaidForArchiveByYear(year)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                MessageDTO message = messageMapper.fromArchiveRow(it.next());
+                writer.addMessage(message);
+                batch.add(message.getId());
+                if (batch.size() == BATCH_SIZE) {
+                    archived += deleteMessages(batch);
+                }
+            }
+        }
+        return archived + deleteMessages(batch);
+    }
+
+    private long archivePayslips(int year, PayrollColdArchive.YearWriter writer) throws IOException {
+        List<PayslipDTO> batch = new ArrayList<>(BATCH_SIZE);
+        long archived = 0;
+        try (Stream<Object[]> rows = payslipRepository.streamPaidForArchiveByYear(year)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                PayslipDTO payslip = payslipMapper.fromArchiveRow(it.next());
+                writer.addPayslip(payslip);
+                batch.add(payslip);
+                if (batch.size() == BATCH_SIZE) {
+                    archived += deletePayslips(batch);
+                }
+            }
+        }
+        return archived + deletePayslips(batch);
+    }
+
+    private int deleteMessages(List<Long> batch) {
+        int deleted = batch.size();
+        if (deleted > 0) {
+            messageRepository.deleteAllByIdInBatch(batch);
+            batch.clear();
+            entityManager.clear();
+        }
+        return deleted;
+    }
+
+    private int deletePayslips(List<PayslipDTO> batch) {
+        int deleted = batch.size();
+        if (deleted > 0) {
+            payslipRepository.deleteAllByIdInBatch(batch.stream().map(PayslipDTO::getId).toList());
+            for (PayslipDTO payslip : batch) {
+                eventPublisher.publishEvent(new PayslipChangedEvent(payslip.getId(), payslip.getEmployeeId(),
+                        payslip.getMonth(), payslip.getYear(), payslip.getStatus(), ChangeType.DELETED));
+            }
+            batch.clear();
+            entityManager.clear();
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,186 @@
+package rw.arsene.erp.v1.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.PayrollRegisterRow;
+import rw.arsene.erp.v1.enums.ExportFormat;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.PayrollExportService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollExportServiceImpl implements PayrollExportService {
+
+    private static final String[] HEADERS = {
+        "Employee Code", "Employee Name", "Email", "Department", "Position",
+        "Base Salary", "House Amount", "Transport Amount", "Gross Salary",
+        "Employee Tax", "Pension", "Medical Insurance", "Other Tax",
+        "Total Deductions", "Net Salary", "Status"
+    };
+
+    // Rows kept in memory by the streaming workbook before they are flushed to a temp file
+    private static final int XLSX_ROW_WINDOW = 200;
+
+    private final PayslipRepository payslipRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "erp.payroll.export", description = "Payroll register export", histogram = true)
+    public long exportRegister(Integer month, Integer year, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting payroll register for period {}/{} as {}", month, year, format);
+
+        long count;
+        try (Stream<PayrollRegisterRow> rows = payslipRepository.streamRegisterByPeriod(month, year)) {
+            count = format == ExportFormat.XLSX
+                    ? writeXlsx(rows.iterator(), month, year, outputStream)
+                    : writeCsv(rows.iterator(), outputStream);
+        }
+
+        log.info("Exported {} payslips for period {}/{}", count, month, year);
+        return count;
+    }
+
+    private long writeCsv(Iterator<PayrollRegisterRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writeCsvLine(writer, HEADERS);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            PayrollRegisterRow row = rows.next();
+            writeCsvLine(writer, new String[] {
+                text(row.getEmployeeCode()),
+                text(row.getEmployeeName()),
+                text(row.getEmail()),
+                text(row.getDepartment()),
+                text(row.getPosition()),
+                plain(row.getBaseSalary()),
+                plain(row.getHouseAmount()),
+                plain(row.getTransportAmount()),
+                plain(row.getGrossSalary()),
+                plain(row.getEmployeeTaxed()),
+                plain(row.getPensionAmount()),
+                plain(row.getMedicalInsurance()),
+                plain(row.getOtherTaxed()),
+                plain(row.getTotalDeductions()),
+                plain(row.getNetSalary()),
+                row.getStatus().name()
+            });
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    // Spreadsheets run a cell starting with one of these as a formula; the quote keeps it text
+    private String text(String value) {
+        if (value != null && !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private long writeXlsx(Iterator<PayrollRegisterRow> rows, Integer month, Integer year, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet(String.format("Payroll %02d-%d", month, year));
+
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerStyle);
+            }
+
+            int rowIndex = 1;
+            while (rows.hasNext()) {
+                PayrollRegisterRow row = rows.next();
+                Row sheetRow = sheet.createRow(rowIndex++);
+                int column = 0;
+                sheetRow.createCell(column++).setCellValue(row.getEmployeeCode());
+                sheetRow.createCell(column++).setCellValue(row.getEmployeeName());
+                sheetRow.createCell(column++).setCellValue(row.getEmail());
+                sheetRow.createCell(column++).setCellValue(row.getDepartment() != null ? row.getDepartment() : "");
+                sheetRow.createCell(column++).setCellValue(row.getPosition() != null ? row.getPosition() : "");
+                column = amountCell(sheetRow, column, row.getBaseSalary(), amountStyle);
+                column = amountCell(sheetRow, column, row.getHouseAmount(), amountStyle);
+                column = amountCell(sheetRow, column, row.getTransportAmount(), amountStyle);
+                column = amountCell(sheetRow, column, row.getGrossSalary(), amountStyle);
+                column = amountCell(sheetRow, column, row.getEmployeeTaxed(), amountStyle);
+                column = amountCell(sheetRow, column, row.getPensionAmount(), amountStyle);
+                column = amountCell(sheetRow, column, row.getMedicalInsurance(), amountStyle);
+                column = amountCell(sheetRow, column, row.getOtherTaxed(), amountStyle);
+                column = amountCell(sheetRow, column, row.getTotalDeductions(), amountStyle);
+                column = amountCell(sheetRow, column, row.getNetSalary(), amountStyle);
+                sheetRow.createCell(column).setCellValue(row.getStatus().name());
+            }
+
+            workbook.write(outputStream);
+            return rowIndex - 1L;
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    private int amountCell(Row row, int column, BigDecimal value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        if (value != null) {
+            cell.setCellValue(value.doubleValue());
+        }
+        cell.setCellStyle(style);
+        return column + 1;
+    }
+}
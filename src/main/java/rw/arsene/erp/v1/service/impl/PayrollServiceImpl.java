@@ -1,30 +1,45 @@
 package rw.arsene.erp.v1.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.archive.PayrollColdArchive;
 import rw.arsene.erp.v1.dto.PayrollGenerationDto;
 import rw.arsene.erp.v1.dto.PayslipDTO;
 import rw.arsene.erp.v1.entity.Employee;
 import rw.arsene.erp.v1.entity.EmploymentDetails;
 import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.enums.ChangeType;
 import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.enums.TaxMethod;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
 import rw.arsene.erp.v1.exception.BusinessException;
 import rw.arsene.erp.v1.exception.ResourceNotFoundException;
 import rw.arsene.erp.v1.mapper.PayslipMapper;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.payroll.PayslipAmounts;
+import rw.arsene.erp.v1.payroll.SalaryBreakdown;
 import rw.arsene.erp.v1.repository.PayslipRepository;
 import rw.arsene.erp.v1.service.EmployeeService;
 import rw.arsene.erp.v1.service.EmploymentDetailsService;
 import rw.arsene.erp.v1.service.PayrollService;
+import rw.arsene.erp.v1.service.PayrollTotalsService;
+import rw.arsene.erp.v1.util.SearchPageRequests;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,16 +48,23 @@ import java.util.stream.Collectors;
 @Transactional
 public class PayrollServiceImpl implements PayrollService {
     
+    // Newest period first, across the database and the cold archive
+    private static final Comparator<PayslipDTO> HISTORY_ORDER = Comparator
+            .comparing(PayslipDTO::getYear)
+            .thenComparing(PayslipDTO::getMonth)
+            .reversed();
+    
     private final PayslipRepository payslipRepository;
     private final PayslipMapper payslipMapper;
     private final EmployeeService employeeService;
     private final EmploymentDetailsService employmentDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollColdArchive coldArchive;
+    private final PayrollTotalsService payrollTotalsService;
     
-    // Tax and deduction rates (these could be configurable)
-    private static final BigDecimal PENSION_RATE = new BigDecimal("0.03"); // 3%
-    private static final BigDecimal MEDICAL_INSURANCE_RATE = new BigDecimal("0.075"); // 7.5%
-    private static final BigDecimal HOUSE_ALLOWANCE_RATE = new BigDecimal("0.15"); // 15%
-    private static final BigDecimal TRANSPORT_ALLOWANCE_RATE = new BigDecimal("0.10"); // 10%
+    @Value("${app.payroll.tax-method:MONTHLY}")
+    private TaxMethod taxMethod;
     
     @Override
     public PayslipDTO createPayslip(PayslipDTO payslipDTO) {
@@ -61,6 +83,8 @@ public class PayrollServiceImpl implements PayrollService {
         Payslip savedPayslip = payslipRepository.save(payslip);
         
         log.info("Payslip created successfully with ID: {}", savedPayslip.getId());
+        payrollTotalsService.record(savedPayslip, PayslipAmounts.of(savedPayslip));
+        publishChange(savedPayslip, ChangeType.CREATED);
         return payslipMapper.toDTO(savedPayslip);
     }
     
@@ -76,6 +100,8 @@ public class PayrollServiceImpl implements PayrollService {
             throw new BusinessException("Cannot update approved or paid payslip");
         }
         
+        PayslipAmounts before = PayslipAmounts.of(existingPayslip);
+        
         // Update fields
         existingPayslip.setBaseSalary(payslipDTO.getBaseSalary());
         existingPayslip.setHouseAmount(payslipDTO.getHouseAmount());
@@ -91,6 +117,8 @@ public class PayrollServiceImpl implements PayrollService {
         
         Payslip updatedPayslip = payslipRepository.save(existingPayslip);
         log.info("Payslip updated successfully with ID: {}", updatedPayslip.getId());
+        payrollTotalsService.record(updatedPayslip, PayslipAmounts.of(updatedPayslip).minus(before));
+        publishChange(updatedPayslip, ChangeType.UPDATED);
         
         return payslipMapper.toDTO(updatedPayslip);
     }
@@ -119,15 +147,53 @@ public class PayrollServiceImpl implements PayrollService {
     @Override
     @Transactional(readOnly = true)
     public List<PayslipDTO> getPayslipsByEmployeeId(Long employeeId) {
-        List<Payslip> payslips = payslipRepository.findByEmployeeId(employeeId);
-        return payslipMapper.toDTOList(payslips);
+        List<Payslip> payslips = payslipRepository.findByEmployeeIdOrderByYearDescMonthDesc(employeeId);
+        List<PayslipDTO> history = new ArrayList<>(payslipMapper.toDTOList(payslips));
+        history.addAll(archivedPayslips(employeeId, payslips.stream().map(Payslip::getId).collect(Collectors.toSet())));
+        history.sort(HISTORY_ORDER);
+        return history;
     }
     
+    // Payslips of an archived year that were not PAID stay in the database, so the database rows
+    // of archived or older years interleave with the archived ones. Rows newer than every archived
+    // year come first and are paged by the database alone; the archive is only read once a page
+    // reaches past them, and the older rows of both sources are merged by period.
     @Override
     @Transactional(readOnly = true)
     public Page<PayslipDTO> getPayslipsByEmployeeId(Long employeeId, Pageable pageable) {
-        Page<Payslip> payslips = payslipRepository.findByEmployeeId(employeeId, pageable);
-        return payslips.map(payslipMapper::toDTO);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(getPayslipsByEmployeeId(employeeId));
+        }
+        Page<Payslip> payslips = payslipRepository.findByEmployeeIdOrderByYearDescMonthDesc(employeeId, pageable);
+        List<Integer> archivedYears = coldArchive.archivedYears();
+        if (archivedYears.isEmpty()) {
+            return payslips.map(payslipMapper::toDTO);
+        }
+        
+        Set<Long> currentIds = new HashSet<>(payslipRepository.findIdsByEmployeeId(employeeId));
+        long archivedCount = coldArchive.findPayslipIdsByEmployeeId(employeeId).stream()
+                .filter(id -> !currentIds.contains(id))
+                .count();
+        long total = payslips.getTotalElements() + archivedCount;
+        if (archivedCount == 0) {
+            return new PageImpl<>(payslipMapper.toDTOList(payslips.getContent()), pageable, total);
+        }
+        
+        int newestArchivedYear = archivedYears.get(0);
+        long newer = payslipRepository.countByEmployeeIdAndYearGreaterThan(employeeId, newestArchivedYear);
+        List<PayslipDTO> content = new ArrayList<>(payslipMapper.toDTOList(payslips.getContent().stream()
+                .limit(Math.max(0, newer - pageable.getOffset()))
+                .toList()));
+        if (content.size() < pageable.getPageSize()) {
+            List<PayslipDTO> older = new ArrayList<>(payslipMapper.toDTOList(
+                    payslipRepository.findByEmployeeIdAndYearLessThanEqualOrderByYearDescMonthDesc(employeeId, newestArchivedYear)));
+            older.addAll(archivedPayslips(employeeId, currentIds));
+            older.sort(HISTORY_ORDER);
+            int olderFrom = (int) Math.min(older.size(), Math.max(0, pageable.getOffset() - newer));
+            int olderTo = Math.min(older.size(), olderFrom + pageable.getPageSize() - content.size());
+            content.addAll(older.subList(olderFrom, olderTo));
+        }
+        return new PageImpl<>(content, pageable, total);
     }
     
     @Override
@@ -161,7 +227,8 @@ public class PayrollServiceImpl implements PayrollService {
     @Override
     @Transactional(readOnly = true)
     public Page<PayslipDTO> searchPayslips(String keyword, Pageable pageable) {
-        Page<Payslip> payslips = payslipRepository.searchPayslips(keyword, pageable);
+        Page<Payslip> payslips = payslipRepository.searchPayslips(
+                SearchPageRequests.keyword(keyword), SearchPageRequests.ranked(pageable));
         return payslips.map(payslipMapper::toDTO);
     }
     
@@ -177,10 +244,28 @@ public class PayrollServiceImpl implements PayrollService {
         payslip.setStatus(PayslipStatus.APPROVED);
         payslip.setApprovedAt(LocalDateTime.now());
         Payslip updatedPayslip = payslipRepository.save(payslip);
+        publishChange(updatedPayslip, ChangeType.UPDATED);
         
         return payslipMapper.toDTO(updatedPayslip);
     }
     
+    @Override
+    public List<PayslipDTO> approvePayroll(Integer month, Integer year) {
+        log.info("Approving pending payslips for period: {}/{}", month, year);
+        List<Payslip> payslips = payslipRepository.findPendingPayslipsByMonthAndYear(month, year);
+        LocalDateTime approvedAt = LocalDateTime.now();
+        
+        for (Payslip payslip : payslips) {
+            payslip.setStatus(PayslipStatus.APPROVED);
+            payslip.setApprovedAt(approvedAt);
+        }
+        List<Payslip> approvedPayslips = payslipRepository.saveAll(payslips);
+        approvedPayslips.forEach(payslip -> publishChange(payslip, ChangeType.UPDATED));
+        
+        log.info("Approved {} payslips for period: {}/{}", approvedPayslips.size(), month, year);
+        return payslipMapper.toDTOList(approvedPayslips);
+    }
+    
     @Override
     public PayslipDTO rejectPayslip(Long id) {
         log.info("Rejecting payslip with ID: {}", id);
@@ -190,8 +275,11 @@ public class PayrollServiceImpl implements PayrollService {
             throw new BusinessException("Only pending payslips can be rejected");
         }
         
+        PayslipAmounts before = PayslipAmounts.of(payslip);
         payslip.setStatus(PayslipStatus.REJECTED);
         Payslip updatedPayslip = payslipRepository.save(payslip);
+        payrollTotalsService.record(updatedPayslip, before.negate());
+        publishChange(updatedPayslip, ChangeType.UPDATED);
         
         return payslipMapper.toDTO(updatedPayslip);
     }
@@ -204,14 +292,17 @@ public class PayrollServiceImpl implements PayrollService {
         if (payslip.getStatus() != PayslipStatus.APPROVED) {
             throw new BusinessException("Only approved payslips can be marked as paid");
         }
+        requireNoPaymentFile(payslip, "marked as paid");
         
         payslip.setStatus(PayslipStatus.PAID);
         Payslip updatedPayslip = payslipRepository.save(payslip);
+        publishChange(updatedPayslip, ChangeType.UPDATED);
         
         return payslipMapper.toDTO(updatedPayslip);
     }
     
     @Override
+    @Timed(value = "erp.payroll.generate", description = "Payroll generation for a period", histogram = true)
     public List<PayslipDTO> generatePayroll(PayrollGenerationDto payrollGenerationDto) {
         log.info("Generating payroll for period {}/{}", payrollGenerationDto.getMonth(), payrollGenerationDto.getYear());
         
@@ -264,34 +355,29 @@ public class PayrollServiceImpl implements PayrollService {
         Employee employee = employeeService.getEmployeeEntityById(employeeId);
         EmploymentDetails employmentDetails = employmentDetailsService.getActiveEmploymentEntityByEmployeeId(employeeId);
         
-        // Calculate salary components
-        BigDecimal baseSalary = employmentDetails.getBaseSalary();
-        BigDecimal houseAmount = baseSalary.multiply(HOUSE_ALLOWANCE_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal transportAmount = baseSalary.multiply(TRANSPORT_ALLOWANCE_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal grossSalary = baseSalary.add(houseAmount).add(transportAmount);
-        
-        // Calculate deductions
-        BigDecimal pensionAmount = baseSalary.multiply(PENSION_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal medicalInsurance = baseSalary.multiply(MEDICAL_INSURANCE_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal employeeTaxed = calculateIncomeTax(grossSalary);
-        BigDecimal otherTaxed = BigDecimal.ZERO; // Can be customized
-        
-        BigDecimal totalDeductions = pensionAmount.add(medicalInsurance).add(employeeTaxed).add(otherTaxed);
-        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
+        // Calculate salary components and deductions; the cumulative method also needs the earlier months
+        PayslipAmounts yearToDate = taxMethod == TaxMethod.CUMULATIVE
+                ? payrollTotalsService.getTotalsBefore(employeeId, year, month)
+                : null;
+        SalaryBreakdown salary = payrollCalculator.calculate(employmentDetails.getBaseSalary(), yearToDate);
         
         // Create payslip
         Payslip payslip = Payslip.builder()
                 .employee(employee)
-                .baseSalary(baseSalary)
-                .houseAmount(houseAmount)
-                .transportAmount(transportAmount)
-                .grossSalary(grossSalary)
-                .employeeTaxed(employeeTaxed)
-                .pensionAmount(pensionAmount)
-                .medicalInsurance(medicalInsurance)
-                .otherTaxed(otherTaxed)
-                .totalDeductions(totalDeductions)
-                .netSalary(netSalary)
+                .employeeCode(employee.getCode())
+                .employeeName(employee.getFullName())
+                .department(employmentDetails.getDepartment())
+                .position(employmentDetails.getPosition())
+                .baseSalary(salary.getBaseSalary())
+                .houseAmount(salary.getHouseAmount())
+                .transportAmount(salary.getTransportAmount())
+                .grossSalary(salary.getGrossSalary())
+                .employeeTaxed(salary.getEmployeeTaxed())
+                .pensionAmount(salary.getPensionAmount())
+                .medicalInsurance(salary.getMedicalInsurance())
+                .otherTaxed(salary.getOtherTaxed())
+                .totalDeductions(salary.getTotalDeductions())
+                .netSalary(salary.getNetSalary())
                 .month(month)
                 .year(year)
                 .status(PayslipStatus.PENDING)
@@ -299,10 +385,17 @@ public class PayrollServiceImpl implements PayrollService {
         
         // Delete existing payslip if regenerating
         payslipRepository.findByEmployeeIdAndMonthAndYear(employeeId, month, year)
-                .ifPresent(payslipRepository::delete);
+                .ifPresent(existing -> {
+                    requireNoPaymentFile(existing, "regenerated");
+                    payslipRepository.delete(existing);
+                    payrollTotalsService.record(existing, PayslipAmounts.of(existing).negate());
+                    publishChange(existing, ChangeType.DELETED);
+                });
         
         Payslip savedPayslip = payslipRepository.save(payslip);
         log.info("Payslip generated successfully with ID: {}", savedPayslip.getId());
+        payrollTotalsService.record(savedPayslip, PayslipAmounts.of(savedPayslip));
+        publishChange(savedPayslip, ChangeType.CREATED);
         
         return payslipMapper.toDTO(savedPayslip);
     }
@@ -315,9 +408,12 @@ public class PayrollServiceImpl implements PayrollService {
         if (payslip.getStatus() == PayslipStatus.PAID) {
             throw new BusinessException("Cannot delete paid payslip");
         }
+        requireNoPaymentFile(payslip, "deleted");
         
         payslipRepository.delete(payslip);
+        payrollTotalsService.record(payslip, PayslipAmounts.of(payslip).negate());
         log.info("Payslip deleted successfully with ID: {}", id);
+        publishChange(payslip, ChangeType.DELETED);
     }
     
     @Override
@@ -363,26 +459,23 @@ public class PayrollServiceImpl implements PayrollService {
                 .orElseThrow(() -> new ResourceNotFoundException("Payslip", "id", id));
     }
     
-    private BigDecimal calculateIncomeTax(BigDecimal grossSalary) {
-        // Rwanda income tax calculation (simplified)
-        // This should be implemented based on current tax brackets
-        BigDecimal taxableAmount = grossSalary.subtract(new BigDecimal("30000")); // Basic exemption
-        
-        if (taxableAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        BigDecimal tax = BigDecimal.ZERO;
-        
-        // Tax brackets (simplified - should be configurable)
-        if (taxableAmount.compareTo(new BigDecimal("30000")) <= 0) {
-            tax = taxableAmount.multiply(new BigDecimal("0.00")); // 0%
-        } else if (taxableAmount.compareTo(new BigDecimal("100000")) <= 0) {
-            tax = taxableAmount.multiply(new BigDecimal("0.20")); // 20%
-        } else {
-            tax = taxableAmount.multiply(new BigDecimal("0.30")); // 30%
+    // Rows still in the database win over their archived copy (e.g. after an interrupted archive run)
+    private List<PayslipDTO> archivedPayslips(Long employeeId, Set<Long> currentIds) {
+        return coldArchive.findPayslipsByEmployeeId(employeeId).stream()
+                .filter(payslip -> !currentIds.contains(payslip.getId()))
+                .toList();
+    }
+    
+    // A payslip in a bank payment file is settled by acknowledging or cancelling the file
+    private void requireNoPaymentFile(Payslip payslip, String action) {
+        if (payslip.getPaymentFile() != null) {
+            throw new BusinessException("Payslip is in bank payment file " + payslip.getPaymentFile().getReference()
+                    + " and cannot be " + action + "; acknowledge or cancel the file first");
         }
-        
-        return tax.setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private void publishChange(Payslip payslip, ChangeType changeType) {
+        eventPublisher.publishEvent(new PayslipChangedEvent(payslip.getId(), payslip.getEmployee().getId(),
+                payslip.getMonth(), payslip.getYear(), payslip.getStatus(), changeType));
     }
 }
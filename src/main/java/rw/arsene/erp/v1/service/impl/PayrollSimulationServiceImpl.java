@@ -0,0 +1,125 @@
+package rw.arsene.erp.v1.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.PayrollSimulationDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationImpactDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationRequestDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationTotalsDTO;
+import rw.arsene.erp.v1.enums.TaxMethod;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.payroll.PayrollRates;
+import rw.arsene.erp.v1.payroll.PayrollSimulator;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.service.PayrollSimulationService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class PayrollSimulationServiceImpl implements PayrollSimulationService {
+
+    private final EmploymentDetailsRepository employmentDetailsRepository;
+    private final PayrollCalculator payrollCalculator;
+
+    @Value("${app.payroll.tax-method:MONTHLY}")
+    private TaxMethod payrollTaxMethod;
+
+    @Override
+    @Timed(value = "erp.payroll.simulate", description = "What-if payroll simulation", histogram = true)
+    public PayrollSimulationDTO simulate(PayrollSimulationRequestDTO request) {
+        long start = System.nanoTime();
+        PayrollRates proposed = proposedRates(request);
+
+        List<PayrollSimulator.Payee> payees = employmentDetailsRepository.findActivePayrollRows().stream()
+                .map(row -> new PayrollSimulator.Payee((Long) row[0], (String) row[1],
+                        row[2] + " " + row[3], (String) row[4], (BigDecimal) row[5]))
+                .toList();
+        PayrollSimulator.Result result = new PayrollSimulator(payrollCalculator, PayrollRates.CURRENT, proposed)
+                .run(payees, request.getTopN() != null ? request.getTopN() : 20);
+
+        PayrollSimulationDTO simulation = PayrollSimulationDTO.builder()
+                .employees(result.payees())
+                .taxMethod(TaxMethod.MONTHLY)
+                .payrollTaxMethod(payrollTaxMethod)
+                .employeesAffected(result.affected())
+                .employeesWorseOff(result.worseOff())
+                .current(totals(result::current))
+                .proposed(totals(result::proposed))
+                .delta(totals(measure -> result.proposed(measure) - result.current(measure)))
+                .topAffected(result.topAffected().stream().map(this::toDTO).toList())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("Simulated payroll for {} employees in {} ms; {} affected", simulation.getEmployees(),
+                simulation.getElapsedMillis(), simulation.getEmployeesAffected());
+        return simulation;
+    }
+
+    private static PayrollRates proposedRates(PayrollSimulationRequestDTO request) {
+        PayrollRates current = PayrollRates.CURRENT;
+        List<PayrollRates.TaxBracket> brackets = request.getTaxBrackets() == null || request.getTaxBrackets().isEmpty()
+                ? current.taxBrackets()
+                : request.getTaxBrackets().stream()
+                        .map(bracket -> new PayrollRates.TaxBracket(bracket.getUpTo(), fraction(bracket.getRate())))
+                        .toList();
+        try {
+            return new PayrollRates(
+                    orCurrent(fraction(request.getPensionRate()), current.pensionRate()),
+                    orCurrent(fraction(request.getMedicalInsuranceRate()), current.medicalInsuranceRate()),
+                    orCurrent(fraction(request.getHouseAllowanceRate()), current.houseAllowanceRate()),
+                    orCurrent(fraction(request.getTransportAllowanceRate()), current.transportAllowanceRate()),
+                    orCurrent(request.getTaxExemption(), current.taxExemption()),
+                    brackets);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        }
+    }
+
+    private static BigDecimal fraction(BigDecimal percentage) {
+        return percentage != null ? percentage.movePointLeft(2) : null;
+    }
+
+    private static BigDecimal orCurrent(BigDecimal proposed, BigDecimal current) {
+        return proposed != null ? proposed : current;
+    }
+
+    private static PayrollSimulationTotalsDTO totals(IntToLongFunction cents) {
+        return PayrollSimulationTotalsDTO.builder()
+                .grossSalary(fromCents(cents.applyAsLong(PayrollSimulator.GROSS)))
+                .employeeTaxed(fromCents(cents.applyAsLong(PayrollSimulator.TAX)))
+                .pensionAmount(fromCents(cents.applyAsLong(PayrollSimulator.PENSION)))
+                .medicalInsurance(fromCents(cents.applyAsLong(PayrollSimulator.MEDICAL)))
+                .totalDeductions(fromCents(cents.applyAsLong(PayrollSimulator.DEDUCTIONS)))
+                .netSalary(fromCents(cents.applyAsLong(PayrollSimulator.NET)))
+                .build();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private PayrollSimulationImpactDTO toDTO(PayrollSimulator.Impact impact) {
+        PayrollSimulator.Payee payee = impact.payee();
+        return PayrollSimulationImpactDTO.builder()
+                .employeeId(payee.employeeId())
+                .employeeCode(payee.code())
+                .employeeName(payee.name())
+                .department(payee.department())
+                .baseSalary(payee.baseSalary())
+                .currentNetSalary(impact.current().getNetSalary())
+                .proposedNetSalary(impact.proposed().getNetSalary())
+                .netSalaryDelta(fromCents(impact.netDeltaCents()))
+                .currentEmployeeTaxed(impact.current().getEmployeeTaxed())
+                .proposedEmployeeTaxed(impact.proposed().getEmployeeTaxed())
+                .build();
+    }
+}
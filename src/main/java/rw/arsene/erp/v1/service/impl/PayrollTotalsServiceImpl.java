@@ -0,0 +1,105 @@
+package rw.arsene.erp.v1.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.PayrollTotalsDTO;
+import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.exception.ResourceNotFoundException;
+import rw.arsene.erp.v1.payroll.PayslipAmounts;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.PayrollRunningTotalRepository;
+import rw.arsene.erp.v1.service.PayrollTotalsService;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PayrollTotalsServiceImpl implements PayrollTotalsService {
+
+    private final PayrollRunningTotalRepository runningTotalRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PayrollTotalsDTO getYearToDate(Long employeeId, Integer year, Integer month) {
+        return getTotals(employeeId, year, 1, year, month);
+    }
+
+    // Two lookups per calendar year in the range, however many payslips it holds
+    @Override
+    @Transactional(readOnly = true)
+    public PayrollTotalsDTO getTotals(Long employeeId, Integer fromYear, Integer fromMonth, Integer toYear, Integer toMonth) {
+        validateMonth(fromMonth);
+        validateMonth(toMonth);
+        if (fromYear * 12 + fromMonth > toYear * 12 + toMonth) {
+            throw new BusinessException("Period " + fromMonth + "/" + fromYear + " is after " + toMonth + "/" + toYear);
+        }
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee", "id", employeeId);
+        }
+
+        PayslipAmounts totals = PayslipAmounts.ZERO;
+        for (int year = fromYear; year <= toYear; year++) {
+            int firstMonth = year == fromYear ? fromMonth : 1;
+            int lastMonth = year == toYear ? toMonth : 12;
+            totals = totals.plus(getTotalsThrough(employeeId, year, lastMonth))
+                    .minus(getTotalsThrough(employeeId, year, firstMonth - 1));
+        }
+
+        return PayrollTotalsDTO.builder()
+                .employeeId(employeeId)
+                .fromYear(fromYear)
+                .fromMonth(fromMonth)
+                .toYear(toYear)
+                .toMonth(toMonth)
+                .payslips(totals.payslips())
+                .grossSalary(totals.grossSalary())
+                .employeeTaxed(totals.employeeTaxed())
+                .pensionAmount(totals.pensionAmount())
+                .medicalInsurance(totals.medicalInsurance())
+                .otherTaxed(totals.otherTaxed())
+                .totalDeductions(totals.totalDeductions())
+                .netSalary(totals.netSalary())
+                .build();
+    }
+
+    // Runs in the caller's transaction so the totals commit or roll back with the payslip
+    @Override
+    public void record(Payslip payslip, PayslipAmounts change) {
+        if (change.isZero()) {
+            return;
+        }
+        Long employeeId = payslip.getEmployee().getId();
+        runningTotalRepository.lockYear(employeeId, payslip.getYear());
+        runningTotalRepository.insertPeriod(employeeId, payslip.getYear(), payslip.getMonth());
+        runningTotalRepository.addFromPeriod(employeeId, payslip.getYear(), payslip.getMonth(),
+                change.payslips(), change.grossSalary(), change.employeeTaxed(), change.pensionAmount(),
+                change.medicalInsurance(), change.otherTaxed(), change.totalDeductions(), change.netSalary());
+        log.debug("Recorded payslip change for employee {} in {}: {}", employeeId, payslip.getPeriodString(), change);
+    }
+
+    // Called while generating a payslip, so it joins that transaction rather than a read-only one
+    @Override
+    public PayslipAmounts getTotalsBefore(Long employeeId, Integer year, Integer month) {
+        return getTotalsThrough(employeeId, year, month - 1);
+    }
+
+    private PayslipAmounts getTotalsThrough(Long employeeId, int year, int month) {
+        if (month < 1) {
+            return PayslipAmounts.ZERO;
+        }
+        return runningTotalRepository
+                .findFirstByEmployeeIdAndYearAndMonthLessThanEqualOrderByMonthDesc(employeeId, year, month)
+                .map(PayslipAmounts::of)
+                .orElse(PayslipAmounts.ZERO);
+    }
+
+    private static void validateMonth(Integer month) {
+        if (month < 1 || month > 12) {
+            throw new BusinessException("Month must be between 1 and 12");
+        }
+    }
+}
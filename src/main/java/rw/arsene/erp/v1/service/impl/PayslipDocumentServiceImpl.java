@@ -0,0 +1,120 @@
+package rw.arsene.erp.v1.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.document.PayslipBatchRenderer;
+import rw.arsene.erp.v1.document.PayslipDocument;
+import rw.arsene.erp.v1.document.PayslipDocumentCache;
+import rw.arsene.erp.v1.document.PayslipPdfRenderer;
+import rw.arsene.erp.v1.document.RenderedDocument;
+import rw.arsene.erp.v1.dto.DocumentBatchReportDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.entity.Payslip;
+import rw.arsene.erp.v1.exception.ResourceNotFoundException;
+import rw.arsene.erp.v1.mapper.PayslipMapper;
+import rw.arsene.erp.v1.repository.PayslipRepository;
+import rw.arsene.erp.v1.service.PayslipDocumentService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayslipDocumentServiceImpl implements PayslipDocumentService {
+
+    private final PayslipRepository payslipRepository;
+    private final PayslipMapper payslipMapper;
+    private final PayslipPdfRenderer payslipPdfRenderer;
+    private final PayslipBatchRenderer payslipBatchRenderer;
+    private final PayslipDocumentCache payslipDocumentCache;
+
+    @Value("${app.documents.directory:./data/payslips}")
+    private String directory;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RenderedDocument renderPayslip(Long payslipId) {
+        Payslip payslip = payslipRepository.findById(payslipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payslip", "id", payslipId));
+        return payslipPdfRenderer.render(payslipMapper.toDTO(payslip));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PayslipDocument getPayslipDocument(Long payslipId) throws IOException {
+        Payslip payslip = payslipRepository.findById(payslipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payslip", "id", payslipId));
+        PayslipDTO payslipDTO = payslipMapper.toDTO(payslip);
+        String fileName = payslipPdfRenderer.fileName(payslipDTO);
+
+        // Drafts still change, so only approved and paid payslips go through the cache
+        if (!payslipDocumentCache.isCacheable(payslipDTO)) {
+            RenderedDocument document = payslipPdfRenderer.render(payslipDTO);
+            return new PayslipDocument(fileName, new ByteArrayResource(document.getContent()), null);
+        }
+
+        String contentKey = payslipDocumentCache.contentKey(payslipDTO);
+        Optional<Path> cached = payslipDocumentCache.find(payslipId, contentKey);
+        Path path;
+        if (cached.isPresent()) {
+            path = cached.get();
+        } else {
+            log.debug("Payslip {} not cached for key {}, rendering", payslipId, contentKey);
+            path = payslipDocumentCache.store(payslipId, contentKey, payslipPdfRenderer.render(payslipDTO).getContent());
+        }
+        return new PayslipDocument(fileName, new FileSystemResource(path), "\"" + contentKey + "\"");
+    }
+
+    @Override
+    @Timed(value = "erp.documents.render-period", description = "Payslip rendering for a period", histogram = true)
+    public DocumentBatchReportDTO renderPeriodToStore(Integer month, Integer year) throws IOException {
+        Path target = Paths.get(directory).resolve(String.format("%d-%02d", year, month));
+        Files.createDirectories(target);
+        log.info("Rendering payslips for period {}/{} to {}", month, year, target);
+
+        DocumentBatchReportDTO report = payslipBatchRenderer.render(loadSnapshot(month, year),
+                document -> Files.write(target.resolve(document.getFileName()), document.getContent()));
+        report.setMonth(month);
+        report.setYear(year);
+        report.setLocation(target.toString());
+        return report;
+    }
+
+    @Override
+    @Timed(value = "erp.documents.render-period-zip", description = "Payslip ZIP streaming for a period", histogram = true)
+    public DocumentBatchReportDTO renderPeriodToZip(Integer month, Integer year, OutputStream outputStream) throws IOException {
+        log.info("Streaming payslips for period {}/{} as ZIP", month, year);
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        DocumentBatchReportDTO report = payslipBatchRenderer.render(loadSnapshot(month, year), document -> {
+            zip.putNextEntry(new ZipEntry(document.getFileName()));
+            zip.write(document.getContent());
+            zip.closeEntry();
+        });
+        zip.finish();
+        zip.flush();
+
+        report.setMonth(month);
+        report.setYear(year);
+        return report;
+    }
+
+    // One query for the whole period; rendering then runs without touching the database
+    private List<PayslipDTO> loadSnapshot(Integer month, Integer year) {
+        return payslipMapper.toDTOList(payslipRepository.findPeriodSnapshot(month, year));
+    }
+}
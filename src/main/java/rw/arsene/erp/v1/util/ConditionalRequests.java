@@ -0,0 +1,32 @@
+package rw.arsene.erp.v1.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import rw.arsene.erp.v1.dto.EntityVersion;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public final class ConditionalRequests {
+
+    // Clients may keep a copy but must revalidate; also stops Spring Security adding no-store
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Answers {@code 304 Not Modified} when the client's validators match the version, without
+     * loading the entity; otherwise loads the body. {@link WebRequest#checkNotModified} also sets
+     * the {@code ETag} and {@code Last-Modified} headers on the response. A missing version falls
+     * through to the loader so the usual 404 handling applies.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest webRequest, Optional<EntityVersion> version, Supplier<T> loader) {
+        if (version.isPresent() && webRequest.checkNotModified(version.get().getEtag(), version.get().getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(loader.get());
+    }
+}
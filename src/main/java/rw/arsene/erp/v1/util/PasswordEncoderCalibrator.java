@@ -0,0 +1,48 @@
+package rw.arsene.erp.v1.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs how long a password hash takes on this host once the application is up. To pick a bcrypt
+ * strength for a host, run the {@code BcryptStrengthCalibration} tool from the test sources.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.security.password-hash-calibration", havingValue = "true", matchIfMissing = true)
+public class PasswordEncoderCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+    private static final int SAMPLES = 5;
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.security.password-hash-target-ms:250}")
+    private long targetMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportHashingCost() {
+        long millis = measure(passwordEncoder);
+        log.info("Password hashing takes ~{} ms per login on this host (target {} ms)", millis, targetMillis);
+        if (millis > targetMillis * 2) {
+            log.warn("Password hashing is well above target; consider lowering app.security.bcrypt-strength");
+        }
+    }
+
+    public static long measure(PasswordEncoder encoder) {
+        // First call warms up the JIT and is not counted
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+        return (System.nanoTime() - start) / SAMPLES / 1_000_000;
+    }
+}
@@ -0,0 +1,47 @@
+package rw.arsene.erp.v1.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import rw.arsene.erp.v1.exception.BusinessException;
+
+public final class SearchPageRequests {
+
+    /**
+     * Trigram indexes cannot narrow a pattern shorter than one trigram; such a keyword would read
+     * every index entry.
+     */
+    public static final int MIN_KEYWORD_LENGTH = 3;
+
+    /**
+     * Keyword search totals stop counting here, so a broad keyword does not count every match. A
+     * total of this value means "at least this many"; later pages are still served.
+     */
+    public static final int MAX_COUNTED_MATCHES = 1000;
+
+    private SearchPageRequests() {
+    }
+
+    /**
+     * Keyword searches define their ordering inside the native query (by trigram similarity or
+     * recency), so any client supplied sort is dropped; Spring Data would otherwise append a
+     * second ORDER BY.
+     */
+    public static Pageable ranked(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * The trimmed keyword, or a {@link BusinessException} when it is shorter than
+     * {@link #MIN_KEYWORD_LENGTH}.
+     */
+    public static String keyword(String keyword) {
+        String trimmed = keyword != null ? keyword.trim() : "";
+        if (trimmed.length() < MIN_KEYWORD_LENGTH) {
+            throw new BusinessException("Search keyword must be at least " + MIN_KEYWORD_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,101 @@
+-- Schema as previously generated by hibernate.ddl-auto=update from the released entities.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and start at V1.1; anything added to the entities since belongs in a later migration.
+
+CREATE TABLE roles (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255) NOT NULL,
+    description varchar(500),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE employees (
+    id                  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code                varchar(20)  NOT NULL,
+    first_name          varchar(100) NOT NULL,
+    last_name           varchar(100) NOT NULL,
+    email               varchar(150) NOT NULL,
+    password            varchar(255) NOT NULL,
+    mobile              varchar(20)  NOT NULL,
+    date_of_birth       date         NOT NULL,
+    status              varchar(255) NOT NULL,
+    created_at          timestamp(6) NOT NULL,
+    updated_at          timestamp(6) NOT NULL,
+    CONSTRAINT uk_employees_code UNIQUE (code),
+    CONSTRAINT uk_employees_email UNIQUE (email),
+    CONSTRAINT uk_employees_mobile UNIQUE (mobile)
+);
+
+CREATE TABLE employee_roles (
+    employee_id bigint NOT NULL REFERENCES employees (id),
+    role_id     bigint NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (employee_id, role_id)
+);
+
+CREATE TABLE employment_details (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code             varchar(20)    NOT NULL,
+    employee_id      bigint         NOT NULL REFERENCES employees (id),
+    department       varchar(100)   NOT NULL,
+    position         varchar(100)   NOT NULL,
+    base_salary      numeric(12, 2) NOT NULL,
+    status           varchar(20)    NOT NULL,
+    joining_date     date           NOT NULL,
+    termination_date date,
+    notes            varchar(500),
+    created_at       timestamp(6)   NOT NULL,
+    updated_at       timestamp(6)   NOT NULL,
+    CONSTRAINT uk_employment_details_code UNIQUE (code)
+);
+
+CREATE TABLE deductions (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code           varchar(20)   NOT NULL,
+    deduction_name varchar(100)  NOT NULL,
+    percentage     numeric(5, 2) NOT NULL,
+    description    varchar(500),
+    is_active      boolean       NOT NULL,
+    created_at     timestamp(6)  NOT NULL,
+    updated_at     timestamp(6)  NOT NULL,
+    CONSTRAINT uk_deductions_code UNIQUE (code),
+    CONSTRAINT uk_deductions_deduction_name UNIQUE (deduction_name)
+);
+
+CREATE TABLE payslips (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id       bigint         NOT NULL REFERENCES employees (id),
+    base_salary       numeric(15, 2) NOT NULL,
+    house_amount      numeric(15, 2) NOT NULL,
+    transport_amount  numeric(15, 2) NOT NULL,
+    gross_salary      numeric(15, 2) NOT NULL,
+    employee_taxed    numeric(15, 2) NOT NULL,
+    pension_amount    numeric(15, 2) NOT NULL,
+    medical_insurance numeric(15, 2) NOT NULL,
+    other_taxed       numeric(15, 2) NOT NULL,
+    total_deductions  numeric(15, 2) NOT NULL,
+    net_salary        numeric(15, 2) NOT NULL,
+    month             integer        NOT NULL,
+    year              integer        NOT NULL,
+    status            varchar(255)   NOT NULL,
+    created_at        timestamp(6)   NOT NULL,
+    updated_at        timestamp(6)   NOT NULL,
+    approved_at       timestamp(6),
+    CONSTRAINT uk_payslips_employee_period UNIQUE (employee_id, month, year)
+);
+
+CREATE INDEX idx_payslip_month_year ON payslips (month, year);
+CREATE INDEX idx_payslip_status ON payslips (status);
+
+CREATE TABLE messages (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id   bigint        NOT NULL REFERENCES employees (id),
+    message       varchar(1000) NOT NULL,
+    month_year    varchar(20)   NOT NULL,
+    status        varchar(255)  NOT NULL,
+    sent_at       timestamp(6)  NOT NULL,
+    error_message varchar(255)
+);
+
+CREATE INDEX idx_message_employee ON messages (employee_id);
+CREATE INDEX idx_message_sent_at ON messages (sent_at);
+CREATE INDEX idx_message_status ON messages (status);
@@ -0,0 +1,63 @@
+-- Indexes behind the repository queries. Built CONCURRENTLY so existing databases keep taking
+-- writes, which is why this script runs outside a transaction (see the .conf file).
+
+-- Keyword searches match each field on its own, so every searched field has its own trigram
+-- index and PostgreSQL combines them with a BitmapOr. Each indexed expression must stay identical
+-- to the one in the matching repository query, otherwise PostgreSQL falls back to a sequential scan.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_first_name_trgm ON employees USING gin
+    (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_last_name_trgm ON employees USING gin
+    (lower(last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_email_trgm ON employees USING gin
+    (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_code_trgm ON employees USING gin
+    (lower(code) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_code_trgm ON employment_details USING gin
+    (lower(code) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_department_trgm ON employment_details USING gin
+    (lower(department) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_position_trgm ON employment_details USING gin
+    (lower(position) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deductions_code_trgm ON deductions USING gin
+    (lower(code) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deductions_name_trgm ON deductions USING gin
+    (lower(deduction_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deductions_description_trgm ON deductions USING gin
+    (lower(description) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_search_trgm ON messages USING gin
+    (lower(message) gin_trgm_ops);
+
+-- Employment: active employment per employee (payroll generation, mapping, register joins)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_employee_status
+    ON employment_details (employee_id, status);
+-- Active employments only; covers the directory and dictionary reads without visiting the heap
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_active
+    ON employment_details (employee_id) INCLUDE (department, position) WHERE status = 'ACTIVE';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_department
+    ON employment_details (department);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employment_details_position
+    ON employment_details (position);
+-- Superseded by idx_employment_details_employee_status
+DROP INDEX CONCURRENTLY IF EXISTS idx_employment_details_employee;
+
+-- Roles by name for findByRoles; the primary key leads with employee_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_roles_role ON employee_roles (role_id);
+
+-- Payslips: an employee's history newest first, and the global listing
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payslip_employee_year_month
+    ON payslips (employee_id, year, month);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payslip_year_month_created
+    ON payslips (year DESC, month DESC, created_at DESC);
+-- Payment files: claimed payslips by file, and approved payslips still waiting for one
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payslip_payment_file
+    ON payslips (payment_file_id) WHERE payment_file_id IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payslip_unreleased
+    ON payslips (month, year) WHERE status = 'APPROVED' AND payment_file_id IS NULL;
+
+-- Messages: notification de-duplication per employee and period, and an employee's inbox
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_employee_month_year
+    ON messages (employee_id, month_year);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_employee_sent_at
+    ON messages (employee_id, sent_at DESC);
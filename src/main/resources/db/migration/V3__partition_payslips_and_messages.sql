@@ -0,0 +1,131 @@
+-- Range partitioning: payslips by (year, month) with one partition per year, messages by
+-- sent_at with one partition per month. Period queries are pruned to the matching partitions.
+-- Future partitions are created and expired ones retired through the payroll cold archive by
+-- PartitionMaintenanceServiceImpl; the default partitions only catch rows outside every range
+-- and should stay empty.
+-- Primary keys must contain the partition key, hence (id, year, month) and (id, sent_at); ids
+-- stay unique because they come from a single sequence, and lookups by id alone use the key's
+-- leading column.
+
+-- Payslips ------------------------------------------------------------------------------------
+
+ALTER TABLE payslips RENAME TO payslips_unpartitioned;
+
+CREATE TABLE payslips (
+    id                bigint         NOT NULL,
+    employee_id       bigint         NOT NULL,
+    base_salary       numeric(15, 2) NOT NULL,
+    house_amount      numeric(15, 2) NOT NULL,
+    transport_amount  numeric(15, 2) NOT NULL,
+    gross_salary      numeric(15, 2) NOT NULL,
+    employee_taxed    numeric(15, 2) NOT NULL,
+    pension_amount    numeric(15, 2) NOT NULL,
+    medical_insurance numeric(15, 2) NOT NULL,
+    other_taxed       numeric(15, 2) NOT NULL,
+    total_deductions  numeric(15, 2) NOT NULL,
+    net_salary        numeric(15, 2) NOT NULL,
+    month             integer        NOT NULL,
+    year              integer        NOT NULL,
+    status            varchar(255)   NOT NULL,
+    created_at        timestamp(6)   NOT NULL,
+    updated_at        timestamp(6)   NOT NULL,
+    approved_at       timestamp(6),
+    payment_file_id   bigint
+) PARTITION BY RANGE (year, month);
+
+CREATE TABLE payslips_default PARTITION OF payslips DEFAULT;
+
+DO $$
+DECLARE
+    current_year integer := extract(year FROM now())::integer;
+    first_year   integer;
+    last_year    integer;
+BEGIN
+    SELECT coalesce(min(year), current_year), greatest(coalesce(max(year), current_year), current_year) + 1
+      INTO first_year, last_year
+      FROM payslips_unpartitioned;
+    FOR y IN first_year..last_year LOOP
+        EXECUTE format('CREATE TABLE payslips_y%s PARTITION OF payslips FOR VALUES FROM (%s, 1) TO (%s, 1)',
+                       y, y, y + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO payslips
+SELECT id, employee_id, base_salary, house_amount, transport_amount, gross_salary, employee_taxed,
+       pension_amount, medical_insurance, other_taxed, total_deductions, net_salary, month, year,
+       status, created_at, updated_at, approved_at, payment_file_id
+  FROM payslips_unpartitioned;
+
+DROP TABLE payslips_unpartitioned;
+
+-- Identity columns are not supported on partitioned tables before PostgreSQL 17
+CREATE SEQUENCE payslips_id_seq OWNED BY payslips.id;
+ALTER TABLE payslips ALTER COLUMN id SET DEFAULT nextval('payslips_id_seq');
+SELECT setval('payslips_id_seq', coalesce((SELECT max(id) FROM payslips), 0) + 1, false);
+
+ALTER TABLE payslips ADD CONSTRAINT pk_payslips PRIMARY KEY (id, year, month);
+ALTER TABLE payslips ADD CONSTRAINT uk_payslips_employee_period UNIQUE (employee_id, month, year);
+ALTER TABLE payslips ADD CONSTRAINT fk_payslips_employee FOREIGN KEY (employee_id) REFERENCES employees (id);
+ALTER TABLE payslips ADD CONSTRAINT fk_payslips_payment_file FOREIGN KEY (payment_file_id) REFERENCES bank_payment_files (id);
+
+CREATE INDEX idx_payslip_month_year ON payslips (month, year);
+CREATE INDEX idx_payslip_status ON payslips (status);
+CREATE INDEX idx_payslip_employee_year_month ON payslips (employee_id, year, month);
+CREATE INDEX idx_payslip_year_month_created ON payslips (year DESC, month DESC, created_at DESC);
+CREATE INDEX idx_payslip_payment_file ON payslips (payment_file_id) WHERE payment_file_id IS NOT NULL;
+CREATE INDEX idx_payslip_unreleased ON payslips (month, year) WHERE status = 'APPROVED' AND payment_file_id IS NULL;
+
+-- Messages ------------------------------------------------------------------------------------
+
+ALTER TABLE messages RENAME TO messages_unpartitioned;
+
+CREATE TABLE messages (
+    id            bigint        NOT NULL,
+    employee_id   bigint        NOT NULL,
+    message       varchar(1000) NOT NULL,
+    month_year    varchar(20)   NOT NULL,
+    status        varchar(255)  NOT NULL,
+    sent_at       timestamp(6)  NOT NULL,
+    updated_at    timestamp(6),
+    error_message varchar(255)
+) PARTITION BY RANGE (sent_at);
+
+CREATE TABLE messages_default PARTITION OF messages DEFAULT;
+
+DO $$
+DECLARE
+    first_month date;
+    last_month  date := (date_trunc('month', now()) + interval '3 months')::date;
+    m           date;
+BEGIN
+    SELECT coalesce(date_trunc('month', min(sent_at)), date_trunc('month', now()))::date
+      INTO first_month
+      FROM messages_unpartitioned;
+    m := first_month;
+    WHILE m <= last_month LOOP
+        EXECUTE format('CREATE TABLE messages_p%s PARTITION OF messages FOR VALUES FROM (%L) TO (%L)',
+                       to_char(m, 'YYYYMM'), m, (m + interval '1 month')::date);
+        m := (m + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO messages
+SELECT id, employee_id, message, month_year, status, sent_at, updated_at, error_message
+  FROM messages_unpartitioned;
+
+DROP TABLE messages_unpartitioned;
+
+CREATE SEQUENCE messages_id_seq OWNED BY messages.id;
+ALTER TABLE messages ALTER COLUMN id SET DEFAULT nextval('messages_id_seq');
+SELECT setval('messages_id_seq', coalesce((SELECT max(id) FROM messages), 0) + 1, false);
+
+ALTER TABLE messages ADD CONSTRAINT pk_messages PRIMARY KEY (id, sent_at);
+ALTER TABLE messages ADD CONSTRAINT fk_messages_employee FOREIGN KEY (employee_id) REFERENCES employees (id);
+
+CREATE INDEX idx_message_employee ON messages (employee_id);
+CREATE INDEX idx_message_sent_at ON messages (sent_at);
+CREATE INDEX idx_message_status_sent_at ON messages (status, sent_at);
+CREATE INDEX idx_message_month_year_sent_at ON messages (month_year, sent_at);
+CREATE INDEX idx_message_employee_month_year ON messages (employee_id, month_year);
+CREATE INDEX idx_message_employee_sent_at ON messages (employee_id, sent_at DESC);
+CREATE INDEX idx_messages_search_trgm ON messages USING gin (lower(message) gin_trgm_ops);
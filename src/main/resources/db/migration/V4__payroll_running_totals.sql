@@ -0,0 +1,40 @@
+-- Running payroll totals per employee: one row per month with a payslip, holding the sums from
+-- January of that year up to and including the month. Year-to-date figures are the latest row
+-- at or before a month, and the totals of months m1..m2 are row(m2) minus row(m1 - 1).
+-- PayrollTotalsServiceImpl keeps the rows current in the transaction that changes a payslip;
+-- rejected payslips are not counted. Deleting an employee deletes their totals with their payslips.
+
+CREATE TABLE payroll_running_totals (
+    employee_id       bigint         NOT NULL,
+    year              integer        NOT NULL,
+    month             integer        NOT NULL,
+    payslip_count     integer        NOT NULL,
+    gross_salary      numeric(17, 2) NOT NULL,
+    employee_taxed    numeric(17, 2) NOT NULL,
+    pension_amount    numeric(17, 2) NOT NULL,
+    medical_insurance numeric(17, 2) NOT NULL,
+    other_taxed       numeric(17, 2) NOT NULL,
+    total_deductions  numeric(17, 2) NOT NULL,
+    net_salary        numeric(17, 2) NOT NULL,
+    updated_at        timestamp(6)   NOT NULL,
+    CONSTRAINT pk_payroll_running_totals PRIMARY KEY (employee_id, year, month),
+    CONSTRAINT fk_payroll_running_totals_employee FOREIGN KEY (employee_id) REFERENCES employees (id) ON DELETE CASCADE
+);
+
+-- Payslips already moved to the cold archive are not in the table and are not counted
+INSERT INTO payroll_running_totals (employee_id, year, month, payslip_count, gross_salary, employee_taxed,
+                                    pension_amount, medical_insurance, other_taxed, total_deductions,
+                                    net_salary, updated_at)
+SELECT employee_id, year, month,
+       count(*) OVER period,
+       sum(gross_salary) OVER period,
+       sum(employee_taxed) OVER period,
+       sum(pension_amount) OVER period,
+       sum(medical_insurance) OVER period,
+       sum(other_taxed) OVER period,
+       sum(total_deductions) OVER period,
+       sum(net_salary) OVER period,
+       now()
+FROM payslips
+WHERE status <> 'REJECTED'
+WINDOW period AS (PARTITION BY employee_id, year ORDER BY month);
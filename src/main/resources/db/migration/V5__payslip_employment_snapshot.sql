@@ -0,0 +1,27 @@
+-- The employee and employment a payslip was issued under: code, name, department and position.
+-- Reports, documents and analytics read them from the payslip so a later rename, transfer or
+-- promotion does not rewrite history. Payslips issued before this migration take the employee's
+-- current values and active employment, the closest record there is; payslips without an active
+-- employment keep a null department and position and are shown as N/A. Nothing prevents two
+-- ACTIVE employments for one employee, so the most recently joined one is taken.
+
+ALTER TABLE payslips
+    ADD COLUMN employee_code varchar(20),
+    ADD COLUMN employee_name varchar(201),
+    ADD COLUMN department    varchar(100),
+    ADD COLUMN position      varchar(100);
+
+UPDATE payslips p
+SET employee_code = e.code,
+    employee_name = e.first_name || ' ' || e.last_name
+FROM employees e
+WHERE e.id = p.employee_id;
+
+UPDATE payslips p
+SET department = ed.department,
+    position   = ed.position
+FROM (SELECT DISTINCT ON (employee_id) employee_id, department, position
+        FROM employment_details
+       WHERE status = 'ACTIVE'
+       ORDER BY employee_id, joining_date DESC, id DESC) ed
+WHERE ed.employee_id = p.employee_id;
@@ -0,0 +1,104 @@
+package rw.arsene.erp.v1.analytics;
+
+import org.junit.jupiter.api.Test;
+import rw.arsene.erp.v1.enums.AnalyticsDimension;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayslipCubeTest {
+
+    @Test
+    void groupsAndFiltersOverTheColumns() {
+        PayslipCube cube = new PayslipCube();
+        String[] departments = {"Finance", "HR", null};
+        long id = 1;
+        for (int employee = 0; employee < 3_000; employee++) {
+            for (int month = 1; month <= 12; month++) {
+                cube.put(fact(id++, 2025, month, departments[employee % 3],
+                        month < 12 ? PayslipStatus.PAID : PayslipStatus.APPROVED, "1000.00", "800.25"));
+            }
+        }
+
+        List<PayslipCube.Group> byDepartment = query(cube, List.of(AnalyticsDimension.DEPARTMENT),
+                AnalyticsQuery.period(2025, 1), AnalyticsQuery.period(2025, 12), Set.of(), Set.of());
+        assertThat(byDepartment).hasSize(3);
+        PayslipCube.Group finance = byDepartment.stream().filter(g -> "Finance".equals(g.department())).findFirst().orElseThrow();
+        assertThat(finance.payslips()).isEqualTo(12_000);
+        assertThat(PayslipCube.fromCents(finance.sums()[PayslipCube.NET])).isEqualByComparingTo("9603000.00");
+        assertThat(finance.year()).isNull();
+
+        List<PayslipCube.Group> hrPaidByPeriod = query(cube, List.of(AnalyticsDimension.PERIOD),
+                AnalyticsQuery.period(2025, 10), AnalyticsQuery.period(2025, 12), Set.of("HR"), Set.of(PayslipStatus.PAID));
+        hrPaidByPeriod.sort(Comparator.comparing(PayslipCube.Group::month));
+        assertThat(hrPaidByPeriod).extracting(PayslipCube.Group::month).containsExactly(10, 11);
+        assertThat(hrPaidByPeriod).extracting(PayslipCube.Group::payslips).containsExactly(1_000L, 1_000L);
+        assertThat(hrPaidByPeriod.get(0).year()).isEqualTo(2025);
+    }
+
+    @Test
+    void upsertsReplaceAndRemovalsDropFacts() {
+        PayslipCube cube = new PayslipCube();
+        cube.put(fact(1L, 2024, 6, "Finance", PayslipStatus.PENDING, "1000.00", "800.00"));
+        cube.put(fact(2L, 2024, 6, "Finance", PayslipStatus.PENDING, "1000.00", "800.00"));
+        cube.put(fact(1L, 2024, 6, "Finance", PayslipStatus.PAID, "1500.00", "1200.00"));
+        cube.remove(2L);
+
+        List<PayslipCube.Group> groups = query(cube, List.of(AnalyticsDimension.YEAR, AnalyticsDimension.STATUS),
+                0, Integer.MAX_VALUE, Set.of(), Set.of());
+
+        assertThat(cube.size()).isEqualTo(1);
+        assertThat(groups).singleElement().satisfies(group -> {
+            assertThat(group.year()).isEqualTo(2024);
+            assertThat(group.status()).isEqualTo(PayslipStatus.PAID);
+            assertThat(PayslipCube.fromCents(group.sums()[PayslipCube.GROSS])).isEqualByComparingTo("1500.00");
+        });
+    }
+
+    @Test
+    void deadRowsAreCompactedAway() {
+        PayslipCube cube = new PayslipCube();
+        for (long id = 1; id <= 4_000; id++) {
+            cube.put(fact(id, 2024, 1, id % 2 == 0 ? "Finance" : "HR", PayslipStatus.PAID, "1000.00", "800.00"));
+        }
+        // Every HR payslip and half the Finance ones
+        for (long id = 1; id <= 4_000; id++) {
+            if (id % 2 == 1 || id % 4 == 0) {
+                cube.remove(id);
+            }
+        }
+
+        assertThat(cube.size()).isEqualTo(1_000);
+        assertThat(cube.rows()).isLessThan(2_000);
+        // The surviving rows are still found by payslip id
+        cube.put(fact(2L, 2024, 1, "Finance", PayslipStatus.PAID, "3000.00", "2000.00"));
+        cube.remove(6L);
+
+        List<PayslipCube.Group> groups = query(cube, List.of(AnalyticsDimension.DEPARTMENT), 0, Integer.MAX_VALUE,
+                Set.of(), Set.of());
+        assertThat(groups).singleElement().satisfies(group -> {
+            assertThat(group.department()).isEqualTo("Finance");
+            assertThat(group.payslips()).isEqualTo(999);
+            assertThat(PayslipCube.fromCents(group.sums()[PayslipCube.GROSS])).isEqualByComparingTo("1001000.00");
+        });
+    }
+
+    private static List<PayslipCube.Group> query(PayslipCube cube, List<AnalyticsDimension> groupBy, int from, int to,
+                                                 Set<String> departments, Set<PayslipStatus> statuses) {
+        return new ArrayList<>(cube.query(new AnalyticsQuery(groupBy, from, to, departments, Set.of(), statuses)));
+    }
+
+    private static PayslipFact fact(long id, int year, int month, String department, PayslipStatus status,
+                                    String gross, String net) {
+        BigDecimal grossSalary = new BigDecimal(gross);
+        BigDecimal netSalary = new BigDecimal(net);
+        return new PayslipFact(id, year, month, department, "Officer", status, grossSalary, netSalary,
+                grossSalary.subtract(netSalary), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
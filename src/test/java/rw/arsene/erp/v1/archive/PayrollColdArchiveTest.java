@@ -0,0 +1,117 @@
+package rw.arsene.erp.v1.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rw.arsene.erp.v1.dto.MessageDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayrollColdArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void employeeHistoryIsReadBackFromTheIndexedBlocks() throws Exception {
+        PayrollColdArchive archive = new PayrollColdArchive(directory.toString(), 50);
+        archive.writeYear(2019, payslips(2019, 200), List.of());
+        archive.writeYear(2020, payslips(2020, 200), List.of());
+
+        // A fresh instance only has the files and their indexes to go on
+        List<PayslipDTO> history = new PayrollColdArchive(directory.toString(), 50).findPayslipsByEmployeeId(42L);
+
+        assertThat(history).hasSize(24);
+        assertThat(history).extracting(PayslipDTO::getEmployeeId).containsOnly(42L);
+        assertThat(history.get(0).getYear()).isEqualTo(2020);
+        assertThat(history.get(0).getMonth()).isEqualTo(12);
+        assertThat(history.get(23).getYear()).isEqualTo(2019);
+        assertThat(history.get(23).getMonth()).isEqualTo(1);
+        assertThat(history.get(0).getNetSalary()).isEqualByComparingTo("84200.50");
+        assertThat(history.get(0).getStatus()).isEqualTo(PayslipStatus.PAID);
+        assertThat(history.get(0).getApprovedAt()).isNull();
+        assertThat(history.get(0).getCreatedAt()).isEqualTo(LocalDateTime.of(2020, 12, 25, 9, 30, 0, 123_456_000));
+    }
+
+    @Test
+    void repeatedRunsMergeIntoTheYearFiles() throws Exception {
+        PayrollColdArchive archive = new PayrollColdArchive(directory.toString(), 50);
+        List<PayslipDTO> payslips = payslips(2019, 10);
+
+        archive.writeYear(2019, payslips.subList(0, 60), List.of());
+        long total = archive.writeYear(2019, payslips.subList(40, payslips.size()), List.of(message()));
+
+        assertThat(total).isEqualTo(payslips.size());
+        assertThat(archive.archivedYears()).containsExactly(2019);
+        assertThat(archive.findMessagesByEmployeeId(3L, 2019)).extracting(MessageDTO::getMessage)
+                .containsExactly("Your salary for 01/2019 has been credited");
+    }
+
+    @Test
+    void aSourceOutOfArchiveOrderLeavesTheYearFilesAsTheyWere() throws Exception {
+        PayrollColdArchive archive = new PayrollColdArchive(directory.toString(), 50);
+        List<PayslipDTO> payslips = payslips(2019, 10);
+        archive.writeYear(2019, payslips, List.of());
+
+        assertThatThrownBy(() -> archive.writeYear(2019, writer -> {
+            writer.addPayslip(payslips.get(13));
+            writer.addPayslip(payslips.get(12));
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(archive.readPayslips(2019)).hasSize(payslips.size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString())).noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    void employeesOutsideTheArchiveReadNothing() throws Exception {
+        PayrollColdArchive archive = new PayrollColdArchive(directory.toString(), 50);
+        archive.writeYear(2019, payslips(2019, 10), List.of());
+
+        assertThat(archive.findPayslipsByEmployeeId(999L)).isEmpty();
+    }
+
+    private static List<PayslipDTO> payslips(int year, int employees) {
+        List<PayslipDTO> payslips = new ArrayList<>();
+        long id = year * 100_000L;
+        for (long employeeId = 1; employeeId <= employees; employeeId++) {
+            for (int month = 1; month <= 12; month++) {
+                payslips.add(PayslipDTO.builder()
+                        .id(id++)
+                        .employeeId(employeeId)
+                        .employeeCode("EMP" + employeeId)
+                        .employeeName("Employee " + employeeId)
+                        .department("Finance")
+                        .baseSalary(new BigDecimal("100000.00"))
+                        .netSalary(new BigDecimal("84158.50").add(BigDecimal.valueOf(employeeId)))
+                        .month(month)
+                        .year(year)
+                        .status(PayslipStatus.PAID)
+                        .createdAt(LocalDateTime.of(year, month, 25, 9, 30, 0, 123_456_000))
+                        .build());
+            }
+        }
+        return payslips;
+    }
+
+    private static MessageDTO message() {
+        return MessageDTO.builder()
+                .id(1L)
+                .employeeId(3L)
+                .message("Your salary for 01/2019 has been credited")
+                .monthYear("01/2019")
+                .sentAt(LocalDateTime.of(2019, 1, 28, 8, 0))
+                .build();
+    }
+}
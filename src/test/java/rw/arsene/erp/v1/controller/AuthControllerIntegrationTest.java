@@ -0,0 +1,90 @@
+package rw.arsene.erp.v1.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sign-in runs on the authentication executor, which cannot see an open test transaction, so the
+ * employee is committed and deleted afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerIntegrationTest {
+
+    private static final String PASSWORD = "Sign-in-Passw0rd!";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Employee employee;
+
+    @BeforeEach
+    void createEmployee() {
+        String code = "AUT" + System.nanoTime() % 1_000_000_000L;
+        employee = employeeRepository.save(Employee.builder()
+                .code(code)
+                .firstName("Auth")
+                .lastName("Test")
+                .email(code.toLowerCase() + "@test.rw")
+                .password(passwordEncoder.encode(PASSWORD))
+                .mobile(code)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build());
+    }
+
+    @AfterEach
+    void deleteEmployee() {
+        employeeRepository.deleteById(employee.getId());
+    }
+
+    @Test
+    void signInCompletesAsynchronouslyWithAToken() throws Exception {
+        MvcResult started = mockMvc.perform(signIn(PASSWORD))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.email").value(employee.getEmail()));
+    }
+
+    @Test
+    void aWrongPasswordIsStillUnauthorized() throws Exception {
+        MvcResult started = mockMvc.perform(signIn("wrong-password"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private RequestBuilder signIn(String password) {
+        return post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + employee.getEmail() + "\",\"password\":\"" + password + "\"}");
+    }
+}
@@ -0,0 +1,34 @@
+package rw.arsene.erp.v1.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityVersionTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2031, 6, 1, 12, 0, 30, 100_000_000);
+
+    @Test
+    void updatesWithinASecondChangeTheEtagButNotLastModified() {
+        EntityVersion first = new EntityVersion(7L, UPDATED_AT);
+        EntityVersion second = new EntityVersion(7L, UPDATED_AT.plusNanos(300_000_000));
+
+        assertThat(second.getEtag()).isNotEqualTo(first.getEtag());
+        assertThat(second.getLastModified()).isEqualTo(first.getLastModified());
+        assertThat(first.getLastModified() % 1000).isZero();
+    }
+
+    @Test
+    void theLatestOfTheTimestampsWins() {
+        LocalDateTime employeeUpdatedAt = UPDATED_AT.plusNanos(5_000_000);
+        Date updatedAt = Date.from(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant());
+
+        assertThat(new EntityVersion(7L, updatedAt, employeeUpdatedAt).getEtag())
+                .isEqualTo(new EntityVersion(7L, employeeUpdatedAt, null).getEtag())
+                .isNotEqualTo(new EntityVersion(7L, UPDATED_AT).getEtag());
+    }
+}
@@ -0,0 +1,74 @@
+package rw.arsene.erp.v1.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects request latencies per operation and reports percentiles and throughput.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String operation, long nanos, boolean success) {
+        samples.computeIfAbsent(operation, key -> new Samples()).add(nanos, success);
+    }
+
+    String report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        StringBuilder out = new StringBuilder(String.format("%-28s %8s %8s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "p50 ms", "p99 ms", "max ms", "req/s"));
+        samples.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    long[] sorted = entry.getValue().sorted();
+                    out.append(String.format("%-28s %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                            entry.getKey(), sorted.length, entry.getValue().errors.get(),
+                            millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+                            millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                            sorted.length / seconds));
+                });
+        return out.toString();
+    }
+
+    long errors() {
+        return samples.values().stream().mapToLong(s -> s.errors.get()).sum();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
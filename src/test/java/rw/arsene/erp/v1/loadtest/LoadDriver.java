@@ -0,0 +1,143 @@
+package rw.arsene.erp.v1.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a typical traffic mix over HTTP: logins, payslip listings and searches by a pool of
+ * concurrent users, with one month-end run (generate, approve, notify) in the middle of it.
+ */
+class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final String baseUrl;
+    private final String password;
+    private final int employees;
+    private final YearMonth lastMonth;
+
+    LoadDriver(String baseUrl, String password, int employees, YearMonth lastMonth) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.employees = employees;
+        this.lastMonth = lastMonth;
+    }
+
+    LatencyRecorder run(int users, Duration duration) throws Exception {
+        String adminToken = login(SyntheticDataGenerator.ADMIN_EMAIL);
+        String managerToken = login(SyntheticDataGenerator.MANAGER_EMAIL);
+
+        // One virtual thread per simulated user, so the driver itself is not the bottleneck
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(() -> userLoop(adminToken, deadline)));
+            }
+            futures.add(executor.submit(() -> {
+                sleepUntil(start + duration.toNanos() / 3);
+                monthEnd(adminToken, managerToken, lastMonth.plusMonths(1));
+                return null;
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return recorder;
+    }
+
+    private Void userLoop(String adminToken, long deadline) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int dice = random.nextInt(100);
+            if (dice < 10) {
+                login("employee" + (random.nextInt(employees) + 1) + SyntheticDataGenerator.EMAIL_DOMAIN);
+            } else if (dice < 45) {
+                YearMonth period = lastMonth.minusMonths(random.nextInt(12));
+                get("payslips.by-period", adminToken, "/api/payroll/payslips/period/%d/%d?page=%d&size=20"
+                        .formatted(period.getMonthValue(), period.getYear(), random.nextInt(50)));
+            } else if (dice < 70) {
+                get("employees.search", adminToken, "/api/v1/employees/search?keyword=employee%d&size=20"
+                        .formatted(random.nextInt(employees) + 1));
+            } else if (dice < 85) {
+                get("payslips.search", adminToken, "/api/payroll/payslips/search?keyword=employee%d&size=20"
+                        .formatted(random.nextInt(employees) + 1));
+            } else {
+                get("employees.list", adminToken, "/api/v1/employees?page=%d&size=20"
+                        .formatted(random.nextInt(Math.max(employees / 20, 1))));
+            }
+        }
+        return null;
+    }
+
+    private void monthEnd(String adminToken, String managerToken, YearMonth period) throws IOException, InterruptedException {
+        String path = "/%d/%d".formatted(period.getYear(), period.getMonthValue());
+        send("month-end.generate", HttpRequest.newBuilder(uri("/api/payroll/generate" + path))
+                .header("Authorization", "Bearer " + managerToken)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        send("month-end.approve", HttpRequest.newBuilder(uri("/api/payroll/approve/period" + path))
+                .header("Authorization", "Bearer " + adminToken)
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        send("month-end.notify", HttpRequest.newBuilder(uri("/api/payroll/notify" + path))
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> response = send("login", HttpRequest.newBuilder(uri("/api/v1/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).path("token").asText(null);
+    }
+
+    private void get(String operation, String token, String path) throws IOException, InterruptedException {
+        send(operation, HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET());
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.timeout(Duration.ofMinutes(5)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        recorder.record(operation, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
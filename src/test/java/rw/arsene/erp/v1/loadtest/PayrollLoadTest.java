@@ -0,0 +1,108 @@
+package rw.arsene.erp.v1.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import rw.arsene.erp.v1.service.DirectorySearchService;
+import rw.arsene.erp.v1.service.EmploymentDictionaryService;
+import rw.arsene.erp.v1.service.PayrollAnalyticsService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: bulk loads a synthetic dataset, then replays traffic against the running
+ * application and prints p50/p99 latency and throughput per operation. Excluded from the regular
+ * build; run it with {@code mvn -Ploadtest test}, sizing it with {@code -Dloadtest.employees},
+ * {@code -Dloadtest.months}, {@code -Dloadtest.users} and {@code -Dloadtest.duration-seconds}.
+ * Pass {@code -Dloadtest.jdbc-url} (plus username/password) to use a local PostgreSQL instead of
+ * a Testcontainers one.
+ *
+ * <p>To compare request threading modes at high concurrency, run it twice with the same
+ * {@code -Dloadtest.users=400}, once with {@code -Dloadtest.virtual-threads=true}; each run
+ * writes its report to {@code target/loadtest/<mode>-<users>-users.txt}.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PayrollLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 5000);
+    private static final int DEPARTMENTS = Integer.getInteger("loadtest.departments", 40);
+    private static final int DEDUCTIONS = Integer.getInteger("loadtest.deductions", 20);
+    private static final int MONTHS = Integer.getInteger("loadtest.months", 12);
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+    private static final String PASSWORD = "password";
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("loadtest.jdbc-url");
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("loadtest.jdbc-username", "erp_user"));
+            registry.add("spring.datasource.password", () -> System.getProperty("loadtest.jdbc-password", "erp_123"));
+        } else {
+            if (postgres == null) {
+                postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+                postgres.start();
+            }
+            registry.add("spring.datasource.url",
+                    () -> postgres.getJdbcUrl() + "&currentSchema=erp_schema&reWriteBatchedInserts=true");
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+        }
+        registry.add("app.loadtest.password", () -> PASSWORD);
+        registry.add("spring.threads.virtual.enabled", () -> VIRTUAL_THREADS);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private EmploymentDictionaryService employmentDictionaryService;
+
+    @Autowired
+    private DirectorySearchService directorySearchService;
+
+    @Autowired
+    private PayrollAnalyticsService payrollAnalyticsService;
+
+    @Test
+    void replayTypicalTraffic() throws Exception {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        generator.generate(new SyntheticDataSpec(EMPLOYEES, DEPARTMENTS, DEDUCTIONS, MONTHS, lastMonth), PASSWORD);
+        employmentDictionaryService.rebuild();
+        directorySearchService.rebuild();
+        payrollAnalyticsService.rebuild();
+
+        long start = System.nanoTime();
+        LatencyRecorder results = new LoadDriver("http://localhost:" + port, PASSWORD, EMPLOYEES, lastMonth)
+                .run(USERS, Duration.ofSeconds(DURATION_SECONDS));
+        String report = results.report(System.nanoTime() - start);
+        System.out.println(report);
+
+        Path file = Path.of("target", "loadtest",
+                (VIRTUAL_THREADS ? "virtual" : "platform") + "-" + USERS + "-users.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+
+        assertThat(results.errors()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package rw.arsene.erp.v1.metrics;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.entity.Deduction;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.Message;
+import rw.arsene.erp.v1.repository.DeductionRepository;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.repository.MessageRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Seeds more rows than the largest page so both page sizes come back full, then checks that the
+ * listings issue the same number of statements whatever the page size.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class QueryBudgetIntegrationTest {
+
+    private static final int ROWS = 60;
+    private static final int SMALL_PAGE = 10;
+    private static final int LARGE_PAGE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private DeductionRepository deductionRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedRows() {
+        for (int i = 0; i < ROWS; i++) {
+            Employee employee = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "QB")
+                    .getEmployee();
+            String code = employee.getCode();
+            deductionRepository.save(Deduction.builder()
+                    .code("D" + code)
+                    .deductionName("Budget deduction " + code)
+                    .percentage(new BigDecimal("1.00"))
+                    .build());
+            messageRepository.save(Message.builder()
+                    .employee(employee)
+                    .message("Your payslip is ready")
+                    .monthYear("01/2030")
+                    .build());
+        }
+        // Lazy associations must come from SQL, not from the entities saved above
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void employeeListingStaysWithinBudget() throws Exception {
+        assertFlatWithinBudget("/api/v1/employees", 4);
+    }
+
+    @Test
+    void employmentDetailsListingStaysWithinBudget() throws Exception {
+        assertFlatWithinBudget("/api/v1/employment-details", 5);
+    }
+
+    @Test
+    void deductionListingStaysWithinBudget() throws Exception {
+        assertFlatWithinBudget("/api/v1/deductions", 2);
+    }
+
+    @Test
+    void messageListingStaysWithinBudget() throws Exception {
+        assertFlatWithinBudget("/api/v1/messages", 4);
+    }
+
+    // The statement count must not grow with the page size
+    private void assertFlatWithinBudget(String url, int budget) throws Exception {
+        int small = queryCount(url + "?page=0&size=" + SMALL_PAGE);
+        int large = queryCount(url + "?page=0&size=" + LARGE_PAGE);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(budget);
+    }
+
+    private int queryCount(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        entityManager.clear();
+
+        String queryCount = result.getResponse().getHeader(QueryBudgetAdvice.QUERY_COUNT_HEADER);
+        assertThat(queryCount).isNotNull();
+        return Integer.parseInt(queryCount);
+    }
+}
@@ -0,0 +1,119 @@
+package rw.arsene.erp.v1.payment;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import rw.arsene.erp.v1.dto.BankTransferRow;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BankFileWritersTest {
+
+    private static final List<BankTransferRow> TRANSFERS = List.of(
+            new BankTransferRow(11L, "EMP001", "Aline", "Uwase", "000400012345", "BKIGRWRW", new BigDecimal("250000.50")),
+            new BankTransferRow(12L, "EMP002", "Éric", "Mugisha", "100200300", "040", new BigDecimal("99999.50")));
+
+    private static final BankFileHeader HEADER = header("USD", "350000.00");
+
+    @Test
+    void fixedWidthRecordsAreTwoHundredAsciiCharacters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FixedWidthFileWriter().write(HEADER, TRANSFERS.iterator(), out);
+
+        String[] records = out.toString(StandardCharsets.US_ASCII).split("\r\n");
+        assertThat(records).hasSize(4);
+        assertThat(records).allSatisfy(record -> assertThat(record).hasSize(200));
+
+        assertThat(records[0]).startsWith("H" + pad(HEADER.getReference(), 35) + "20310601120030" + "20310603"
+                + "0000000002" + "000000000035000000" + "USD");
+        assertThat(records[1]).startsWith("D" + pad("SAL-203105-20310601120000-11", 35) + pad("000400012345", 34)
+                + pad("BKIGRWRW", 11) + "000000000025000050" + pad("Aline Uwase", 70));
+        // Non-ASCII characters are replaced rather than shifting the columns
+        assertThat(records[2].substring(99, 169)).isEqualTo(pad("?ric Mugisha", 70));
+        assertThat(records[3]).startsWith("T" + pad(HEADER.getReference(), 35) + "0000000002" + "000000000035000000");
+    }
+
+    @Test
+    void fixedWidthRejectsAmountsThatDoNotFit() {
+        List<BankTransferRow> tooLarge = List.of(new BankTransferRow(1L, "EMP001", "A", "B", "1", "040",
+                new BigDecimal("10000000000000000")));
+
+        assertThatThrownBy(() -> new FixedWidthFileWriter().write(HEADER, tooLarge.iterator(), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pain001CarriesTheTotalsAndOneTransactionPerTransfer() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Pain001FileWriter().write(HEADER, TRANSFERS.iterator(), out);
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document xml = factory.newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(xml.getDocumentElement().getNamespaceURI()).isEqualTo("urn:iso:std:iso:20022:tech:xsd:pain.001.001.09");
+        assertThat(text(xml, "MsgId", 0)).isEqualTo(HEADER.getReference());
+        assertThat(text(xml, "CreDtTm", 0)).isEqualTo("2031-06-01T12:00:30");
+        assertThat(text(xml, "CtrlSum", 0)).isEqualTo("350000.00");
+        assertThat(text(xml, "Dt", 0)).isEqualTo("2031-06-03");
+        assertThat(xml.getElementsByTagName("CdtTrfTxInf").getLength()).isEqualTo(2);
+        assertThat(text(xml, "EndToEndId", 1)).isEqualTo("SAL-203105-20310601120000-12");
+        assertThat(text(xml, "InstdAmt", 0)).isEqualTo("250000.50");
+        // A BIC is sent as such; any other bank code as a proprietary identifier
+        assertThat(xml.getElementsByTagName("BICFI").getLength()).isEqualTo(2);
+        assertThat(text(xml, "Nm", 3)).isEqualTo("Éric Mugisha");
+    }
+
+    @Test
+    void amountsAreScaledToTheMinorUnitOfTheCurrency() throws Exception {
+        // The Rwandan franc has no minor unit; the control sum adds the rounded amounts
+        BankFileHeader francs = header("RWF", "350001");
+
+        ByteArrayOutputStream fixedWidth = new ByteArrayOutputStream();
+        new FixedWidthFileWriter().write(francs, TRANSFERS.iterator(), fixedWidth);
+        String[] records = fixedWidth.toString(StandardCharsets.US_ASCII).split("\r\n");
+        assertThat(records[0].substring(68, 89)).isEqualTo("000000000000350001RWF");
+        assertThat(records[1].substring(81, 99)).isEqualTo("000000000000250001");
+        assertThat(records[2].substring(81, 99)).isEqualTo("000000000000100000");
+
+        ByteArrayOutputStream pain001 = new ByteArrayOutputStream();
+        new Pain001FileWriter().write(francs, TRANSFERS.iterator(), pain001);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document xml = factory.newDocumentBuilder().parse(new ByteArrayInputStream(pain001.toByteArray()));
+        assertThat(text(xml, "CtrlSum", 0)).isEqualTo("350001");
+        assertThat(text(xml, "InstdAmt", 0)).isEqualTo("250001");
+        assertThat(text(xml, "InstdAmt", 1)).isEqualTo("100000");
+    }
+
+    private static BankFileHeader header(String currency, String controlSum) {
+        return BankFileHeader.builder()
+                .reference("SAL-203105-20310601120000")
+                .createdAt(LocalDateTime.of(2031, 6, 1, 12, 0, 30, 123_000_000))
+                .executionDate(LocalDate.of(2031, 6, 3))
+                .transactionCount(2)
+                .controlSum(new BigDecimal(controlSum))
+                .currency(currency)
+                .debtorName("ERP Payroll")
+                .debtorAccount("000100099999")
+                .debtorBankCode("BKIGRWRW")
+                .remittanceInformation("Salary 05/2031")
+                .build();
+    }
+
+    private static String text(Document xml, String element, int index) {
+        return xml.getElementsByTagName(element).item(index).getTextContent();
+    }
+
+    private static String pad(String value, int width) {
+        return String.format("%-" + width + "s", value);
+    }
+}
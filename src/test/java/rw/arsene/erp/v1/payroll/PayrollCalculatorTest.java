@@ -0,0 +1,50 @@
+package rw.arsene.erp.v1.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollCalculatorTest {
+
+    private final PayrollCalculator calculator = new PayrollCalculator();
+
+    @Test
+    void cumulativeTaxMatchesMonthlyTaxForASteadySalary() {
+        PayslipAmounts yearToDate = PayslipAmounts.ZERO;
+        for (int month = 1; month <= 12; month++) {
+            SalaryBreakdown monthly = calculator.calculate(new BigDecimal("200000"));
+            SalaryBreakdown cumulative = calculator.calculate(new BigDecimal("200000"), yearToDate);
+
+            assertThat(cumulative.getEmployeeTaxed()).isEqualByComparingTo(monthly.getEmployeeTaxed());
+            assertThat(cumulative.getNetSalary()).isEqualByComparingTo(monthly.getNetSalary());
+            yearToDate = yearToDate.plus(amounts(cumulative));
+        }
+        assertThat(yearToDate.employeeTaxed()).isEqualByComparingTo("792000.00");
+    }
+
+    @Test
+    void cumulativeTaxWithholdsTheDifferenceToTaxAlreadyPaid() {
+        // 100,000 gross taxed at 20% of 70,000; together with 300,000 the year falls in the top bracket
+        PayslipAmounts january = new PayslipAmounts(1, new BigDecimal("100000.00"), new BigDecimal("14000.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        assertThat(calculator.calculateCumulativeIncomeTax(new BigDecimal("300000.00"), january))
+                .isEqualByComparingTo("88000.00");
+    }
+
+    @Test
+    void cumulativeTaxDoesNotRefundOverWithholding() {
+        PayslipAmounts overWithheld = new PayslipAmounts(1, new BigDecimal("100000.00"), new BigDecimal("50000.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        assertThat(calculator.calculateCumulativeIncomeTax(new BigDecimal("100000.00"), overWithheld))
+                .isEqualByComparingTo("0.00");
+    }
+
+    private static PayslipAmounts amounts(SalaryBreakdown salary) {
+        return new PayslipAmounts(1, salary.getGrossSalary(), salary.getEmployeeTaxed(), salary.getPensionAmount(),
+                salary.getMedicalInsurance(), salary.getOtherTaxed(), salary.getTotalDeductions(), salary.getNetSalary());
+    }
+}
@@ -0,0 +1,62 @@
+package rw.arsene.erp.v1.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayrollSimulatorTest {
+
+    private final PayrollCalculator calculator = new PayrollCalculator();
+
+    @Test
+    void unchangedRatesAffectNobody() {
+        PayrollSimulator.Result result = new PayrollSimulator(calculator, PayrollRates.CURRENT, PayrollRates.CURRENT)
+                .run(payees(10_000), 5);
+
+        assertThat(result.payees()).isEqualTo(10_000);
+        assertThat(result.affected()).isZero();
+        assertThat(result.topAffected()).isEmpty();
+        assertThat(result.proposed(PayrollSimulator.NET)).isEqualTo(result.current(PayrollSimulator.NET));
+    }
+
+    @Test
+    void higherPensionLowersNetAndRanksTheLargestSalariesFirst() {
+        PayrollRates current = PayrollRates.CURRENT;
+        PayrollRates proposed = new PayrollRates(new BigDecimal("0.06"), current.medicalInsuranceRate(),
+                current.houseAllowanceRate(), current.transportAllowanceRate(), current.taxExemption(),
+                current.taxBrackets());
+
+        PayrollSimulator.Result result = new PayrollSimulator(calculator, current, proposed).run(payees(10_000), 3);
+
+        assertThat(result.affected()).isEqualTo(10_000);
+        assertThat(result.worseOff()).isEqualTo(10_000);
+        // 3% more of every base salary: 100,000 + 100,010 + ... + 199,990
+        long basePayroll = 10_000L * 100_000 + 10L * (10_000L * 9_999 / 2);
+        assertThat(result.proposed(PayrollSimulator.PENSION) - result.current(PayrollSimulator.PENSION))
+                .isEqualTo(basePayroll * 3);
+        assertThat(result.topAffected()).extracting(impact -> impact.payee().employeeId())
+                .containsExactly(10_000L, 9_999L, 9_998L);
+        assertThat(result.topAffected().get(0).netDeltaCents()).isEqualTo(-599_970);
+    }
+
+    @Test
+    void taxBracketsMustEndWithoutALimit() {
+        assertThatThrownBy(() -> new PayrollRates(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, List.of(new PayrollRates.TaxBracket(new BigDecimal("100000"), new BigDecimal("0.20")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<PayrollSimulator.Payee> payees(int count) {
+        List<PayrollSimulator.Payee> payees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            payees.add(new PayrollSimulator.Payee(id, "EMP" + id, "Employee " + id, "Finance",
+                    BigDecimal.valueOf(100_000 + (id - 1) * 10).setScale(2)));
+        }
+        return payees;
+    }
+}
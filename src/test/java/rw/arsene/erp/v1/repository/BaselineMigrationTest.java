@@ -0,0 +1,107 @@
+package rw.arsene.erp.v1.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Adopts a schema shaped like one created by the released build under ddl-auto=update, the way
+ * production databases are brought under Flyway: baselined at V1, then migrated from V1.1 on.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BaselineMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String SCHEMA = "erp_schema";
+
+    @Test
+    void releasedSchemaIsBaselinedAndMigrated() throws SQLException {
+        JdbcTemplate jdbc = releasedSchema("released");
+
+        MigrateResult result = migrate("released");
+
+        assertThat(result.success).isTrue();
+        assertMigrated(jdbc);
+    }
+
+    @Test
+    void additionsAlreadyMadeByDdlAutoAreTolerated() throws SQLException {
+        JdbcTemplate jdbc = releasedSchema("updated");
+        jdbc.execute("ALTER TABLE employees ADD COLUMN bank_code varchar(11)");
+        jdbc.execute("ALTER TABLE messages ADD COLUMN updated_at timestamp(6)");
+
+        MigrateResult result = migrate("updated");
+
+        assertThat(result.success).isTrue();
+        assertMigrated(jdbc);
+    }
+
+    // The V1 script is the released schema; it is run outside Flyway so nothing records it. Each
+    // test gets its own database, as pg_trgm is installed once per database.
+    private JdbcTemplate releasedSchema(String database) throws SQLException {
+        new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()))
+                .execute("CREATE DATABASE " + database);
+        DataSource dataSource = dataSource(database);
+        new JdbcTemplate(dataSource).execute("CREATE SCHEMA " + SCHEMA);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("INSERT INTO employees (code, first_name, last_name, email, password, mobile, date_of_birth, status, " +
+                     "created_at, updated_at) VALUES ('EMP1', 'Aline', 'Uwase', 'aline@erp.rw', 'x', '0788000001', " +
+                     "DATE '1990-01-01', 'ACTIVE', now(), now())");
+        jdbc.execute("INSERT INTO payslips (employee_id, base_salary, house_amount, transport_amount, gross_salary, " +
+                     "employee_taxed, pension_amount, medical_insurance, other_taxed, total_deductions, net_salary, " +
+                     "month, year, status, created_at, updated_at) SELECT id, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 6, 2024, " +
+                     "'PAID', now(), now() FROM employees");
+        return jdbc;
+    }
+
+    private MigrateResult migrate(String database) {
+        return Flyway.configure()
+                .dataSource(dataSource(database))
+                .schemas(SCHEMA)
+                .defaultSchema(SCHEMA)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    private void assertMigrated(JdbcTemplate jdbc) {
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM payslips WHERE year = 2024", Long.class)).isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM payslips WHERE payment_file_id IS NULL", Long.class))
+                .isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM employees WHERE bank_code IS NULL " +
+                                       "AND bank_account_number IS NULL", Long.class)).isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM bank_payment_files", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM messages WHERE updated_at IS NOT NULL", Long.class)).isZero();
+        assertThat(jdbc.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() " +
+                                     "AND tablename = 'messages'", String.class))
+                .contains("idx_message_status_sent_at", "idx_message_month_year_sent_at")
+                .doesNotContain("idx_message_status");
+    }
+
+    private static DataSource dataSource(String database) {
+        String url = "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                     + "/" + database + "?currentSchema=" + SCHEMA;
+        return new DriverManagerDataSource(url, postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,146 @@
+package rw.arsene.erp.v1.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Year;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the Flyway migrations to PostgreSQL and checks that the hot repository queries are
+ * planned without a sequential scan. Sequential scans are disabled for the session, so the
+ * planner only falls back to one when no index can serve the query, regardless of table size.
+ * Add the SQL of new hot queries here together with their index migration.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryIndexCoverageTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&currentSchema=erp_schema");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("EmployeeRepository.findByEmail",
+                        "SELECT * FROM employees WHERE email = 'john.doe@erp.gov.rw'"),
+                Arguments.of("EmployeeRepository.searchEmployees",
+                        "SELECT e.* FROM employees e WHERE " + keyword(EmployeeRepository.EMPLOYEE_KEYWORD_MATCH, "doe")),
+                Arguments.of("EmployeeRepository.findByRoles",
+                        "SELECT employee_id FROM employee_roles WHERE role_id = 3"),
+                Arguments.of("RoleRepository.findByName",
+                        "SELECT * FROM roles WHERE name = 'ROLE_ADMIN'"),
+                Arguments.of("EmploymentDetailsRepository.findActiveEmploymentByEmployeeId",
+                        "SELECT * FROM employment_details WHERE employee_id = 1 AND status = 'ACTIVE'"),
+                Arguments.of("EmploymentDetailsRepository.findActiveEmploymentDirectoryRows",
+                        "SELECT employee_id, department, position FROM employment_details WHERE status = 'ACTIVE'"),
+                Arguments.of("EmploymentDetailsRepository.findByDepartment",
+                        "SELECT * FROM employment_details WHERE department = 'Finance' LIMIT 20"),
+                Arguments.of("EmploymentDetailsRepository.findByPosition",
+                        "SELECT * FROM employment_details WHERE position = 'Accountant' LIMIT 20"),
+                Arguments.of("EmploymentDetailsRepository.searchEmploymentDetails",
+                        "SELECT x.id FROM employment_details x WHERE " +
+                        keyword(EmploymentDetailsRepository.EMPLOYMENT_KEYWORD_MATCH, "finance")),
+                Arguments.of("DeductionRepository.searchDeductions",
+                        "SELECT d.* FROM deductions d WHERE " + keyword(DeductionRepository.DEDUCTION_KEYWORD_MATCH, "pension")),
+                Arguments.of("PayslipRepository.findByEmployeeIdOrderByYearDescMonthDesc",
+                        "SELECT * FROM payslips WHERE employee_id = 1 ORDER BY year DESC, month DESC LIMIT 20"),
+                Arguments.of("PayslipRepository.findByEmployeeIdAndMonthAndYear",
+                        "SELECT * FROM payslips WHERE employee_id = 1 AND month = 6 AND year = 2025"),
+                Arguments.of("PayslipRepository.findByMonthAndYear",
+                        "SELECT * FROM payslips WHERE month = 6 AND year = 2025"),
+                Arguments.of("PayslipRepository.findPendingPayslipsByMonthAndYear",
+                        "SELECT * FROM payslips WHERE month = 6 AND year = 2025 AND status = 'PENDING'"),
+                Arguments.of("PayslipRepository.findAllByOrderByYearDescMonthDescCreatedAtDesc",
+                        "SELECT * FROM payslips ORDER BY year DESC, month DESC, created_at DESC LIMIT 20"),
+                Arguments.of("PayslipRepository.streamTransfersByPaymentFile",
+                        "SELECT * FROM payslips WHERE payment_file_id = 1 ORDER BY id"),
+                Arguments.of("PayslipRepository.countUnreleasedApprovedByPeriod",
+                        "SELECT count(*) FROM payslips WHERE month = 6 AND year = 2025 " +
+                        "AND status = 'APPROVED' AND payment_file_id IS NULL"),
+                Arguments.of("PayslipRepository.findPeriodSnapshot",
+                        "SELECT p.*, ed.department, ed.position FROM payslips p JOIN employees e ON e.id = p.employee_id " +
+                        "LEFT JOIN employment_details ed ON ed.employee_id = e.id AND ed.status = 'ACTIVE' " +
+                        "WHERE p.month = 6 AND p.year = 2025 ORDER BY e.code"),
+                Arguments.of("MessageRepository.findByEmployeeIdAndMonthYear",
+                        "SELECT * FROM messages WHERE employee_id = 1 AND month_year = '06/2025' " +
+                        "AND sent_at >= TIMESTAMP '2025-05-01 00:00'"),
+                Arguments.of("MessageRepository.findByEmployeeIdOrderBySentAtDesc",
+                        "SELECT * FROM messages WHERE employee_id = 1 ORDER BY sent_at DESC LIMIT 20"),
+                Arguments.of("MessageRepository.findByStatusOrderBySentAtDesc",
+                        "SELECT * FROM messages WHERE status = 'FAILED' ORDER BY sent_at DESC LIMIT 20"),
+                Arguments.of("MessageRepository.searchMessages",
+                        "SELECT x.id FROM messages x WHERE lower(x.message) LIKE '%' || lower('payslip') || '%'"),
+                Arguments.of("BankPaymentFileRepository.findByMonthAndYearOrderByCreatedAtDesc",
+                        "SELECT * FROM bank_payment_files WHERE month = 6 AND year = 2025 ORDER BY created_at DESC")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryIsIndexBacked(String query, String sql) {
+        String plan = explain(sql);
+
+        assertThat(plan)
+                .as("%s has no supporting index:%n%s", query, plan)
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void payslipPeriodQueryIsPrunedToOnePartition() {
+        int year = Year.now().getValue();
+        String plan = explain("SELECT * FROM payslips WHERE month = 6 AND year = " + year);
+
+        assertThat(plan)
+                .contains("payslips_y" + year)
+                .doesNotContain("payslips_y" + (year + 1))
+                .doesNotContain("payslips_default");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("RESET enable_seqscan");
+                return plan.toString();
+            }
+        });
+    }
+
+    // Binds the keyword of a repository search expression as a literal
+    private static String keyword(String match, String keyword) {
+        return match.replace(":keyword", "'" + keyword + "'");
+    }
+}
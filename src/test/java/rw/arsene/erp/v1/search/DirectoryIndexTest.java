@@ -0,0 +1,74 @@
+package rw.arsene.erp.v1.search;
+
+import org.junit.jupiter.api.Test;
+import rw.arsene.erp.v1.enums.EmployeeStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectoryIndexTest {
+
+    @Test
+    void prefixesMatchAndNamesRankAboveOtherFields() {
+        DirectoryIndex index = new DirectoryIndex();
+        index.put(document(1L, "Aline", "Uwase", "Finance", "Accountant"));
+        index.put(document(2L, "Eric", "Mugisha", "Finance", "Auditor"));
+        index.put(document(3L, "Finn", "Kalisa", "IT", "Developer"));
+
+        assertThat(index.search("fin", 10)).extracting(DirectoryDocument::getEmployeeId).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("finance aud", 10)).extracting(DirectoryDocument::getEmployeeId).containsExactly(2L);
+        assertThat(index.search("0788000002", 10)).extracting(DirectoryDocument::getEmployeeId).containsExactly(2L);
+        assertThat(index.search("nobody", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceTheTokensOfTheEmployee() {
+        DirectoryIndex index = new DirectoryIndex();
+        index.put(document(1L, "Aline", "Uwase", "Finance", "Accountant"));
+        index.put(document(1L, "Aline", "Uwase", "Audit", "Auditor"));
+
+        assertThat(index.search("finance", 10)).isEmpty();
+        assertThat(index.search("audit", 10)).extracting(DirectoryDocument::getEmployeeId).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removingEveryEmployeePrunesTheTrieAndTheTokenPool() {
+        DirectoryIndex index = new DirectoryIndex();
+        index.put(document(1L, "Aline", "Uwase", "Finance", "Accountant"));
+        int nodesOfOne = index.nodeCount();
+        int tokensOfOne = index.pooledTokens();
+
+        for (long id = 2; id <= 100; id++) {
+            index.put(document(id, "Name" + id, "Surname" + id, "Department" + id, "Position" + id));
+        }
+        // Shares only "Finance" with the first employee
+        index.put(document(101L, "Eric", "Mugisha", "Finance", "Auditor"));
+        for (long id = 2; id <= 101; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.nodeCount()).isEqualTo(nodesOfOne);
+        assertThat(index.pooledTokens()).isEqualTo(tokensOfOne);
+        assertThat(index.search("finance", 10)).extracting(DirectoryDocument::getEmployeeId).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.nodeCount()).isZero();
+        assertThat(index.pooledTokens()).isZero();
+    }
+
+    private static DirectoryDocument document(Long id, String firstName, String lastName, String department,
+                                              String position) {
+        return DirectoryDocument.builder()
+                .employeeId(id)
+                .code("EMP" + id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@erp.rw")
+                .mobile(String.format("0788 000 %03d", id))
+                .status(EmployeeStatus.ACTIVE)
+                .department(department)
+                .position(position)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.BankPaymentFileDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.enums.BankFileFormat;
+import rw.arsene.erp.v1.enums.BankFileStatus;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.event.PayslipChangedEvent;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bank payment file lifecycle against the configured database. Each test rolls back; the written
+ * files stay under target/.
+ */
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+@TestPropertySource(properties = {
+        "app.bank-files.directory=target/bank-files-test",
+        "app.bank-files.debtor-account=000100099999",
+        "app.bank-files.debtor-bank-code=BKIGRWRW"
+})
+class BankPaymentFileIntegrationTest {
+
+    private static final int MONTH = 5;
+    private static final int YEAR = 2032;
+
+    @Autowired
+    private BankPaymentFileService bankPaymentFileService;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ApplicationEvents events;
+
+    private final List<Long> payslipIds = new ArrayList<>();
+
+    @BeforeEach
+    void approvePayslips() {
+        for (String bankCode : List.of("BKIGRWRW", "040")) {
+            Long employeeId = createEmployee(bankCode);
+            Long payslipId = payrollService.generatePayslipForEmployee(employeeId, MONTH, YEAR).getId();
+            payrollService.approvePayslip(payslipId);
+            payslipIds.add(payslipId);
+        }
+        // Approved but without bank details, so left out of the file
+        payrollService.approvePayslip(payrollService.generatePayslipForEmployee(createEmployee(null), MONTH, YEAR).getId());
+    }
+
+    @Test
+    void acknowledgingMarksEveryPayslipPaidAndPublishesAnEventForEach() {
+        BankPaymentFileDTO file = bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.PAIN_001, null);
+        assertThat(file.getStatus()).isEqualTo(BankFileStatus.GENERATED);
+        assertThat(file.getTransactionCount()).isEqualTo(2);
+        assertThat(file.getSkippedPayslips()).isEqualTo(1);
+
+        assertThatThrownBy(() -> bankPaymentFileService.acknowledgePaymentFile(file.getId(), "0".repeat(64)))
+                .isInstanceOf(BusinessException.class);
+        BankPaymentFileDTO acknowledged = bankPaymentFileService.acknowledgePaymentFile(file.getId(), file.getChecksum());
+
+        assertThat(acknowledged.getStatus()).isEqualTo(BankFileStatus.ACKNOWLEDGED);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(payslipIds).allSatisfy(id ->
+                assertThat(payrollService.getPayslipById(id).getStatus()).isEqualTo(PayslipStatus.PAID));
+        assertThat(events.stream(PayslipChangedEvent.class)
+                .filter(event -> event.getStatus() == PayslipStatus.PAID)
+                .map(PayslipChangedEvent::getPayslipId))
+                .containsExactlyInAnyOrderElementsOf(payslipIds);
+    }
+
+    @Test
+    void cancellingReleasesThePayslipsForANewFile() throws InterruptedException {
+        BankPaymentFileDTO file = bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.FIXED_WIDTH, null);
+        assertThatThrownBy(() -> bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.FIXED_WIDTH, null))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(bankPaymentFileService.cancelPaymentFile(file.getId()).getStatus()).isEqualTo(BankFileStatus.CANCELLED);
+        assertThatThrownBy(() -> bankPaymentFileService.acknowledgePaymentFile(file.getId(), null))
+                .isInstanceOf(BusinessException.class);
+
+        entityManager.flush();
+        entityManager.clear();
+        // File references are unique to the second
+        Thread.sleep(1000);
+        BankPaymentFileDTO replacement = bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.FIXED_WIDTH, null);
+        assertThat(replacement.getTransactionCount()).isEqualTo(2);
+        assertThat(replacement.getControlSum()).isEqualByComparingTo(file.getControlSum());
+    }
+
+    @Test
+    void payslipsInAFileCannotBeDeletedOrPaidOneByOne() {
+        bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.PAIN_001, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> payrollService.markAsPaid(payslipIds.get(0)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("acknowledge or cancel the file");
+        assertThatThrownBy(() -> payrollService.deletePayslip(payslipIds.get(1)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("acknowledge or cancel the file");
+    }
+
+    @Test
+    void generatingWithoutADebtorAccountIsRejected() {
+        Object service = AopTestUtils.getTargetObject(bankPaymentFileService);
+        ReflectionTestUtils.setField(service, "debtorAccount", " ");
+        try {
+            assertThatThrownBy(() -> bankPaymentFileService.generatePaymentFile(MONTH, YEAR, BankFileFormat.PAIN_001, null))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("app.bank-files.debtor-account");
+        } finally {
+            ReflectionTestUtils.setField(service, "debtorAccount", "000100099999");
+        }
+    }
+
+    private Long createEmployee(String bankCode) {
+        Employee employee = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "BNK").getEmployee();
+        employee.setBankAccountNumber(bankCode != null ? "000400" + employee.getCode().substring(3) : null);
+        employee.setBankCode(bankCode);
+        return employee.getId();
+    }
+}
@@ -0,0 +1,75 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.EmployeeDTO;
+import rw.arsene.erp.v1.dto.EmploymentDetailsDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.exception.BusinessException;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyword searches against the configured database. Rolls back after each test.
+ */
+@SpringBootTest
+@Transactional
+class KeywordSearchIntegrationTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmploymentDetailsService employmentDetailsService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private String code;
+    private Long employeeId;
+
+    @BeforeEach
+    void createEmployee() {
+        EmploymentDetails details = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "KWS");
+        Employee employee = details.getEmployee();
+        code = employee.getCode();
+        employeeId = employee.getId();
+        employee.setFirstName("Quilla");
+        employee.setLastName("Zhorvath" + code);
+        employee.setEmail(code.toLowerCase() + "@keyword.rw");
+        details.setDepartment("Treasury " + code);
+        entityManager.flush();
+    }
+
+    @Test
+    void eachFieldMatchesOnItsOwn() {
+        for (String keyword : new String[] {code, "zhorvath" + code.toLowerCase(), code.toLowerCase() + "@keyword"}) {
+            assertThat(employeeService.searchEmployees(keyword, PageRequest.of(0, 10)).getContent())
+                    .extracting(EmployeeDTO::getId)
+                    .containsExactly(employeeId);
+        }
+        assertThat(employmentDetailsService.searchEmploymentDetails("treasury " + code, PageRequest.of(0, 10)).getContent())
+                .extracting(EmploymentDetailsDTO::getEmployeeId)
+                .containsExactly(employeeId);
+    }
+
+    @Test
+    void keywordsShorterThanATrigramAreRejected() {
+        assertThatThrownBy(() -> employeeService.searchEmployees(" ab ", PageRequest.of(0, 10)))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> employmentDetailsService.searchEmploymentDetails("a", PageRequest.of(0, 10)))
+                .isInstanceOf(BusinessException.class);
+    }
+}
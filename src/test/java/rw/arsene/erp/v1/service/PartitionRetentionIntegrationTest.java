@@ -0,0 +1,123 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.archive.PayrollColdArchive;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.Message;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.repository.MessageRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Partition retirement through the payroll cold archive, and period queries over the message
+ * partitions, against the configured database. Each test rolls back, partition DDL included.
+ */
+@SpringBootTest
+@Transactional
+class PartitionRetentionIntegrationTest {
+
+    private static final int EXPIRED_YEAR = 2015;
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("partition-retention").toString();
+        registry.add("app.cold-archive.directory", () -> directory);
+    }
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayrollColdArchive coldArchive;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void createEmployee() {
+        employee = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "PRT").getEmployee();
+    }
+
+    @Test
+    void expiredPartitionsMoveToTheColdArchiveAndAreDroppedOnceEmpty() {
+        jdbcTemplate.execute("CREATE TABLE payslips_y" + EXPIRED_YEAR + " PARTITION OF payslips "
+                + "FOR VALUES FROM (" + EXPIRED_YEAR + ", 1) TO (" + (EXPIRED_YEAR + 1) + ", 1)");
+        jdbcTemplate.execute("CREATE TABLE messages_p" + EXPIRED_YEAR + "03 PARTITION OF messages "
+                + "FOR VALUES FROM ('" + EXPIRED_YEAR + "-03-01') TO ('" + EXPIRED_YEAR + "-04-01')");
+        PayslipDTO paid = payrollService.generatePayslipForEmployee(employee.getId(), 3, EXPIRED_YEAR);
+        payrollService.approvePayslip(paid.getId());
+        payrollService.markAsPaid(paid.getId());
+        PayslipDTO pending = payrollService.generatePayslipForEmployee(employee.getId(), 4, EXPIRED_YEAR);
+        jdbcTemplate.update("INSERT INTO messages (employee_id, message, month_year, status, sent_at) "
+                + "VALUES (?, 'Your payslip is ready', '03/" + EXPIRED_YEAR + "', 'SENT', '" + EXPIRED_YEAR + "-03-28')",
+                employee.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        partitionMaintenanceService.archiveExpiredPartitions();
+
+        // The paid payslip and its message moved; the pending payslip keeps its partition
+        assertThat(coldArchive.findPayslipsByEmployeeId(employee.getId())).extracting(PayslipDTO::getId)
+                .containsExactly(paid.getId());
+        assertThat(coldArchive.findMessagesByEmployeeId(employee.getId(), EXPIRED_YEAR)).hasSize(1);
+        assertThat(partitions("payslips")).contains("payslips_y" + EXPIRED_YEAR);
+        assertThat(partitions("messages")).doesNotContain("messages_p" + EXPIRED_YEAR + "03");
+
+        payrollService.deletePayslip(pending.getId());
+        entityManager.flush();
+        partitionMaintenanceService.archiveExpiredPartitions();
+
+        assertThat(partitions("payslips")).doesNotContain("payslips_y" + EXPIRED_YEAR);
+        assertThat(payrollService.getPayslipsByEmployeeId(employee.getId())).extracting(PayslipDTO::getId)
+                .containsExactly(paid.getId());
+    }
+
+    @Test
+    void periodQueriesFindMessagesSentLongBeforeThePeriod() {
+        messageRepository.save(Message.builder()
+                .employee(employee)
+                .message("Your payslip for 05/2034 is ready")
+                .monthYear("05/2034")
+                .build());
+        entityManager.flush();
+
+        assertThat(messageRepository.existsByEmployeeIdAndMonthYear(employee.getId(), "05/2034")).isTrue();
+        assertThat(messageRepository.findByEmployeeIdAndMonthYear(employee.getId(), "05/2034")).hasSize(1);
+        assertThat(messageRepository.findByMonthYear("05/2034")).hasSize(1);
+        assertThat(messageRepository.countByMonthYear("05/2034")).isEqualTo(1);
+        assertThat(messageRepository.findByPeriodYear(2034)).hasSize(1);
+        assertThat(messageRepository.countByMonthYear("06/2034")).isZero();
+    }
+
+    private List<String> partitions(String parent) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = ?", String.class, parent);
+    }
+}
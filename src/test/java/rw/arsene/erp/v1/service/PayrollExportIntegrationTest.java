@@ -0,0 +1,67 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.enums.ExportFormat;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The CSV payroll register against the configured database. Rolls back after the test.
+ */
+@SpringBootTest
+@Transactional
+class PayrollExportIntegrationTest {
+
+    private static final int MONTH = 2;
+    private static final int YEAR = 2034;
+
+    @Autowired
+    private PayrollExportService payrollExportService;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void csvRowsShowTheIssuedEmploymentAndNeverStartWithAFormula() throws Exception {
+        EmploymentDetails details = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "EXP");
+        Employee employee = details.getEmployee();
+        String code = employee.getCode();
+        employee.setFirstName("=HYPERLINK(\"http://x\")");
+        details.setDepartment("@Finance");
+        payrollService.generatePayslipForEmployee(employee.getId(), MONTH, YEAR);
+
+        // Transferred after the payslip was issued
+        details.setDepartment("Audit");
+        details.setPosition("-Auditor");
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollExportService.exportRegister(MONTH, YEAR, ExportFormat.CSV, out);
+
+        String row = Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\r\n"))
+                .filter(line -> line.startsWith(code + ","))
+                .findFirst()
+                .orElseThrow();
+        assertThat(row).startsWith(code + ",\"'=HYPERLINK(\"\"http://x\"\") Employee\"," + code.toLowerCase() + "@test.rw,"
+                + "'@Finance,Accountant,200000.00,");
+    }
+}
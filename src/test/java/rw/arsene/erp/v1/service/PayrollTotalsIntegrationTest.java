@@ -0,0 +1,173 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.dto.PayrollTotalsDTO;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Running totals kept by the payroll service against the configured database. Each test rolls back.
+ */
+@SpringBootTest
+@Transactional
+class PayrollTotalsIntegrationTest {
+
+    private static final int YEAR = 2031;
+    private static final RecursiveComparisonConfiguration BIG_DECIMALS_BY_VALUE = RecursiveComparisonConfiguration.builder()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .build();
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayrollTotalsService payrollTotalsService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void createEmployee() {
+        employeeId = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "TOT")
+                .getEmployee().getId();
+    }
+
+    @Test
+    void generatedPayslipsAddUpThroughTheYear() {
+        PayslipDTO january = payrollService.generatePayslipForEmployee(employeeId, 1, YEAR);
+        payrollService.generatePayslipForEmployee(employeeId, 3, YEAR);
+
+        PayrollTotalsDTO february = yearToDate(2);
+        assertThat(february.getPayslips()).isEqualTo(1);
+        assertThat(february.getNetSalary()).isEqualByComparingTo(january.getNetSalary());
+
+        PayrollTotalsDTO march = yearToDate(3);
+        assertThat(march.getPayslips()).isEqualTo(2);
+        assertThat(march.getNetSalary()).isEqualByComparingTo(january.getNetSalary().multiply(BigDecimal.TWO));
+
+        PayrollTotalsDTO marchOnly = totals(3, 3);
+        assertThat(marchOnly.getPayslips()).isEqualTo(1);
+    }
+
+    @Test
+    void regeneratingReplacesThePayslipsAmounts() {
+        payrollService.generatePayslipForEmployee(employeeId, 2, YEAR);
+        PayrollTotalsDTO before = yearToDate(12);
+
+        payrollService.generatePayslipForEmployee(employeeId, 2, YEAR);
+
+        PayrollTotalsDTO after = yearToDate(12);
+        assertThat(after.getPayslips()).isEqualTo(1);
+        assertThat(after.getGrossSalary()).isEqualByComparingTo(before.getGrossSalary());
+    }
+
+    @Test
+    void rejectingAndDeletingAPayslipNetsToZero() {
+        payrollService.generatePayslipForEmployee(employeeId, 4, YEAR);
+        PayslipDTO rejected = payrollService.generatePayslipForEmployee(employeeId, 5, YEAR);
+
+        payrollService.rejectPayslip(rejected.getId());
+        PayrollTotalsDTO afterReject = yearToDate(12);
+        assertThat(afterReject.getPayslips()).isEqualTo(1);
+
+        // The rejected payslip no longer counts, so deleting it changes nothing
+        payrollService.deletePayslip(rejected.getId());
+        PayrollTotalsDTO afterDelete = yearToDate(12);
+        assertThat(afterDelete.getPayslips()).isEqualTo(1);
+        assertThat(afterDelete.getNetSalary()).isEqualByComparingTo(afterReject.getNetSalary());
+
+        PayslipDTO april = payrollService.getPayslipsByEmployeeId(employeeId).get(0);
+        payrollService.deletePayslip(april.getId());
+        PayrollTotalsDTO empty = yearToDate(12);
+        assertThat(empty.getPayslips()).isZero();
+        assertThat(empty.getNetSalary()).isZero();
+        assertThat(empty.getTotalDeductions()).isZero();
+    }
+
+    @Test
+    void backfillMatchesTheTotalsKeptIncrementally() throws Exception {
+        payrollService.generatePayslipForEmployee(employeeId, 1, YEAR);
+        PayslipDTO february = payrollService.generatePayslipForEmployee(employeeId, 2, YEAR);
+        payrollService.generatePayslipForEmployee(employeeId, 6, YEAR);
+        payrollService.rejectPayslip(february.getId());
+        payrollService.generatePayslipForEmployee(employeeId, 6, YEAR);
+        List<PayrollTotalsDTO> incremental = monthByMonth();
+
+        jdbcTemplate.update("DELETE FROM payroll_running_totals");
+        jdbcTemplate.update(backfillStatement());
+
+        assertThat(incremental.get(11).getPayslips()).isEqualTo(2);
+        assertThat(monthByMonth()).usingRecursiveFieldByFieldElementComparator(BIG_DECIMALS_BY_VALUE)
+                .isEqualTo(incremental);
+    }
+
+    @Test
+    void deletingAnEmployeeDeletesTheirPayslipsAndTotals() {
+        payrollService.generatePayslipForEmployee(employeeId, 7, YEAR);
+        payrollService.generatePayslipForEmployee(employeeId, 8, YEAR);
+        entityManager.flush();
+        entityManager.clear();
+
+        employeeService.deleteEmployee(employeeId);
+        entityManager.flush();
+
+        assertThat(count("payslips")).isZero();
+        assertThat(count("payroll_running_totals")).isZero();
+    }
+
+    // The V4 statement that fills the table from the payslips already there
+    private static String backfillStatement() throws Exception {
+        String migration = new ClassPathResource("db/migration/V4__payroll_running_totals.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        return Arrays.stream(migration.split(";"))
+                .map(statement -> statement.replaceAll("(?m)^--.*$", "").trim())
+                .filter(statement -> statement.startsWith("INSERT INTO payroll_running_totals"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<PayrollTotalsDTO> monthByMonth() {
+        return IntStream.rangeClosed(1, 12).mapToObj(this::yearToDate).toList();
+    }
+
+    private PayrollTotalsDTO yearToDate(int month) {
+        return totals(1, month);
+    }
+
+    // The totals are updated in SQL, so read them past the persistence context
+    private PayrollTotalsDTO totals(int fromMonth, int toMonth) {
+        entityManager.flush();
+        entityManager.clear();
+        return payrollTotalsService.getTotals(employeeId, YEAR, fromMonth, YEAR, toMonth);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE employee_id = ?", Long.class, employeeId);
+    }
+}
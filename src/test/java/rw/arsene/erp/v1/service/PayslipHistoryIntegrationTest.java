@@ -0,0 +1,136 @@
+package rw.arsene.erp.v1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.archive.PayrollColdArchive;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.enums.PayslipStatus;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An employee's payslip history across the database and the cold archive. Each test rolls back;
+ * the archive lives in a directory of its own.
+ */
+@SpringBootTest
+@Transactional
+class PayslipHistoryIntegrationTest {
+
+    private static final int YEAR = 2033;
+    private static final int ARCHIVED_YEAR = 2030;
+    private static final long ARCHIVED_IDS = 9_000_000_000L;
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("payslip-history").toString();
+        registry.add("app.cold-archive.directory", () -> directory);
+    }
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayrollColdArchive coldArchive;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+
+    private Long employeeId;
+    private List<Long> currentIds;
+
+    @BeforeEach
+    void createHistory() throws IOException {
+        employeeId = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "HIS")
+                .getEmployee().getId();
+        currentIds = IntStream.of(3, 2, 1)
+                .mapToObj(month -> payrollService.generatePayslipForEmployee(employeeId, month, YEAR).getId())
+                .toList();
+
+        List<PayslipDTO> archived = IntStream.rangeClosed(1, 4)
+                .mapToObj(month -> archived(ARCHIVED_IDS + month, ARCHIVED_YEAR, month))
+                .toList();
+        coldArchive.writeYear(ARCHIVED_YEAR, archived, List.of());
+        // As left by an archive run interrupted before it deleted the rows
+        coldArchive.writeYear(YEAR, List.of(archived(currentIds.get(0), YEAR, 3)), List.of());
+    }
+
+    @Test
+    void pagesContinueFromTheDatabaseIntoTheArchiveWithoutDuplicates() {
+        List<Page<PayslipDTO>> pages = IntStream.range(0, 4)
+                .mapToObj(page -> payrollService.getPayslipsByEmployeeId(employeeId, PageRequest.of(page, 2)))
+                .toList();
+
+        assertThat(pages).allSatisfy(page -> assertThat(page.getTotalElements()).isEqualTo(7));
+        assertThat(pages.stream().flatMap(page -> page.getContent().stream()).map(PayslipDTO::getId).toList())
+                .containsExactly(currentIds.get(0), currentIds.get(1), currentIds.get(2),
+                        ARCHIVED_IDS + 4, ARCHIVED_IDS + 3, ARCHIVED_IDS + 2, ARCHIVED_IDS + 1);
+        assertThat(pages.get(3).hasNext()).isFalse();
+        assertThat(payrollService.getPayslipsByEmployeeId(employeeId, PageRequest.of(4, 2)).getContent()).isEmpty();
+    }
+
+    @Test
+    void payslipsKeptInAnArchivedYearArePagedInTheirPeriod() throws IOException {
+        coldArchive.writeYear(ARCHIVED_YEAR, List.of(archived(ARCHIVED_IDS + 8, ARCHIVED_YEAR, 8)), List.of());
+        Long newest = payrollService.generatePayslipForEmployee(employeeId, 1, YEAR + 1).getId();
+        // Not PAID when its year was archived, so it stayed in the database
+        Long kept = payrollService.generatePayslipForEmployee(employeeId, 6, ARCHIVED_YEAR).getId();
+
+        List<Long> paged = IntStream.range(0, 5)
+                .mapToObj(page -> payrollService.getPayslipsByEmployeeId(employeeId, PageRequest.of(page, 2)))
+                .flatMap(page -> page.getContent().stream())
+                .map(PayslipDTO::getId)
+                .toList();
+
+        assertThat(paged).containsExactly(newest, currentIds.get(0), currentIds.get(1), currentIds.get(2),
+                ARCHIVED_IDS + 8, kept, ARCHIVED_IDS + 4, ARCHIVED_IDS + 3, ARCHIVED_IDS + 2, ARCHIVED_IDS + 1);
+        assertThat(payrollService.getPayslipsByEmployeeId(employeeId)).extracting(PayslipDTO::getId)
+                .containsExactlyElementsOf(paged);
+    }
+
+    @Test
+    void theFullHistoryMatchesThePages() {
+        List<PayslipDTO> history = payrollService.getPayslipsByEmployeeId(employeeId);
+
+        assertThat(history).hasSize(7);
+        assertThat(history.get(0).getId()).isEqualTo(currentIds.get(0));
+        assertThat(history.get(0).getStatus()).isEqualTo(PayslipStatus.PENDING);
+    }
+
+    @Test
+    void rewritingAYearRefreshesTheArchivedIds() throws IOException {
+        assertThat(coldArchive.findPayslipIdsByEmployeeId(employeeId)).hasSize(5);
+
+        coldArchive.writeYear(ARCHIVED_YEAR, List.of(archived(ARCHIVED_IDS + 5, ARCHIVED_YEAR, 5)), List.of());
+
+        assertThat(coldArchive.findPayslipIdsByEmployeeId(employeeId)).hasSize(6).contains(ARCHIVED_IDS + 5);
+        assertThat(payrollService.getPayslipsByEmployeeId(employeeId, PageRequest.of(0, 2)).getTotalElements()).isEqualTo(8);
+    }
+
+    private PayslipDTO archived(Long id, int year, int month) {
+        return PayslipDTO.builder()
+                .id(id)
+                .employeeId(employeeId)
+                .department("Finance")
+                .netSalary(new BigDecimal("150000.00"))
+                .month(month)
+                .year(year)
+                .status(PayslipStatus.PAID)
+                .build();
+    }
+}
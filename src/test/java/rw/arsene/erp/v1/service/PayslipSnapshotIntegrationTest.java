@@ -0,0 +1,75 @@
+package rw.arsene.erp.v1.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import rw.arsene.erp.v1.document.PayslipDocumentCache;
+import rw.arsene.erp.v1.dto.PayslipDTO;
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+import rw.arsene.erp.v1.support.TestEmployees;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A paid payslip keeps the employee and employment it was issued under, and so does its cached
+ * document. Rolls back after the test.
+ */
+@SpringBootTest
+@Transactional
+class PayslipSnapshotIntegrationTest {
+
+    private static final int YEAR = 2034;
+
+    @DynamicPropertySource
+    static void cacheDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("payslip-snapshot").toString();
+        registry.add("app.documents.cache-directory", () -> directory);
+    }
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayslipDocumentCache documentCache;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void renamesAndTransfersDoNotRewriteAnIssuedPayslip() {
+        EmploymentDetails details = TestEmployees.activeEmployee(employeeRepository, employmentDetailsRepository, "SNP");
+        Employee employee = details.getEmployee();
+        String code = employee.getCode();
+
+        Long payslipId = payrollService.generatePayslipForEmployee(employee.getId(), 1, YEAR).getId();
+        payrollService.approvePayslip(payslipId);
+        PayslipDTO paid = payrollService.markAsPaid(payslipId);
+        String issuedKey = documentCache.contentKey(paid);
+
+        employee.setFirstName("Renamed");
+        employee.setCode("R" + code);
+        details.setDepartment("Audit");
+        details.setPosition("Auditor");
+        entityManager.flush();
+        entityManager.clear();
+
+        PayslipDTO reread = payrollService.getPayslipById(payslipId);
+        assertThat(reread.getEmployeeName()).isEqualTo("Test Employee");
+        assertThat(reread.getEmployeeCode()).isEqualTo(code);
+        assertThat(reread.getDepartment()).isEqualTo("Finance");
+        assertThat(reread.getPosition()).isEqualTo("Accountant");
+        assertThat(documentCache.contentKey(reread)).isEqualTo(issuedKey);
+    }
+}
@@ -0,0 +1,59 @@
+package rw.arsene.erp.v1.service.impl;
+
+import org.junit.jupiter.api.Test;
+import rw.arsene.erp.v1.dto.DirectoryEntryDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.enums.EmployeeStatus;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DirectorySearchServiceImplTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmploymentDetailsRepository employmentDetailsRepository = mock(EmploymentDetailsRepository.class);
+    private final DirectorySearchServiceImpl service =
+            new DirectorySearchServiceImpl(employeeRepository, employmentDetailsRepository);
+
+    @Test
+    void anEmployeeDeletedDuringARebuildIsNotResurrectedByTheSnapshot() {
+        when(employmentDetailsRepository.findActiveEmploymentDirectoryRows()).thenReturn(List.of(
+                new Object[]{1L, "Finance", "Accountant"},
+                new Object[]{2L, "Finance", "Auditor"}));
+        when(employeeRepository.findById(2L)).thenReturn(Optional.empty());
+        // The snapshot was read before the deletion committed
+        when(employeeRepository.findDirectoryRows()).thenAnswer(invocation -> {
+            service.onEmployeeChanged(new EmployeeChangedEvent(2L, ChangeType.DELETED));
+            return List.of(row(1L, "Aline", "Uwase"), row(2L, "Eric", "Mugisha"));
+        });
+
+        service.rebuild();
+
+        assertThat(service.typeahead("finance", 10)).extracting(DirectoryEntryDTO::getEmployeeId).containsExactly(1L);
+    }
+
+    @Test
+    void deletingAnEmployeeRemovesThemFromTheIndex() {
+        when(employmentDetailsRepository.findActiveEmploymentDirectoryRows()).thenReturn(List.of());
+        when(employeeRepository.findDirectoryRows()).thenReturn(List.of(row(1L, "Aline", "Uwase"), row(2L, "Eric", "Mugisha")));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        service.rebuild();
+
+        service.onEmployeeChanged(new EmployeeChangedEvent(1L, ChangeType.DELETED));
+
+        assertThat(service.typeahead("aline", 10)).isEmpty();
+        assertThat(service.typeahead("eric", 10)).extracting(DirectoryEntryDTO::getEmployeeId).containsExactly(2L);
+    }
+
+    private static Object[] row(Long id, String firstName, String lastName) {
+        return new Object[]{id, "EMP" + id, firstName, lastName, firstName.toLowerCase() + "@erp.rw", "078800000" + id,
+                EmployeeStatus.ACTIVE};
+    }
+}
@@ -0,0 +1,61 @@
+package rw.arsene.erp.v1.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import rw.arsene.erp.v1.dto.DictionaryEntryDTO;
+import rw.arsene.erp.v1.enums.ChangeType;
+import rw.arsene.erp.v1.event.EmployeeChangedEvent;
+import rw.arsene.erp.v1.event.EmploymentDetailsChangedEvent;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmploymentDictionaryServiceImplTest {
+
+    private final EmploymentDetailsRepository repository = mock(EmploymentDetailsRepository.class);
+    private final EmploymentDictionaryServiceImpl service = new EmploymentDictionaryServiceImpl(repository);
+
+    @BeforeEach
+    void loadRecords() {
+        when(repository.findDictionaryRows()).thenReturn(List.of(
+                new Object[]{1L, 100L, "Finance", "Accountant"},
+                new Object[]{2L, 100L, "Finance", "Auditor"},
+                new Object[]{3L, 200L, "Finance", "Accountant"},
+                new Object[]{4L, 300L, "IT", "Developer"}));
+        service.rebuild();
+    }
+
+    @Test
+    void deletingAnEmployeeDropsAllTheirRecords() {
+        service.onEmployeeChanged(new EmployeeChangedEvent(100L, ChangeType.DELETED));
+
+        assertThat(service.countByDepartment("Finance")).isEqualTo(1);
+        assertThat(service.countByPosition("Accountant")).isEqualTo(1);
+        assertThat(values(service.getPositions())).containsExactly("Accountant", "Developer");
+    }
+
+    @Test
+    void otherEmployeeChangesLeaveTheRecords() {
+        service.onEmployeeChanged(new EmployeeChangedEvent(100L, ChangeType.UPDATED));
+
+        assertThat(service.countByDepartment("Finance")).isEqualTo(3);
+    }
+
+    @Test
+    void recordChangesMoveTheCounts() {
+        service.onEmploymentDetailsChanged(new EmploymentDetailsChangedEvent(4L, 300L, "Finance", "Auditor", ChangeType.UPDATED));
+        service.onEmploymentDetailsChanged(new EmploymentDetailsChangedEvent(3L, 200L, null, null, ChangeType.DELETED));
+
+        assertThat(values(service.getDepartments())).containsExactly("Finance");
+        assertThat(service.countByDepartment("Finance")).isEqualTo(3);
+        assertThat(service.countByPosition("Auditor")).isEqualTo(2);
+    }
+
+    private static List<String> values(List<DictionaryEntryDTO> entries) {
+        return entries.stream().map(DictionaryEntryDTO::getValue).toList();
+    }
+}
@@ -0,0 +1,36 @@
+package rw.arsene.erp.v1.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import rw.arsene.erp.v1.dto.PayrollSimulationDTO;
+import rw.arsene.erp.v1.dto.PayrollSimulationRequestDTO;
+import rw.arsene.erp.v1.enums.TaxMethod;
+import rw.arsene.erp.v1.payroll.PayrollCalculator;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PayrollSimulationServiceImplTest {
+
+    private final EmploymentDetailsRepository employmentDetailsRepository = mock(EmploymentDetailsRepository.class);
+    private final PayrollSimulationServiceImpl service =
+            new PayrollSimulationServiceImpl(employmentDetailsRepository, new PayrollCalculator());
+
+    @Test
+    void reportsThatTheCurrentSideIsTaxedMonthlyUnderCumulativePayroll() {
+        ReflectionTestUtils.setField(service, "payrollTaxMethod", TaxMethod.CUMULATIVE);
+        when(employmentDetailsRepository.findActivePayrollRows()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "EMP1", "Aline", "Uwase", "Finance", new BigDecimal("500000")}));
+
+        PayrollSimulationDTO simulation = service.simulate(new PayrollSimulationRequestDTO());
+
+        assertThat(simulation.getTaxMethod()).isEqualTo(TaxMethod.MONTHLY);
+        assertThat(simulation.getPayrollTaxMethod()).isEqualTo(TaxMethod.CUMULATIVE);
+        assertThat(simulation.getEmployees()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package rw.arsene.erp.v1.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the packaged application and measures the time until it answers its first HTTP
+ * request. Run by the faststart Maven profile; the result is printed and appended to
+ * {@code target/faststart/time-to-first-request.txt}.
+ *
+ * <pre>
+ * TimeToFirstRequest &lt;label&gt; &lt;probe url&gt; &lt;java command...&gt;
+ * </pre>
+ */
+public final class TimeToFirstRequest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("faststart.timeout-seconds", 180));
+
+    private TimeToFirstRequest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: TimeToFirstRequest <label> <probe url> <command...>");
+            System.exit(2);
+        }
+        String label = args[0];
+        URI probe = URI.create(args[1]);
+        List<String> command = Arrays.asList(args).subList(2, args.length);
+
+        Path output = Path.of("target", "faststart");
+        Files.createDirectories(output);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.resolve(label + ".log").toFile())
+                .start();
+        try {
+            while (!answered(client, probe)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + " before answering, see target/faststart/" + label + ".log");
+                }
+                if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("No answer from " + probe + " within " + TIMEOUT);
+                }
+                Thread.sleep(10);
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String line = "%s: time to first request %d ms%n".formatted(label, millis);
+            System.out.print(line);
+            Files.writeString(output.resolve("time-to-first-request.txt"), line,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean answered(HttpClient client, URI probe) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(probe).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package rw.arsene.erp.v1.support;
+
+import rw.arsene.erp.v1.entity.Employee;
+import rw.arsene.erp.v1.entity.EmploymentDetails;
+import rw.arsene.erp.v1.enums.EmploymentStatus;
+import rw.arsene.erp.v1.repository.EmployeeRepository;
+import rw.arsene.erp.v1.repository.EmploymentDetailsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Employees for the integration tests. Tests adjust the returned entities as they need; inside
+ * the test's transaction the changes are flushed with everything else.
+ */
+public final class TestEmployees {
+
+    private TestEmployees() {
+    }
+
+    /**
+     * A new employee coded {@code <prefix><digits>}, unique across runs against the same database,
+     * with an ACTIVE employment as an accountant in Finance on a base salary of 200000.
+     */
+    public static EmploymentDetails activeEmployee(EmployeeRepository employeeRepository,
+                                                   EmploymentDetailsRepository employmentDetailsRepository,
+                                                   String prefix) {
+        String code = prefix + System.nanoTime() % 1_000_000_000L;
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code(code)
+                .firstName("Test")
+                .lastName("Employee")
+                .email(code.toLowerCase() + "@test.rw")
+                .password("password")
+                .mobile(code)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build());
+        EmploymentDetails details = new EmploymentDetails();
+        details.setCode("EMP-" + code);
+        details.setEmployee(employee);
+        details.setDepartment("Finance");
+        details.setPosition("Accountant");
+        details.setBaseSalary(new BigDecimal("200000"));
+        details.setStatus(EmploymentStatus.ACTIVE);
+        details.setJoiningDate(new Date());
+        return employmentDetailsRepository.save(details);
+    }
+}
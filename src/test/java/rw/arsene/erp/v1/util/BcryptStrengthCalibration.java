@@ -0,0 +1,36 @@
+package rw.arsene.erp.v1.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Measures bcrypt on this host and logs the highest strength that stays within a target time
+ * per hash (250 ms unless given):
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=rw.arsene.erp.v1.util.BcryptStrengthCalibration -Dexec.args=250
+ * </pre>
+ */
+public final class BcryptStrengthCalibration {
+
+    private static final Logger log = LoggerFactory.getLogger(BcryptStrengthCalibration.class);
+
+    private BcryptStrengthCalibration() {
+    }
+
+    public static void main(String[] args) {
+        long target = args.length > 0 ? Long.parseLong(args[0]) : 250;
+        int recommended = 4;
+        for (int strength = 4; strength <= 16; strength++) {
+            long millis = PasswordEncoderCalibrator.measure(new BCryptPasswordEncoder(strength));
+            log.info("bcrypt strength {}: {} ms", strength, millis);
+            if (millis > target) {
+                break;
+            }
+            recommended = strength;
+        }
+        log.info("Recommended for a {} ms target: app.security.bcrypt-strength={}", target, recommended);
+    }
+}